@@ -0,0 +1,79 @@
+package com.hragent.benchmarks;
+
+import com.hragent.action.ActionService;
+import com.hragent.action.MockHRFunctions;
+import com.hragent.data.SQLiteDataStore;
+import com.hragent.intent.IntentDetector;
+import com.hragent.llm.LLMService;
+import com.hragent.query.QueryService;
+import com.hragent.server.AgentRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end IntentDetector -> QueryService / ActionService dengan LLM stub
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AgentRouterBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int employees;
+
+    private SQLiteDataStore store;
+    private LLMService llmService;
+    private AgentRouter router;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dir = BenchmarkData.directory(employees);
+        store = new SQLiteDataStore();
+        store.loadEmployeesFromCsv(dir.resolve("employees.csv").toString());
+        store.loadLeaveBalancesFromCsv(dir.resolve("leave_balances.csv").toString());
+        store.loadLeaveRequestsFromCsv(dir.resolve("leave_requests.csv").toString());
+        store.loadPerformanceReviewsFromCsv(dir.resolve("performance_reviews.csv").toString());
+
+        llmService = new LLMService(new StubChatModel());
+        router = new AgentRouter(new IntentDetector(), new QueryService(store),
+                new ActionService(llmService, new MockHRFunctions(), store), llmService);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        llmService.shutdown();
+        store.close();
+    }
+
+    @Benchmark
+    public String keywordQuestion() {
+        return router.handle("siapa manajer budi?");
+    }
+
+    // Lewat LLMService (rule parser -> cache -> stub), lalu QueryService.answerByIntent
+    @Benchmark
+    public String llmQuestion() {
+        return router.handle("karyawan mana saja yang ada di tim teknologi?");
+    }
+
+    // Rule-based fast path, tanpa LLM
+    @Benchmark
+    public String ruleCommand() {
+        return router.handle("tolong batalkan review PR0000001");
+    }
+}
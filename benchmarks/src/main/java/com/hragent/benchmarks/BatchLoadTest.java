@@ -0,0 +1,101 @@
+package com.hragent.benchmarks;
+
+import com.hragent.llm.BatchDispatcher;
+import com.hragent.llm.CommandIntent;
+import com.hragent.llm.LLMService;
+import com.hragent.llm.OllamaChatClient;
+import com.hragent.llm.PromptFamily;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// BatchLoadTest: Load test open-loop LLMService.extractIntent terhadap StandInBatchingServer
+// (prefill 50us/token, decode 500us/token, overhead batch 15% per sequence tambahan).
+// Request datang Poisson pada beberapa laju; latensi diukur dari waktu kedatangan terjadwal
+// sehingga antrean ikut terhitung. Setiap baris: laju yang diminta, throughput tercapai, p50, p99.
+//
+//   java -cp benchmarks/target/benchmarks.jar com.hragent.benchmarks.BatchLoadTest [detikPerLaju]
+public class BatchLoadTest {
+
+    private static final int[] RATES = { 25, 50, 75, 100, 125 };
+
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 4;
+        System.out.println("config                       rate/s  throughput/s    p50 ms    p99 ms  server");
+        run("parallel=1, tanpa dispatcher", 1, 0, 0, seconds);
+        run("parallel=4, tanpa dispatcher", 4, 0, 0, seconds);
+        run("parallel=4, batch=4 window=0", 4, 4, 0, seconds);
+        run("parallel=4, batch=4 window=5", 4, 4, 5, seconds);
+        run("parallel=4, batch=4 window=20", 4, 4, 20, seconds);
+    }
+
+    private static void run(String label, int parallel, int maxBatch, long windowMillis, double seconds)
+            throws Exception {
+        for (int rate : RATES) {
+            try (StandInBatchingServer server = new StandInBatchingServer(parallel, 50_000, 500_000, 0.15)) {
+                BatchDispatcher batcher = maxBatch > 0 ? new BatchDispatcher(Duration.ofMillis(windowMillis), maxBatch) : null;
+                LLMService llm = new LLMService(new OllamaChatClient(server.baseUrl(), "qwen2.5:3b", 0.1,
+                        Duration.ofSeconds(60), "30m"), batcher);
+                // Pemanasan JIT + koneksi, tidak dihitung
+                load(llm, 20, 1, new Random(7));
+                Result result = load(llm, rate, seconds, new Random(42));
+                long calls = llm.getPromptStats().getCalls(PromptFamily.LEAVE);
+                System.out.printf(Locale.ROOT, "%-28s %6d  %12.1f  %8.1f  %8.1f  %s, llmCalls=%d%s%n",
+                        label, rate, result.throughput, result.p50, result.p99, server.stats(), calls,
+                        result.failures > 0 ? ", failures=" + result.failures : "");
+            }
+        }
+    }
+
+    private static Result load(LLMService llm, int rate, double seconds, Random random) throws InterruptedException {
+        int requests = (int) Math.round(rate * seconds);
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService pool = Executors.newCachedThreadPool();
+        long begin = System.nanoTime();
+        long arrival = begin;
+        for (int i = 0; i < requests; i++) {
+            // Jarak antar kedatangan eksponensial (proses Poisson)
+            arrival += (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+            for (long left = arrival - System.nanoTime(); left > 0; left = arrival - System.nanoTime()) {
+                LockSupport.parkNanos(left);
+            }
+            int index = i;
+            long scheduled = arrival;
+            // Perintah unik supaya tidak kena IntentCache
+            String command = "tolong apply cuti tahunan buat budi besok no " + random.nextInt(1_000_000_000);
+            pool.execute(() -> {
+                CommandIntent intent = llm.extractIntent(command);
+                if (intent == null) failures.incrementAndGet();
+                latencies[index] = System.nanoTime() - scheduled;
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - begin;
+        Arrays.sort(latencies);
+        return new Result(requests / (elapsed / 1e9), latencies[requests / 2] / 1e6,
+                latencies[Math.min(requests - 1, (int) (requests * 0.99))] / 1e6, failures.get());
+    }
+
+    private static final class Result {
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+        private final int failures;
+
+        Result(double throughput, double p50, double p99, int failures) {
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.failures = failures;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hragent.benchmarks;
+
+import com.hragent.util.HrDataGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// BenchmarkData: Dataset CSV sintetis dari HrDataGenerator dengan jumlah karyawan tertentu.
+// Seed tetap supaya setiap run memakai data yang sama; satu folder per ukuran dibuat
+// sekali per JVM lalu dipakai ulang.
+
+public final class BenchmarkData {
+
+    // Nama depan yang pasti muncul di dataset hasil generator, untuk membuat pertanyaan
+    static final String[] FIRST_NAMES = {
+        "budi", "siti", "dewi", "agus", "rina", "santi", "eko", "putri", "rizky", "andi"
+    };
+
+    private static final long SEED = 42L;
+    private static final Map<Integer, Path> DIRECTORIES = new ConcurrentHashMap<>();
+
+    private BenchmarkData() {
+    }
+
+    // Folder berisi employees.csv, leave_balances.csv, leave_requests.csv, performance_reviews.csv
+    public static Path directory(int employees) {
+        return DIRECTORIES.computeIfAbsent(employees, BenchmarkData::generate);
+    }
+
+    private static Path generate(int employees) {
+        try {
+            Path dir = Files.createTempDirectory("hragent-bench-" + employees + "-");
+            new HrDataGenerator(SEED).generate(dir, employees, employees, employees / 2);
+            dir.toFile().deleteOnExit();
+            try (var files = Files.list(dir)) {
+                files.forEach(f -> f.toFile().deleteOnExit());
+            }
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
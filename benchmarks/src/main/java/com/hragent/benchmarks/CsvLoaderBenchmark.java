@@ -0,0 +1,43 @@
+package com.hragent.benchmarks;
+
+import com.hragent.data.CsvLoader;
+import com.hragent.data.DataStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvLoaderBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int employees;
+
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dir = BenchmarkData.directory(employees);
+    }
+
+    @Benchmark
+    public DataStore loadAllData() {
+        return CsvLoader.loadAllData(dir);
+    }
+}
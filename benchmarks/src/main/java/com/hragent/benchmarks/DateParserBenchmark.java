@@ -0,0 +1,50 @@
+package com.hragent.benchmarks;
+
+import com.hragent.data.DateParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// DateParser vs DateTimeFormatter "[yyyy-MM-dd][M/d/yyyy][d/M/yyyy]" untuk tiap layout.
+// Jalankan dengan -prof gc untuk melihat alokasi per operasi.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateParserBenchmark {
+
+    @Param({"2025-08-18", "8/18/2025", "2/30/2025"})
+    public String input;
+
+    @Benchmark
+    public LocalDate formatterParse() {
+        return LocalDate.parse(input, DateParser.FORMATTER);
+    }
+
+    @Benchmark
+    public LocalDate dateParserParse() {
+        return DateParser.parse(input);
+    }
+
+    @Benchmark
+    public String formatterNormalize() {
+        return LocalDate.parse(input, DateParser.FORMATTER).toString();
+    }
+
+    @Benchmark
+    public String dateParserNormalize() {
+        return DateParser.normalize(input);
+    }
+}
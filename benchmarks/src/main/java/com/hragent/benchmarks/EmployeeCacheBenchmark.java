@@ -0,0 +1,114 @@
+package com.hragent.benchmarks;
+
+import com.hragent.data.CachingRepository;
+import com.hragent.data.HrRepository;
+import com.hragent.data.SQLiteDataStore;
+import com.hragent.domain.Employee;
+import com.hragent.query.QueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// SQLiteDataStore dengan dan tanpa CachingRepository (cache = 0 berarti tanpa cache).
+// Pertanyaan dan perintah memakai 256 karyawan "aktif"; getEmployeeByIdUniform dan
+// scheduleReviewLookupsUniform memakai karyawan acak dari seluruh data untuk melihat biaya
+// cache saat hampir semua lookup miss.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeCacheBenchmark {
+
+    private static final int HOT = 256;
+
+    @Param({"1000", "100000"})
+    public int employees;
+
+    @Param({"0", "1024"})
+    public int cache;
+
+    private HrRepository repository;
+    private QueryService queryService;
+    private String[] firstNames;
+    private String[] managerQuestions;
+    private String[] allFirstNames;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dir = BenchmarkData.directory(employees);
+        SQLiteDataStore store = new SQLiteDataStore();
+        store.bootstrapFromCsv(dir.toString());
+        repository = cache > 0 ? new CachingRepository(store, cache) : store;
+        queryService = new QueryService(repository);
+
+        Random random = new Random(7);
+        firstNames = new String[HOT];
+        managerQuestions = new String[HOT];
+        for (int i = 0; i < HOT; i++) {
+            Employee emp = store.getEmployeeById(1 + random.nextInt(employees));
+            firstNames[i] = emp.getNama().split(" ")[0];
+            managerQuestions[i] = "siapa manajer " + emp.getNama().toLowerCase() + "?";
+        }
+        allFirstNames = store.getAllEmployees().stream().map(e -> e.getNama().split(" ")[0]).toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (HOT - 1);
+        return next;
+    }
+
+    // QueryService.answerManagerQuery: getEmployeeByName lalu getManagerOf
+    @Benchmark
+    public String answerManagerQuery() {
+        return queryService.answer(managerQuestions[nextIndex()]);
+    }
+
+    // Pola ActionService.executeScheduleReview: satu getEmployeeByName per nama dari intent
+    // (karyawan dan reviewer); Employee hasilnya dipakai langsung. Hit berasal dari nama aktif
+    // yang berulang antar request, bukan dari lookup kedua dalam request yang sama.
+    @Benchmark
+    public int scheduleReviewLookups() throws SQLException {
+        int i = nextIndex();
+        Employee emp = repository.getEmployeeByName(firstNames[i]);
+        Employee reviewer = repository.getEmployeeByName(firstNames[(i + 1) & (HOT - 1)]);
+        return emp.getId() + reviewer.getId();
+    }
+
+    // Sama, tetapi nama acak dari seluruh karyawan (jarang berulang pada 100k)
+    @Benchmark
+    public int scheduleReviewLookupsUniform() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Employee emp = repository.getEmployeeByName(allFirstNames[random.nextInt(allFirstNames.length)]);
+        Employee reviewer = repository.getEmployeeByName(allFirstNames[random.nextInt(allFirstNames.length)]);
+        return emp.getId() + reviewer.getId();
+    }
+
+    @Benchmark
+    public Employee getEmployeeByIdUniform() throws SQLException {
+        return repository.getEmployeeById(1 + ThreadLocalRandom.current().nextInt(employees));
+    }
+}
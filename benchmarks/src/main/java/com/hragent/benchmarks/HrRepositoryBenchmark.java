@@ -0,0 +1,125 @@
+package com.hragent.benchmarks;
+
+import com.hragent.data.HrRepository;
+import com.hragent.data.StorageMode;
+import com.hragent.domain.Employee;
+import com.hragent.domain.LeaveRequest;
+import com.hragent.query.QueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Ketiga StorageMode lewat HrRepository: sqlite (file WAL), memory (DataStore), dan
+// hybrid (baca DataStore, tulis SQLite file lalu DataStore)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HrRepositoryBenchmark {
+
+    private static final int NAMES = 256;
+
+    @Param({"1000", "100000"})
+    public int employees;
+
+    @Param({"sqlite", "memory", "hybrid"})
+    public String storage;
+
+    private HrRepository repository;
+    private QueryService queryService;
+    private Path dbFile;
+    private String[] names;
+    private String[] balanceQuestions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dir = BenchmarkData.directory(employees);
+        dbFile = Files.createTempFile("hragent-bench-", ".db");
+        Files.delete(dbFile);
+        repository = StorageMode.parse(storage).open(dbFile.toString(), dir.toString());
+        queryService = new QueryService(repository);
+
+        Random random = new Random(7);
+        names = new String[NAMES];
+        balanceQuestions = new String[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            Employee emp = repository.getEmployeeById(1 + random.nextInt(employees));
+            names[i] = emp.getNama();
+            String first = BenchmarkData.FIRST_NAMES[random.nextInt(BenchmarkData.FIRST_NAMES.length)];
+            balanceQuestions[i] = "sisa cuti " + first + " berapa?";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+        for (String suffix : new String[] { "", "-wal", "-shm" }) {
+            Files.deleteIfExists(Path.of(dbFile + suffix));
+        }
+    }
+
+    private int randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(employees);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (NAMES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Employee getEmployeeById() throws SQLException {
+        return repository.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public Employee getEmployeeByName() throws SQLException {
+        return repository.getEmployeeByName(names[nextIndex()]);
+    }
+
+    @Benchmark
+    public int getLeaveBalance() throws SQLException {
+        return repository.getLeaveBalance(randomId(), "Tahunan");
+    }
+
+    @Benchmark
+    public List<LeaveRequest> getHistoryCuti() throws SQLException {
+        return repository.getHistoryCuti(randomId());
+    }
+
+    @Benchmark
+    public String answerLeaveBalance() {
+        return queryService.answer(balanceQuestions[nextIndex()]);
+    }
+
+    @Benchmark
+    public void updateStatusKaryawan() throws SQLException {
+        repository.updateStatusKaryawan(randomId(), ThreadLocalRandom.current().nextBoolean() ? "Aktif" : "Kontrak");
+    }
+
+    @Benchmark
+    public void updateLeaveBalance() throws SQLException {
+        repository.updateLeaveBalance(randomId(), "Tahunan", ThreadLocalRandom.current().nextInt(15));
+    }
+}
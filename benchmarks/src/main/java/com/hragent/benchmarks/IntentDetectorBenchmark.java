@@ -0,0 +1,49 @@
+package com.hragent.benchmarks;
+
+import com.hragent.intent.IntentDetector;
+import com.hragent.intent.IntentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// IntentDetector.detect tidak bergantung pada ukuran dataset, jadi cukup satu set input
+// campuran (pertanyaan, perintah, dan input yang tidak dikenali)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntentDetectorBenchmark {
+
+    private static final String[] INPUTS = {
+        "siapa manajer budi?",
+        "sisa cuti rina berapa?",
+        "jabatan dewi apa",
+        "email santi?",
+        "tolong apply cuti tahunan buat budi dari tgl 3 okt sampai 5 okt",
+        "jadwalkan review performa utk rina dgn bu santi jumat depan",
+        "cek status cuti terakhir dewi",
+        "approve cuti LR001",
+        "halo selamat pagi",
+        "list karyawan di departemen teknologi yang statusnya aktif dan bergabung tahun ini"
+    };
+
+    private final IntentDetector detector = new IntentDetector();
+    private int next;
+
+    @Benchmark
+    public IntentType detect() {
+        String input = INPUTS[next];
+        next = (next + 1) % INPUTS.length;
+        return detector.detect(input);
+    }
+}
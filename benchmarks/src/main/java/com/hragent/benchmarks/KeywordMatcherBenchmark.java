@@ -0,0 +1,110 @@
+package com.hragent.benchmarks;
+
+import com.hragent.intent.IntentDetector;
+import com.hragent.intent.IntentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Throughput IntentDetector pada 1 juta input sintetis (pertanyaan, perintah, obrolan),
+// dibandingkan dengan implementasi lama (toLowerCase + String.contains per keyword).
+// Hasil dalam input per detik.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeywordMatcherBenchmark {
+
+    private static final int INPUTS = 1_000_000;
+
+    private static final String[] TEMPLATES = {
+        "siapa manajer %s?",
+        "sisa cuti %s berapa",
+        "apakah %s sudah approve cuti saya",
+        "jabatan %s apa ya",
+        "tolong apply cuti tahunan buat %s dari tgl 3 okt sampai 5 okt",
+        "jadwalkan review performa utk %s dgn bu santi jumat depan",
+        "cek status cuti terakhir %s",
+        "Bikinin jadwal review %s minggu depan dong",
+        "halo, selamat pagi %s",
+        "list karyawan di departemen teknologi yang statusnya aktif dan bergabung tahun ini, termasuk %s",
+    };
+
+    private final IntentDetector detector = new IntentDetector();
+    private String[] inputs;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        inputs = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            String name = BenchmarkData.FIRST_NAMES[random.nextInt(BenchmarkData.FIRST_NAMES.length)];
+            inputs[i] = String.format(TEMPLATES[random.nextInt(TEMPLATES.length)], name);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void keywordMatcher(Blackhole bh) {
+        for (String input : inputs) {
+            bh.consume(detector.detect(input));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void stringContains(Blackhole bh) {
+        for (String input : inputs) {
+            bh.consume(LegacyDetector.detect(input));
+        }
+    }
+
+    // Salinan IntentDetector sebelum KeywordMatcher, sebagai pembanding
+    static final class LegacyDetector {
+        private static final List<String> QUESTION_KEYWORDS = Arrays.asList(
+            "siapa", "apa", "berapa", "kapan", "dimana", "mana",
+            "bagaimana", "kenapa", "sisa", "status", "email", "jabatan");
+        private static final List<String> COMMAND_KEYWORDS = Arrays.asList(
+            "ajukan", "apply", "tolong", "jadwalkan", "schedule", "buat",
+            "bikinin", "set", "atur", "submit", "cek status", "check");
+        private static final String[] ACTION_VERBS = {"ajukan", "apply", "jadwalkan", "schedule", "buat", "submit"};
+
+        static IntentType detect(String input) {
+            String lower = input.toLowerCase().trim();
+            int questionHits = countHits(lower, QUESTION_KEYWORDS);
+            int commandHits = countHits(lower, COMMAND_KEYWORDS);
+            if (lower.contains("cek") || lower.contains("check")) return IntentType.COMMAND;
+            if (lower.contains("?")) return IntentType.QUESTION;
+            if (questionHits > commandHits) return IntentType.QUESTION;
+            if (commandHits > 0) return IntentType.COMMAND;
+            for (String verb : ACTION_VERBS) {
+                if (lower.contains(verb)) return IntentType.COMMAND;
+            }
+            return questionHits > 0 ? IntentType.QUESTION : IntentType.UNKNOWN;
+        }
+
+        private static int countHits(String text, List<String> keywords) {
+            int count = 0;
+            for (String keyword : keywords) {
+                if (text.contains(keyword)) count++;
+            }
+            return count;
+        }
+    }
+}
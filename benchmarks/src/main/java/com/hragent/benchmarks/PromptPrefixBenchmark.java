@@ -0,0 +1,135 @@
+package com.hragent.benchmarks;
+
+import com.hragent.llm.ExtractionPrompt;
+import com.hragent.llm.OllamaChatClient;
+import com.hragent.llm.PromptFamily;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.ollama.OllamaChatModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Latensi ekstraksi intent terhadap StandInOllamaServer (prefill 50us/token, decode 500us/token).
+// Skor JMH = latensi total per panggilan; time-to-first-token dicetak saat tear down.
+// - before: OllamaChatModel langchain4j, prompt lama (tanggal + perintah di atas), tanpa streaming
+// - legacyLayout: OllamaChatClient streaming, tapi masih satu pesan user dengan urutan lama
+// - prefix: OllamaChatClient, prefix system statis + suffix user + keep_alive
+// - family: seperti prefix, tapi prompt pendek per PromptFamily (keyword pre-router). Perintah
+//   berganti family; dengan satu slot KV cache prefix family sebelumnya selalu tertimpa
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromptPrefixBenchmark {
+
+    private static final String[] COMMANDS = {
+        "approve cuti LR001",
+        "tolong apply cuti tahunan buat budi besok",
+        "jadwalkan review performa utk rina dgn bu santi jumat depan",
+        "list karyawan di departemen engineering",
+        "pindahkan dewi ke departemen sales",
+        "riwayat review rina",
+        "update skor review REV-001 jadi 85",
+        "cuti sakit buat andi lusa",
+    };
+
+    @Param({"before", "legacyLayout", "prefix", "family"})
+    public String variant;
+
+    // Jumlah slot KV cache di server (OLLAMA_NUM_PARALLEL); 0 = tanpa cache prefix
+    @Param({"0", "1", "4"})
+    public int slots;
+
+    private StandInOllamaServer server;
+    private OllamaChatModel legacyModel;
+    private OllamaChatClient client;
+    private int next;
+    private long[] ttftNanos = new long[1 << 16];
+    private int samples;
+    private long firstTokenAt;
+    private long callStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = new StandInOllamaServer(TimeUnit.MILLISECONDS.toNanos(100), 50_000, 500_000, slots);
+        legacyModel = OllamaChatModel.builder()
+                .baseUrl(server.baseUrl())
+                .modelName("qwen2.5:3b")
+                .temperature(0.1)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        client = new OllamaChatClient(server.baseUrl(), "qwen2.5:3b", 0.1, Duration.ofSeconds(60), "30m");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long[] sorted = Arrays.copyOf(ttftNanos, Math.min(samples, ttftNanos.length));
+        Arrays.sort(sorted);
+        if (sorted.length > 0) {
+            System.out.printf("%n%s/%d slots time-to-first-token: p50=%.2fms p99=%.2fms (%d calls), %s%n", variant, slots,
+                    sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6,
+                    sorted.length, server.stats());
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public String extractIntent() {
+        String command = COMMANDS[next++ % COMMANDS.length];
+        LocalDate today = LocalDate.now();
+        callStart = System.nanoTime();
+        firstTokenAt = 0;
+        String reply;
+        switch (variant) {
+            case "before":
+                // Tanpa streaming: token pertama baru terlihat saat seluruh jawaban selesai
+                reply = legacyModel.generate(legacyPrompt(command, today));
+                firstTokenAt = System.nanoTime();
+                break;
+            case "legacyLayout":
+                reply = client.generateStreaming(List.of(UserMessage.from(legacyPrompt(command, today))),
+                        this::onToken).content().text();
+                break;
+            default:
+                PromptFamily family = "family".equals(variant) ? PromptFamily.route(command, null) : PromptFamily.GENERAL;
+                List<ChatMessage> messages = List.of(
+                        SystemMessage.from(ExtractionPrompt.system(family, today)),
+                        UserMessage.from(ExtractionPrompt.user(command, today)));
+                reply = client.generateStreaming(messages, this::onToken).content().text();
+                break;
+        }
+        ttftNanos[samples++ & (ttftNanos.length - 1)] = firstTokenAt - callStart;
+        return reply;
+    }
+
+    private void onToken(String token) {
+        if (firstTokenAt == 0) firstTokenAt = System.nanoTime();
+    }
+
+    // Urutan prompt sebelum dipecah: kalimat pembuka, lalu tanggal + perintah, lalu sisa prompt
+    private static String legacyPrompt(String command, LocalDate today) {
+        String system = ExtractionPrompt.system(today);
+        int split = system.indexOf("\n\n") + 2;
+        return system.substring(0, split) + ExtractionPrompt.user(command, today) + "\n\n" + system.substring(split);
+    }
+}
@@ -0,0 +1,94 @@
+package com.hragent.benchmarks;
+
+import com.hragent.data.SQLiteDataStore;
+import com.hragent.query.QueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryServiceBenchmark {
+
+    private static final int QUESTIONS = 256;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int employees;
+
+    private SQLiteDataStore store;
+    private QueryService queryService;
+    private String[] managerQuestions;
+    private String[] balanceQuestions;
+    private String[] emailQuestions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dir = BenchmarkData.directory(employees);
+        store = new SQLiteDataStore();
+        store.loadEmployeesFromCsv(dir.resolve("employees.csv").toString());
+        store.loadLeaveBalancesFromCsv(dir.resolve("leave_balances.csv").toString());
+        store.loadLeaveRequestsFromCsv(dir.resolve("leave_requests.csv").toString());
+        store.loadPerformanceReviewsFromCsv(dir.resolve("performance_reviews.csv").toString());
+        queryService = new QueryService(store);
+
+        Random random = new Random(7);
+        managerQuestions = new String[QUESTIONS];
+        balanceQuestions = new String[QUESTIONS];
+        emailQuestions = new String[QUESTIONS];
+        for (int i = 0; i < QUESTIONS; i++) {
+            String first = BenchmarkData.FIRST_NAMES[random.nextInt(BenchmarkData.FIRST_NAMES.length)];
+            managerQuestions[i] = "siapa manajer " + first + "?";
+            balanceQuestions[i] = "sisa cuti " + first + " berapa?";
+            emailQuestions[i] = "email " + first + "?";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        store.close();
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (QUESTIONS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public String answerManager() {
+        return queryService.answer(managerQuestions[nextIndex()]);
+    }
+
+    @Benchmark
+    public String answerLeaveBalance() {
+        return queryService.answer(balanceQuestions[nextIndex()]);
+    }
+
+    @Benchmark
+    public String answerEmail() {
+        return queryService.answer(emailQuestions[nextIndex()]);
+    }
+
+    @Benchmark
+    public String extractName() {
+        return queryService.extractName(managerQuestions[nextIndex()]);
+    }
+}
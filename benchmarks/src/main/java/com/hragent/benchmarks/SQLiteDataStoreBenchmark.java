@@ -0,0 +1,111 @@
+package com.hragent.benchmarks;
+
+import com.hragent.data.SQLiteDataStore;
+import com.hragent.domain.Employee;
+import com.hragent.domain.LeaveRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Read/write SQLiteDataStore untuk database in-memory dan file (WAL + connection pool)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SQLiteDataStoreBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int employees;
+
+    @Param({"memory", "file"})
+    public String storage;
+
+    private SQLiteDataStore store;
+    private Path dbFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dir = BenchmarkData.directory(employees);
+        if ("file".equals(storage)) {
+            dbFile = Files.createTempFile("hragent-bench-", ".db");
+            Files.delete(dbFile);
+            store = new SQLiteDataStore(dbFile.toString());
+        } else {
+            store = new SQLiteDataStore();
+        }
+        store.loadEmployeesFromCsv(dir.resolve("employees.csv").toString());
+        store.loadLeaveBalancesFromCsv(dir.resolve("leave_balances.csv").toString());
+        store.loadLeaveRequestsFromCsv(dir.resolve("leave_requests.csv").toString());
+        store.loadPerformanceReviewsFromCsv(dir.resolve("performance_reviews.csv").toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        store.close();
+        if (dbFile != null) {
+            for (String suffix : new String[] { "", "-wal", "-shm" }) {
+                Files.deleteIfExists(Path.of(dbFile + suffix));
+            }
+        }
+    }
+
+    private int randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(employees);
+    }
+
+    @Benchmark
+    public Employee getEmployeeById() throws SQLException {
+        return store.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Employee getEmployeeByIdConcurrent() throws SQLException {
+        return store.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public int getLeaveBalance() throws SQLException {
+        return store.getLeaveBalance(randomId(), "Tahunan");
+    }
+
+    @Benchmark
+    public List<LeaveRequest> getHistoryCuti() throws SQLException {
+        return store.getHistoryCuti(randomId());
+    }
+
+    @Benchmark
+    public String getLatestLeaveRequestStatus() throws SQLException {
+        return store.getLatestLeaveRequestStatus(randomId());
+    }
+
+    @Benchmark
+    public void updateStatusKaryawan() throws SQLException {
+        store.updateStatusKaryawan(randomId(), ThreadLocalRandom.current().nextBoolean() ? "Aktif" : "Kontrak");
+    }
+
+    @Benchmark
+    public void updateLeaveBalance() throws SQLException {
+        store.updateLeaveBalance(randomId(), "Tahunan", ThreadLocalRandom.current().nextInt(15));
+    }
+}
@@ -0,0 +1,189 @@
+package com.hragent.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+// StandInBatchingServer: Pengganti /api/chat untuk load test dengan continuous batching seperti
+// runner Ollama dengan OLLAMA_NUM_PARALLEL = parallel: maksimal parallel request di-decode
+// bersama, sisanya antre FIFO, dan request baru masuk batch di awal step berikutnya.
+// Satu step = prefill semua prompt yang baru masuk + satu token untuk setiap sequence aktif.
+// Biaya step decode = decodeNanosPerToken * (1 + batchOverhead * (b - 1)) untuk b sequence,
+// karena decode terbatas bandwidth memori dan bobot model dibaca sekali per step. Prefix system
+// dianggap sudah ada di KV cache setiap slot, jadi hanya pesan terakhir (user) yang di-prefill.
+// Satu token = 4 karakter; jawaban selalu StandInOllamaServer.REPLY.
+
+public class StandInBatchingServer implements AutoCloseable {
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final String REPLY = StandInOllamaServer.REPLY;
+
+    static {
+        // Ollama (Go) memakai TCP_NODELAY; tanpa ini chunk stream kecil tertahan Nagle + delayed ACK (~40ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Thread engine;
+    private final int parallel;
+    private final long prefillNanosPerToken;
+    private final long decodeNanosPerToken;
+    private final double batchOverhead;
+
+    // Dijaga oleh this
+    private final ArrayDeque<Sequence> queued = new ArrayDeque<>();
+    private long steps;
+    private long sequenceSteps;
+    private volatile boolean running = true;
+
+    public StandInBatchingServer(int parallel, long prefillNanosPerToken, long decodeNanosPerToken,
+                                 double batchOverhead) throws IOException {
+        this.parallel = parallel;
+        this.prefillNanosPerToken = prefillNanosPerToken;
+        this.decodeNanosPerToken = decodeNanosPerToken;
+        this.batchOverhead = batchOverhead;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/chat", this::chat);
+        server.setExecutor(executor);
+        server.start();
+        this.engine = new Thread(this::runEngine, "stand-in-batching-engine");
+        engine.setDaemon(true);
+        engine.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void chat(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        JsonNode messages = request.path("messages");
+        String last = messages.size() == 0 ? "" : messages.get(messages.size() - 1).path("content").asText();
+        Sequence sequence = new Sequence(tokens(last.length()));
+        synchronized (this) {
+            queued.add(sequence);
+            notifyAll();
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < REPLY.length(); i += CHARS_PER_TOKEN) {
+                String piece = take(sequence.out);
+                ObjectNode chunk = objectMapper.createObjectNode();
+                chunk.put("model", request.path("model").asText());
+                chunk.putObject("message").put("role", "assistant").put("content", piece);
+                chunk.put("done", false);
+                write(out, chunk);
+            }
+            ObjectNode done = objectMapper.createObjectNode();
+            done.put("model", request.path("model").asText());
+            done.putObject("message").put("role", "assistant").put("content", "");
+            done.put("done", true);
+            done.put("prompt_eval_count", sequence.promptTokens);
+            done.put("eval_count", tokens(REPLY.length()));
+            write(out, done);
+        }
+    }
+
+    private void runEngine() {
+        List<Sequence> active = new ArrayList<>();
+        while (running) {
+            int prefillTokens = 0;
+            synchronized (this) {
+                while (running && active.isEmpty() && queued.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                while (active.size() < parallel && !queued.isEmpty()) {
+                    Sequence joining = queued.poll();
+                    prefillTokens += joining.promptTokens;
+                    active.add(joining);
+                }
+                steps++;
+                sequenceSteps += active.size();
+            }
+            pause(prefillTokens * prefillNanosPerToken
+                    + (long) (decodeNanosPerToken * (1 + batchOverhead * (active.size() - 1))));
+            for (Iterator<Sequence> it = active.iterator(); it.hasNext(); ) {
+                Sequence sequence = it.next();
+                int from = sequence.generated * CHARS_PER_TOKEN;
+                sequence.out.add(REPLY.substring(from, Math.min(REPLY.length(), from + CHARS_PER_TOKEN)));
+                sequence.generated++;
+                if (from + CHARS_PER_TOKEN >= REPLY.length()) it.remove();
+            }
+        }
+    }
+
+    private void write(OutputStream out, JsonNode node) throws IOException {
+        out.write((node.toString() + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String take(BlockingQueue<String> queue) throws IOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        }
+    }
+
+    private static int tokens(int chars) {
+        return (chars + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    private static void pause(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long left = nanos; left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    // Rata-rata sequence per step decode
+    public synchronized String stats() {
+        return String.format("StandInBatchingServer[parallel=%d, steps=%d, avgBatch=%.2f]",
+                parallel, steps, steps == 0 ? 0.0 : (double) sequenceSteps / steps);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        synchronized (this) {
+            notifyAll();
+        }
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static final class Sequence {
+        private final int promptTokens;
+        private final BlockingQueue<String> out = new LinkedBlockingQueue<>();
+        private int generated;
+
+        Sequence(int promptTokens) {
+            this.promptTokens = promptTokens;
+        }
+    }
+}
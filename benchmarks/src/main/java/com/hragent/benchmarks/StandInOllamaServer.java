@@ -0,0 +1,204 @@
+package com.hragent.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+// StandInOllamaServer: Pengganti lokal /api/chat Ollama untuk benchmark latensi prompt.
+// Meniru tiga biaya yang menentukan latensi model lokal:
+// - load model jika sudah lewat keep_alive (default Ollama 5 menit),
+// - prefill hanya untuk token prompt yang tidak sama dengan awal prompt di slot KV cache
+//   yang paling cocok (seperti runner Ollama dengan OLLAMA_NUM_PARALLEL slot). Jika slot itu
+//   hanya cocok sebagian, prefix-nya disalin ke slot yang paling lama tidak dipakai,
+//   seperti findBestCacheSlot di runner Ollama. slots = 0 berarti tanpa KV cache,
+// - decode per token output, dikirim streaming NDJSON atau sekaligus jika stream=false.
+// Jawaban default REPLY; setReply() bisa membuat jawaban per request. Satu token dianggap
+// 4 karakter. Biaya per token diskalakan turun dari angka qwen2.5:3b di CPU; yang penting
+// adalah perbandingan prefill : decode.
+
+public class StandInOllamaServer implements AutoCloseable {
+
+    static final String REPLY = "{\"intent\": \"approve_reject_cuti\", \"leave_id\": \"LR001\", \"status\": \"Disetujui\"}";
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final long DEFAULT_KEEP_ALIVE_NANOS = 5L * 60 * 1_000_000_000L;
+
+    static {
+        // Ollama (Go) memakai TCP_NODELAY; tanpa ini chunk stream kecil tertahan Nagle + delayed ACK (~40ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final long loadNanos;
+    private final long prefillNanosPerToken;
+    private final long decodeNanosPerToken;
+    private volatile Function<JsonNode, String> reply = request -> REPLY;
+
+    // Satu model, request diproses berurutan oleh satu thread
+    private final String[] slotPrompts;
+    private final long[] slotUsedAt;
+    private long clock;
+    private boolean loaded;
+    private long loadedUntil;
+    private long loads;
+    private long promptTokens;
+    private long reusedTokens;
+
+    public StandInOllamaServer(long loadNanos, long prefillNanosPerToken, long decodeNanosPerToken) throws IOException {
+        this(loadNanos, prefillNanosPerToken, decodeNanosPerToken, 1);
+    }
+
+    public StandInOllamaServer(long loadNanos, long prefillNanosPerToken, long decodeNanosPerToken, int slots)
+            throws IOException {
+        this.slotPrompts = new String[slots];
+        this.slotUsedAt = new long[slots];
+        Arrays.fill(slotPrompts, "");
+        this.loadNanos = loadNanos;
+        this.prefillNanosPerToken = prefillNanosPerToken;
+        this.decodeNanosPerToken = decodeNanosPerToken;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/chat", this::chat);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    // Jawaban dari body request /api/chat, dipanggil di thread server
+    public void setReply(Function<JsonNode, String> reply) {
+        this.reply = reply;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private synchronized void chat(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        StringBuilder prompt = new StringBuilder();
+        for (JsonNode message : request.path("messages")) {
+            prompt.append("<|").append(message.path("role").asText()).append("|>\n")
+                  .append(message.path("content").asText()).append('\n');
+        }
+        long start = System.nanoTime();
+
+        if (!loaded || start - loadedUntil > 0) {
+            loaded = true;
+            loads++;
+            Arrays.fill(slotPrompts, "");
+            pause(loadNanos);
+        }
+        int slot = 0;
+        int common = slotPrompts.length == 0 ? 0 : -1;
+        int leastRecent = 0;
+        for (int i = 0; i < slotPrompts.length; i++) {
+            int c = commonPrefix(slotPrompts[i], prompt);
+            if (c > common) {
+                slot = i;
+                common = c;
+            }
+            if (slotUsedAt[i] < slotUsedAt[leastRecent]) leastRecent = i;
+        }
+        if (slotPrompts.length > 0 && common < slotPrompts[slot].length()) {
+            slot = leastRecent;
+        }
+        int total = tokens(prompt.length());
+        int reused = common / CHARS_PER_TOKEN;
+        promptTokens += total;
+        reusedTokens += reused;
+        if (slotPrompts.length > 0) {
+            slotPrompts[slot] = prompt.toString();
+            slotUsedAt[slot] = ++clock;
+        }
+        pause((long) (total - reused) * prefillNanosPerToken);
+
+        boolean stream = request.path("stream").asBoolean(true);
+        exchange.getResponseHeaders().set("Content-Type", stream ? "application/x-ndjson" : "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        String text = reply.apply(request);
+        int outputTokens = tokens(text.length());
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (stream) {
+                for (int i = 0; i < text.length(); i += CHARS_PER_TOKEN) {
+                    pause(decodeNanosPerToken);
+                    ObjectNode chunk = objectMapper.createObjectNode();
+                    chunk.put("model", request.path("model").asText());
+                    chunk.putObject("message").put("role", "assistant")
+                         .put("content", text.substring(i, Math.min(text.length(), i + CHARS_PER_TOKEN)));
+                    chunk.put("done", false);
+                    write(out, chunk);
+                }
+            } else {
+                pause(outputTokens * decodeNanosPerToken);
+            }
+            ObjectNode done = objectMapper.createObjectNode();
+            done.put("model", request.path("model").asText());
+            done.putObject("message").put("role", "assistant").put("content", stream ? "" : text);
+            done.put("done", true);
+            done.put("prompt_eval_count", total - reused);
+            done.put("eval_count", outputTokens);
+            write(out, done);
+        }
+        loadedUntil = System.nanoTime() + keepAliveNanos(request.get("keep_alive"));
+    }
+
+    private void write(OutputStream out, JsonNode node) throws IOException {
+        out.write((node.toString() + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    // Angka = detik, string = durasi Go sederhana ("30s", "5m", "1h"); negatif = selamanya
+    static long keepAliveNanos(JsonNode keepAlive) {
+        if (keepAlive == null || keepAlive.isNull()) return DEFAULT_KEEP_ALIVE_NANOS;
+        long seconds;
+        if (keepAlive.isNumber()) {
+            seconds = keepAlive.asLong();
+        } else {
+            String text = keepAlive.asText().trim();
+            char unit = text.charAt(text.length() - 1);
+            long value = Long.parseLong(text.substring(0, text.length() - 1));
+            seconds = unit == 'h' ? value * 3600 : unit == 'm' ? value * 60 : value;
+        }
+        return seconds < 0 ? Long.MAX_VALUE / 2 : seconds * 1_000_000_000L;
+    }
+
+    private static int commonPrefix(String a, CharSequence b) {
+        int n = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < n && a.charAt(i) == b.charAt(i)) i++;
+        return i;
+    }
+
+    private static int tokens(int chars) {
+        return (chars + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    private static void pause(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long left = nanos; left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    public synchronized String stats() {
+        return String.format("StandInOllamaServer[loads=%d, promptTokens=%d, reused=%.1f%%]",
+                loads, promptTokens, promptTokens == 0 ? 0.0 : 100.0 * reusedTokens / promptTokens);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
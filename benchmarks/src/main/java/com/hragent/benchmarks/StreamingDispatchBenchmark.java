@@ -0,0 +1,114 @@
+package com.hragent.benchmarks;
+
+import com.hragent.action.ActionService;
+import com.hragent.action.MockHRFunctions;
+import com.hragent.data.CachingRepository;
+import com.hragent.data.SQLiteDataStore;
+import com.hragent.domain.Employee;
+import com.hragent.llm.LLMService;
+import com.hragent.llm.OllamaChatClient;
+import com.hragent.server.RequestTimings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// End-to-end ActionService "apply cuti" terhadap StandInOllamaServer (decode 500us/token),
+// dengan CachingRepository di depan SQLite. Nama karyawan berganti setiap panggilan dan
+// jumlah karyawan melebihi EmployeeCache, jadi lookup nama selalu miss.
+// - blocking: -Dhragent.llm.prefetch=false, lookup karyawan baru jalan setelah JSON lengkap
+// - streaming: EmployeePrefetcher memulai lookup begitu employee_name selesai di-stream,
+//   paralel dengan decode leave_type/start_date/end_date
+// Skor = latensi total; rata-rata waktu setelah LLM selesai (action) dicetak saat tear down.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamingDispatchBenchmark {
+
+    @Param({"10000", "100000"})
+    public int employees;
+
+    private SQLiteDataStore store;
+    private StandInOllamaServer server;
+    private LLMService llmService;
+    private ActionService actionService;
+    private List<String> names;
+    private volatile String currentName;
+    private int next;
+    private long calls;
+    private long llmNanos;
+    private long totalNanos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dir = BenchmarkData.directory(employees);
+        store = new SQLiteDataStore();
+        store.loadEmployeesFromCsv(dir.resolve("employees.csv").toString());
+        store.loadLeaveBalancesFromCsv(dir.resolve("leave_balances.csv").toString());
+        // Nama unik saja: nama kembar akan kena IntentCache/EmployeeCache
+        names = store.getAllEmployees().stream().map(Employee::getNama).distinct().collect(Collectors.toList());
+
+        server = new StandInOllamaServer(0, 50_000, 500_000);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        // Urutan field seperti di schema: intent, employee_name, lalu sisa field cuti
+        server.setReply(request -> "{\"intent\": \"apply_leave\", \"employee_name\": \"" + currentName
+                + "\", \"leave_type\": \"Tahunan\", \"start_date\": \"" + tomorrow
+                + "\", \"end_date\": \"" + tomorrow + "\"}");
+        llmService = new LLMService(new OllamaChatClient(server.baseUrl(), "qwen2.5:3b", 0.1,
+                Duration.ofSeconds(60), "30m"));
+        actionService = new ActionService(llmService, new MockHRFunctions(), new CachingRepository(store));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        System.out.printf("%nprefetch=%s: %d calls, llm=%.2fms, setelah llm=%.3fms, %s%n",
+                System.getProperty("hragent.llm.prefetch", "true"), calls, llmNanos / 1e6 / calls,
+                (totalNanos - llmNanos) / 1e6 / calls, server.stats());
+        server.close();
+        llmService.shutdown();
+        store.close();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dhragent.llm.prefetch=false")
+    public String blocking() {
+        return applyLeave();
+    }
+
+    @Benchmark
+    public String streaming() {
+        return applyLeave();
+    }
+
+    private String applyLeave() {
+        // Langkah prima supaya urutan nama tidak mengikuti urutan insert
+        String name = names.get((int) ((next++ * 7919L) % names.size()));
+        currentName = name;
+        RequestTimings timings = RequestTimings.start();
+        String result = actionService.execute("tolong apply cuti tahunan buat " + name + " besok", timings);
+        timings.finish();
+        calls++;
+        llmNanos += Math.round(timings.toMillis().getOrDefault("llm", 0.0) * 1e6);
+        totalNanos += timings.getTotalNanos();
+        return result;
+    }
+}
@@ -0,0 +1,23 @@
+package com.hragent.benchmarks;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+
+// StubChatModel: Pengganti Ollama untuk benchmark. Selalu mengembalikan JSON intent
+// yang sama (dibungkus teks seperti output model asli) sehingga hasil deterministik
+// dan bisa dijalankan offline; yang diukur adalah overhead di sekitar panggilan LLM.
+
+public class StubChatModel implements ChatLanguageModel {
+
+    static final String RESPONSE = "Berikut hasilnya:\n"
+            + "{\"intent\": \"list_karyawan_departemen\", \"department\": \"Teknologi\"}";
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        return Response.from(AiMessage.from(RESPONSE));
+    }
+}
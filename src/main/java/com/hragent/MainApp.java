@@ -1,11 +1,13 @@
 package com.hragent;
 
 import com.hragent.action.*;
-import com.hragent.data.SQLiteDataStore;
-import com.hragent.llm.CommandIntent;
+import com.hragent.data.HrRepository;
+import com.hragent.data.StorageMode;
 import com.hragent.llm.LLMService;
 import com.hragent.query.*;
 import com.hragent.intent.*;
+import com.hragent.server.AgentRouter;
+import com.hragent.server.AgentServer;
 
 import java.sql.SQLException;
 import java.util.Scanner;
@@ -14,16 +16,17 @@ public class MainApp {
 
     public static void main(String[] args) {
     
-        final SQLiteDataStore[] dataStoreRef = new SQLiteDataStore[1];
+        final HrRepository[] dataStoreRef = new HrRepository[1];
         final LLMService[] llmServiceRef = new LLMService[1];
     
         try {
-            dataStoreRef[0] = new SQLiteDataStore();
-            dataStoreRef[0].loadEmployeesFromCsv("src/main/resources/employees.csv");
-            dataStoreRef[0].loadLeaveBalancesFromCsv("src/main/resources/leave_balances.csv");
-            dataStoreRef[0].loadLeaveRequestsFromCsv("src/main/resources/leave_requests.csv");    
-            dataStoreRef[0].loadPerformanceReviewsFromCsv("src/main/resources/performance_reviews.csv");
-            System.out.println("\n✅ Loading complete. Agent ready!\n");
+            long bootStart = System.currentTimeMillis();
+            // -Dhragent.storage=sqlite|memory|hybrid (lihat StorageMode)
+            StorageMode storage = StorageMode.fromConfig();
+            System.out.println("Storage: " + storage.name().toLowerCase());
+            dataStoreRef[0] = storage.open(System.getProperty("hragent.db.path"),
+                    System.getProperty("hragent.data.dir", "src/main/resources"));
+            System.out.println("\n✅ Loading complete in " + (System.currentTimeMillis() - bootStart) + "ms. Agent ready!\n");
 
             printHeader();
     
@@ -33,10 +36,21 @@ public class MainApp {
             QueryService queryService = new QueryService(dataStoreRef[0]);
             ActionService actionService = new ActionService(llmServiceRef[0], hrFunctions, dataStoreRef[0]);
             IntentDetector intentDetector = new IntentDetector();
+            AgentRouter router = new AgentRouter(intentDetector, queryService, actionService, llmServiceRef[0]);
+
+            // -Dhragent.server.port=8080: jalankan HTTP server (multi-user) sebagai ganti REPL
+            Integer serverPort = Integer.getInteger("hragent.server.port");
+            final AgentServer[] serverRef = new AgentServer[1];
+            if (serverPort != null) {
+                serverRef[0] = new AgentServer(router, serverPort);
+            }
     
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 System.out.println("\n👋 Shutting down Agent SmartHR...");
                 try {
+                    if (serverRef[0] != null) {
+                        serverRef[0].stop();
+                    }
                     if (llmServiceRef[0] != null) {
                         llmServiceRef[0].shutdown();
                     }
@@ -49,6 +63,11 @@ public class MainApp {
                 System.out.println("✅ Cleanup complete. Goodbye!");
             }));
     
+            if (serverRef[0] != null) {
+                serverRef[0].start();
+                return;
+            }
+
             Scanner scanner = new Scanner(System.in);
     
             while (true) {
@@ -68,53 +87,8 @@ public class MainApp {
                 // }
 
 
-                IntentType intent = intentDetector.detect(input);
+                String response = router.handle(input);
 
-                String response;
-                switch (intent) {
-                    case QUESTION:
-                        // Priority 1: Try keyword-based routing first for common queries
-                        if (input.toLowerCase().contains("siapa") && 
-                            (input.toLowerCase().contains("manajer") || input.toLowerCase().contains("manager"))) {
-                            // Direct route to keyword matching (bypass LLM)
-                            response = queryService.answer(input);
-                        } 
-                        else if (input.toLowerCase().contains("sisa") && input.toLowerCase().contains("cuti")) {
-                            // Direct route for leave balance
-                            response = queryService.answer(input);
-                        }
-                        else {
-                            // Priority 2: For complex queries, try LLM intent extraction
-                            try {
-                                CommandIntent commandIntent = llmServiceRef[0].extractIntent(input);
-                                
-                                // Debug: Print extracted intent
-                                if (commandIntent != null) {
-                                    System.out.println("[DEBUG] LLM Intent: " + commandIntent.getIntent());
-                                }
-                                
-                                if (commandIntent != null && isQueryIntent(commandIntent.getIntent())) {
-                                    response = queryService.answerByIntent(commandIntent.getIntent(), commandIntent);
-                                } else {
-                                    response = queryService.answer(input);
-                                }
-                            } catch (Exception e) {
-                                response = queryService.answer(input);
-                            }
-                        }
-                        break;
-                        
-                    case COMMAND:
-                        response = actionService.execute(input);
-                        break;
-                        
-                    default:
-                        response = "Maaf, saya tidak yakin maksud Anda. Ketik 'help' untuk melihat contoh pertanyaan dan perintah.";
-                        break;
-                }
-                
-
-    
                 System.out.println("Agent: " + response + "\n");
             }
     
@@ -134,24 +108,6 @@ public class MainApp {
         }
     }
 
-    private static boolean isQueryIntent(String intentName) {
-        return intentName != null && (
-            intentName.equals("list_karyawan_departemen") ||
-            intentName.equals("list_karyawan_jabatan") ||
-            intentName.equals("list_karyawan_status") ||
-            intentName.equals("cek_status_cuti") ||
-            intentName.equals("list_cuti_pending") ||
-            intentName.equals("history_cuti") ||
-            intentName.equals("riwayat_cuti") ||
-            intentName.equals("list_review_terjadwal") ||
-            intentName.equals("history_review") ||
-            intentName.equals("query_employee_info") ||    
-            intentName.equals("lookup_employee") ||        
-            intentName.equals("employee_info")          
-        );
-    }
-    
-
     private static void printHeader() {
         System.out.println("╔════════════════════════════════════════════════════════════╗");
         System.out.println("║          🤖 HR AGENT - Asisten HR Cerdas                  ║");
@@ -1,9 +1,12 @@
 package com.hragent.action;
 
-import com.hragent.data.SQLiteDataStore;
+import com.hragent.data.DateParser;
+import com.hragent.data.HrRepository;
 import com.hragent.domain.Employee;
+import com.hragent.intent.IntentClassifier;
 import com.hragent.llm.CommandIntent;
 import com.hragent.llm.LLMService;
+import com.hragent.server.RequestTimings;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
@@ -14,19 +17,26 @@ public class ActionService {
 
     private final LLMService llmService;
     private final HRFunctions hrFunctions;
-    private final SQLiteDataStore dataStore;
+    private final HrRepository dataStore;
 
-    public ActionService(LLMService llmService, HRFunctions hrFunctions, SQLiteDataStore dataStore) {
+    public ActionService(LLMService llmService, HRFunctions hrFunctions, HrRepository dataStore) {
         this.llmService = llmService;
         this.hrFunctions = hrFunctions;
         this.dataStore = dataStore;
     }
 
     public String execute(String command) {
+        return execute(command, RequestTimings.NONE);
+    }
+
+    public String execute(String command, RequestTimings timings) {
         try {
-            CommandIntent intent = llmService.extractIntent(command);
+            // Lookup karyawan dimulai begitu nama selesai di-stream, paralel dengan sisa jawaban LLM
+            EmployeePrefetcher prefetcher = EmployeePrefetcher.forRepository(dataStore, timings);
+            CommandIntent intent = llmService.extractIntent(command, prefetcher, timings);
+            if (prefetcher != null) prefetcher.await();
     
-            if (intent == null || intent.getIntent() == null) {
+            if (intent == null || intent.getIntent() == null || IntentClassifier.UNKNOWN.equals(intent.getIntent())) {
                 return "Maaf, saya tidak bisa memahami perintah tersebut.";
             }
     
@@ -84,8 +94,8 @@ public class ActionService {
 
     private String executeApplyLeave(CommandIntent intent) {
         try {
-            String employeeName = resolveEmployeeName(intent.getEmployeeName());
-            if (employeeName == null) return "Nama karyawan tidak valid.";
+            Employee emp = resolveEmployee(intent.getEmployeeName());
+            if (emp == null) return "Nama karyawan tidak valid.";
 
             String leaveType = intent.getLeaveType() != null ? intent.getLeaveType() : "Tahunan";
 
@@ -96,23 +106,19 @@ public class ActionService {
             if (endDate == null) endDate = startDate;
             if (endDate.isBefore(startDate)) return "Tanggal selesai tidak boleh sebelum mulai.";
 
-            Employee emp = dataStore.getEmployeeByName(employeeName);
-            if (emp == null) return "Employee not found.";
-
-            int currentSisa = dataStore.getLeaveBalance(emp.getId(), leaveType);
             int cutiDays = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
 
-            if (cutiDays > currentSisa)
-                return "❌ Saldo cuti tidak cukup. Tersisa " + currentSisa + " hari, diminta " + cutiDays + " hari.";
-
-            dataStore.updateLeaveBalance(emp.getId(), leaveType, currentSisa - cutiDays);
-
-            // Insert leave request
+            // Cek saldo, potong saldo, dan insert pengajuan dalam satu transaksi
             String requestId = UUID.randomUUID().toString();
-            dataStore.insertLeaveRequest(requestId, emp.getId(), leaveType, startDate.toString(), endDate.toString(), "Disetujui");
+            int sisaBaru = dataStore.applyLeave(requestId, emp.getId(), leaveType, cutiDays,
+                    startDate.toString(), endDate.toString(), "Disetujui");
+
+            if (sisaBaru < 0)
+                return "❌ Saldo cuti tidak cukup. Tersisa " + dataStore.getLeaveBalance(emp.getId(), leaveType) +
+                        " hari, diminta " + cutiDays + " hari.";
 
-            return hrFunctions.applyForLeave(employeeName, leaveType, startDate, endDate) +
-                    "\n💡 Sisa cuti " + leaveType + " sekarang: " + (currentSisa - cutiDays) + " hari.";
+            return hrFunctions.applyForLeave(emp.getNama(), leaveType, startDate, endDate) +
+                    "\n💡 Sisa cuti " + leaveType + " sekarang: " + sisaBaru + " hari.";
         } catch (Exception e) {
             return "Error in apply leave: " + e.getMessage();
         }
@@ -120,22 +126,18 @@ public class ActionService {
 
     private String executeScheduleReview(CommandIntent intent) {
         try {
-            String employeeName = resolveEmployeeName(intent.getEmployeeName());
-            String reviewerName = resolveEmployeeName(intent.getReviewerName());
-            if (employeeName == null) return "Nama karyawan tidak valid.";
-            if (reviewerName == null) return "Nama reviewer tidak valid.";
+            Employee emp = resolveEmployee(intent.getEmployeeName());
+            Employee reviewer = resolveEmployee(intent.getReviewerName());
+            if (emp == null) return "Nama karyawan tidak valid.";
+            if (reviewer == null) return "Nama reviewer tidak valid.";
 
             LocalDate reviewDate = parseDate(intent.getStartDate());
             if (reviewDate == null) return "Tanggal review tidak valid.";
 
-            Employee emp = dataStore.getEmployeeByName(employeeName);
-            Employee reviewer = dataStore.getEmployeeByName(reviewerName);
-            if (emp == null || reviewer == null) return "Karyawan atau reviewer tidak ditemukan.";
-
             String reviewId = UUID.randomUUID().toString();
             dataStore.insertPerformanceReview(reviewId, emp.getId(), reviewer.getId(), reviewDate.toString(), 0, "Dijadwalkan");
 
-            return hrFunctions.schedulePerformanceReview(employeeName, reviewerName, reviewDate) + "\n🗓 Jadwal review tercatat.";
+            return hrFunctions.schedulePerformanceReview(emp.getNama(), reviewer.getNama(), reviewDate) + "\n🗓 Jadwal review tercatat.";
         } catch (Exception e) {
             return "Error in schedule review: " + e.getMessage();
         }
@@ -143,23 +145,22 @@ public class ActionService {
 
     private String executeCheckStatus(CommandIntent intent) {
         try {
-            String employeeName = resolveEmployeeName(intent.getEmployeeName());
-            if (employeeName == null) return "Nama karyawan tidak valid.";
-
-            Employee emp = dataStore.getEmployeeByName(employeeName);
-            if (emp == null) return "Karyawan tidak ditemukan.";
+            Employee emp = resolveEmployee(intent.getEmployeeName());
+            if (emp == null) return "Nama karyawan tidak valid.";
 
             String status = dataStore.getLatestLeaveRequestStatus(emp.getId());
-            return "ℹ️ Status pengajuan cuti terakhir untuk " + employeeName + " adalah: " + status;
+            return "ℹ️ Status pengajuan cuti terakhir untuk " + emp.getNama() + " adalah: " + status;
         } catch (Exception e) {
             return "Error in check status: " + e.getMessage();
         }
     }
 
-    private String resolveEmployeeName(String name) {
+    // Satu lookup per nama dari intent; Employee hasilnya dipakai langsung, tidak dicari lagi
+    // dengan nama lengkap (EmployeeCache hanya menyimpan query persis, jadi itu selalu miss)
+    private Employee resolveEmployee(String name) {
+        if (name == null) return null;
         try {
-            Employee emp = dataStore.getEmployeeByName(name);
-            return emp != null ? emp.getNama() : null;
+            return dataStore.getEmployeeByName(name);
         } catch (Exception e) {
             return null;
         }
@@ -272,11 +273,8 @@ public class ActionService {
 
     private String executeUpdateDataKaryawanFromIntent(CommandIntent intent) {
         try {
-            String employeeName = resolveEmployeeName(intent.getEmployeeName());
-            if (employeeName == null) return "Nama karyawan tidak valid.";
-            
-            Employee emp = dataStore.getEmployeeByName(employeeName);
-            if (emp == null) return "Karyawan tidak ditemukan.";
+            Employee emp = resolveEmployee(intent.getEmployeeName());
+            if (emp == null) return "Nama karyawan tidak valid.";
             
             String newDepartemen = intent.getDepartment() != null ? intent.getDepartment() : emp.getDepartemen();
             String newJabatan = intent.getPosition() != null ? intent.getPosition() : emp.getJabatan();
@@ -310,11 +308,8 @@ public class ActionService {
     
     private String executeUpdateStatusKaryawanFromIntent(CommandIntent intent) {
         try {
-            String employeeName = resolveEmployeeName(intent.getEmployeeName());
-            if (employeeName == null) return "Nama karyawan tidak valid.";
-            
-            Employee emp = dataStore.getEmployeeByName(employeeName);
-            if (emp == null) return "Karyawan tidak ditemukan.";
+            Employee emp = resolveEmployee(intent.getEmployeeName());
+            if (emp == null) return "Nama karyawan tidak valid.";
             
             String newStatus = intent.getStatus();
             return executeUpdateStatusKaryawan(emp.getId(), newStatus);
@@ -336,11 +331,8 @@ public class ActionService {
     
     private String executeUpdateSisaCutiFromIntent(CommandIntent intent) {
         try {
-            String employeeName = resolveEmployeeName(intent.getEmployeeName());
-            if (employeeName == null) return "Nama karyawan tidak valid.";
-            
-            Employee emp = dataStore.getEmployeeByName(employeeName);
-            if (emp == null) return "Karyawan tidak ditemukan.";
+            Employee emp = resolveEmployee(intent.getEmployeeName());
+            if (emp == null) return "Nama karyawan tidak valid.";
             
             String leaveType = intent.getLeaveType() != null ? intent.getLeaveType() : "Tahunan";
             int newBalance = intent.getNewBalance() != null ? intent.getNewBalance() : 0;
@@ -371,7 +363,7 @@ public class ActionService {
     private LocalDate parseDate(String dateStr) {
         if (dateStr == null || dateStr.isEmpty()) return null;
         try {
-            return LocalDate.parse(dateStr);
+            return DateParser.parse(dateStr.trim());
         } catch (Exception e) {
             return null;
         }
@@ -0,0 +1,100 @@
+package com.hragent.action;
+
+import com.hragent.data.CachingRepository;
+import com.hragent.data.HrRepository;
+import com.hragent.intent.IntentClassifier;
+import com.hragent.llm.IntentListener;
+import com.hragent.server.RequestTimings;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// EmployeePrefetcher: Dipasang sebagai IntentListener saat intent di-stream dari LLM. Begitu
+// employee_name/reviewer_name lengkap, getEmployeeByName dijalankan di thread lain sehingga
+// EmployeeCache sudah terisi saat action/query membutuhkannya, sementara LLM masih
+// menghasilkan field berikutnya. Field "intent" tiba lebih dulu (lihat LLMService.extractIntent)
+// dan menentukan apakah nama perlu di-prefetch: untuk tambah_karyawan nama adalah karyawan baru.
+// Key lookup sama dengan yang dipakai action/query (nama persis dari intent), jadi lookup
+// mereka kena cache. Satu instance per request; onField dan await() dipanggil dari thread
+// request yang sama. Durasi lookup di thread prefetch dicatat sebagai "prefetch".
+
+public final class EmployeePrefetcher implements IntentListener {
+
+    // Intent yang employee_name-nya bukan karyawan yang sudah ada
+    private static final Set<String> NEW_EMPLOYEE_INTENTS = Set.of("tambah_karyawan");
+
+    // false = tanpa prefetch, lookup karyawan baru jalan setelah intent lengkap
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("hragent.llm.prefetch", "true"));
+    // Batas tunggu prefetch yang belum selesai; lewat dari ini action melakukan lookup sendiri
+    private static final long AWAIT_MILLIS = 1000;
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "employee-prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final HrRepository repository;
+    private final RequestTimings timings;
+    private final Set<String> requested = new HashSet<>();
+    private final List<Future<?>> pending = new ArrayList<>();
+    private String intent;
+
+    private EmployeePrefetcher(HrRepository repository, RequestTimings timings) {
+        this.repository = repository;
+        this.timings = timings;
+    }
+
+    // null jika prefetch dimatikan atau repository tanpa cache (hasil lookup tidak tersimpan)
+    public static EmployeePrefetcher forRepository(HrRepository repository, RequestTimings timings) {
+        return ENABLED && repository instanceof CachingRepository ? new EmployeePrefetcher(repository, timings) : null;
+    }
+
+    @Override
+    public void onField(String name, String value) {
+        if ("intent".equals(name)) {
+            intent = value;
+            return;
+        }
+        if (intent == null || NEW_EMPLOYEE_INTENTS.contains(intent)) return;
+        if (!"employee_name".equals(name) && !"reviewer_name".equals(name)) return;
+        if (value == null || value.isBlank() || IntentClassifier.UNKNOWN.equals(value)) return;
+        if (!requested.add(value)) return;
+        pending.add(EXECUTOR.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                repository.getEmployeeByName(value);
+            } catch (Exception e) {
+                // Diabaikan: action mengulang lookup dan melaporkan error-nya sendiri
+            } finally {
+                timings.record("prefetch", System.nanoTime() - start);
+            }
+        }));
+    }
+
+    // Tunggu prefetch yang masih jalan, supaya lookup di action tidak menjalankan SELECT yang sama
+    public void await() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(AWAIT_MILLIS);
+        for (Future<?> future : pending) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Timeout atau gagal: action melakukan lookup sendiri
+            }
+        }
+        pending.clear();
+    }
+
+    public int getRequested() {
+        return requested.size();
+    }
+}
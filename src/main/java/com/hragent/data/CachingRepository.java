@@ -0,0 +1,229 @@
+package com.hragent.data;
+
+import com.hragent.domain.Employee;
+import com.hragent.domain.LeaveBalance;
+import com.hragent.domain.LeaveRequest;
+import com.hragent.domain.PerformanceReview;
+
+import java.sql.SQLException;
+import java.util.List;
+
+// CachingRepository: Read-through cache Employee di depan repository lain (mode sqlite).
+// getEmployeeById, getEmployeeByName dan getManagerOf dilayani dari EmployeeCache; hanya
+// miss yang menjalankan SELECT. updateDataKaryawan/updateStatusKaryawan membuang entri
+// karyawan tersebut, tambahKaryawan mengosongkan cache nama. Operasi lain diteruskan apa adanya.
+// Ukuran cache: -Dhragent.cache.employees (default 1024, 0 = tanpa cache).
+
+public class CachingRepository implements HrRepository {
+
+    public static final int DEFAULT_MAX_ENTRIES = Integer.getInteger("hragent.cache.employees", 1024);
+
+    private final HrRepository delegate;
+    private final EmployeeCache cache;
+
+    public CachingRepository(HrRepository delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES);
+    }
+
+    public CachingRepository(HrRepository delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.cache = new EmployeeCache(maxEntries);
+    }
+
+    public HrRepository getDelegate() { return delegate; }
+    public EmployeeCache getCache() { return cache; }
+
+    // ============ EMPLOYEE (cache) ============
+
+    @Override
+    public Employee getEmployeeById(int id) throws SQLException {
+        Employee emp = cache.getById(id);
+        if (emp != null) return emp;
+        long generation = cache.generation();
+        emp = delegate.getEmployeeById(id);
+        cache.putById(generation, emp);
+        return emp;
+    }
+
+    @Override
+    public Employee getEmployeeByName(String name) throws SQLException {
+        Employee emp = cache.getByName(name);
+        if (emp != null) return emp;
+        long generation = cache.generation();
+        emp = delegate.getEmployeeByName(name);
+        cache.putByName(generation, name, emp);
+        return emp;
+    }
+
+    @Override
+    public String resolveEmployeeName(String text) {
+        return delegate.resolveEmployeeName(text);
+    }
+
+    // Manajer diambil lewat getEmployeeById di atas, bukan lewat SELECT delegate
+    @Override
+    public Employee getManagerOf(Employee emp) throws SQLException {
+        if (emp.getIdManajer() == null) return null;
+        return getEmployeeById(emp.getIdManajer());
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() throws SQLException {
+        return delegate.getAllEmployees();
+    }
+
+    @Override
+    public List<Employee> getKaryawanByDepartemen(String departemen) throws SQLException {
+        return delegate.getKaryawanByDepartemen(departemen);
+    }
+
+    @Override
+    public List<Employee> getKaryawanByJabatan(String jabatan) throws SQLException {
+        return delegate.getKaryawanByJabatan(jabatan);
+    }
+
+    @Override
+    public List<Employee> getKaryawanByStatus(String status) throws SQLException {
+        return delegate.getKaryawanByStatus(status);
+    }
+
+    // Invalidasi setelah tulis berhasil; generation baru juga menolak hasil baca yang sedang berjalan
+    @Override
+    public void tambahKaryawan(int id, String nama, String email, String jabatan, String departemen,
+                               Integer idManajer, String tanggalBergabung, String statusKaryawan) throws SQLException {
+        try {
+            delegate.tambahKaryawan(id, nama, email, jabatan, departemen, idManajer, tanggalBergabung, statusKaryawan);
+        } finally {
+            cache.invalidateNames();
+        }
+    }
+
+    @Override
+    public void updateDataKaryawan(int idKaryawan, String newDepartemen, String newJabatan) throws SQLException {
+        try {
+            delegate.updateDataKaryawan(idKaryawan, newDepartemen, newJabatan);
+        } finally {
+            cache.invalidate(idKaryawan);
+        }
+    }
+
+    @Override
+    public void updateStatusKaryawan(int idKaryawan, String newStatus) throws SQLException {
+        try {
+            delegate.updateStatusKaryawan(idKaryawan, newStatus);
+        } finally {
+            cache.invalidate(idKaryawan);
+        }
+    }
+
+    // ============ LEAVE & REVIEW (tanpa cache) ============
+
+    @Override
+    public int getLeaveBalance(int idKaryawan, String tipeCuti) throws SQLException {
+        return delegate.getLeaveBalance(idKaryawan, tipeCuti);
+    }
+
+    @Override
+    public void updateLeaveBalance(int idKaryawan, String tipeCuti, int newSisaHari) throws SQLException {
+        delegate.updateLeaveBalance(idKaryawan, tipeCuti, newSisaHari);
+    }
+
+    @Override
+    public List<LeaveBalance> getAllLeaveBalances() throws SQLException {
+        return delegate.getAllLeaveBalances();
+    }
+
+    @Override
+    public int applyLeave(String idRequest, int idKaryawan, String tipeCuti, int hari,
+                          String mulai, String selesai, String status) throws SQLException {
+        return delegate.applyLeave(idRequest, idKaryawan, tipeCuti, hari, mulai, selesai, status);
+    }
+
+    @Override
+    public void insertLeaveRequest(String idRequest, int idKaryawan, String tipeCuti,
+                                   String mulai, String selesai, String status) throws SQLException {
+        delegate.insertLeaveRequest(idRequest, idKaryawan, tipeCuti, mulai, selesai, status);
+    }
+
+    @Override
+    public String getLatestLeaveRequestStatus(String idRequest) throws SQLException {
+        return delegate.getLatestLeaveRequestStatus(idRequest);
+    }
+
+    @Override
+    public String getLatestLeaveRequestStatus(int idKaryawan) throws SQLException {
+        return delegate.getLatestLeaveRequestStatus(idKaryawan);
+    }
+
+    @Override
+    public List<LeaveRequest> getCutiPending() throws SQLException {
+        return delegate.getCutiPending();
+    }
+
+    @Override
+    public List<LeaveRequest> getHistoryCuti(int idKaryawan) throws SQLException {
+        return delegate.getHistoryCuti(idKaryawan);
+    }
+
+    @Override
+    public void approveRejectCuti(String idCuti, String newStatus) throws SQLException {
+        delegate.approveRejectCuti(idCuti, newStatus);
+    }
+
+    @Override
+    public void batalkanCuti(String idCuti) throws SQLException {
+        delegate.batalkanCuti(idCuti);
+    }
+
+    @Override
+    public void updateStatusCuti(String idCuti, String newStatus) throws SQLException {
+        delegate.updateStatusCuti(idCuti, newStatus);
+    }
+
+    @Override
+    public void updateSisaCuti(int idKaryawan, String leaveType, int newBalance) throws SQLException {
+        delegate.updateSisaCuti(idKaryawan, leaveType, newBalance);
+    }
+
+    @Override
+    public void resetCutiTahunan(int jumlahCutiDefault) throws SQLException {
+        delegate.resetCutiTahunan(jumlahCutiDefault);
+    }
+
+    @Override
+    public void insertPerformanceReview(String idReview, int empId, int reviewerId, String tanggalReview,
+                                        int skor, String status) throws SQLException {
+        delegate.insertPerformanceReview(idReview, empId, reviewerId, tanggalReview, skor, status);
+    }
+
+    @Override
+    public List<PerformanceReview> getReviewTerjadwal() throws SQLException {
+        return delegate.getReviewTerjadwal();
+    }
+
+    @Override
+    public List<PerformanceReview> getHistoryReview(int idKaryawan) throws SQLException {
+        return delegate.getHistoryReview(idKaryawan);
+    }
+
+    @Override
+    public void updateSkorReview(String idReview, int skorPerforma) throws SQLException {
+        delegate.updateSkorReview(idReview, skorPerforma);
+    }
+
+    @Override
+    public void batalkanReview(String idReview) throws SQLException {
+        delegate.batalkanReview(idReview);
+    }
+
+    @Override
+    public void submitHasilReview(String idReview, int skorPerforma, String status) throws SQLException {
+        delegate.submitHasilReview(idReview, skorPerforma, status);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        delegate.close();
+        System.out.println("   " + cache);
+    }
+}
@@ -0,0 +1,191 @@
+package com.hragent.data;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// ConnectionPool: Satu koneksi writer + N koneksi read-only untuk SQLite (mode WAL),
+// sehingga query baca bisa jalan paralel dengan write. Tanpa reader (mis. database
+// in-memory) semua akses lewat writer. Setiap koneksi punya StatementCache sendiri.
+
+public class ConnectionPool implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final PooledConnection writer;
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private final List<PooledConnection> readers = new ArrayList<>();
+    private final BlockingQueue<PooledConnection> idleReaders;
+    private final long maxWaitNanos;
+
+    private final AtomicLong writerCheckouts = new AtomicLong();
+    private final AtomicLong readerCheckouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxObservedWaitNanos = new AtomicLong();
+    private final AtomicLong totalHoldNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public ConnectionPool(Connection writerConnection, ConnectionFactory readerFactory,
+                          int readerCount, Duration maxWait) throws SQLException {
+        this.writer = new PooledConnection(writerConnection, false);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.idleReaders = new ArrayBlockingQueue<>(Math.max(1, readerCount));
+        try {
+            for (int i = 0; i < readerCount; i++) {
+                PooledConnection reader = new PooledConnection(readerFactory.open(), true);
+                readers.add(reader);
+                idleReaders.add(reader);
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public PooledConnection acquireWriter() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!writerLock.tryLock(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLException("Timed out waiting for writer connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for writer connection", e);
+        }
+        writerCheckouts.incrementAndGet();
+        recordWait(System.nanoTime() - start);
+        writer.checkedOutAt = System.nanoTime();
+        return writer;
+    }
+
+    public PooledConnection acquireReader() throws SQLException {
+        if (readers.isEmpty()) {
+            return acquireWriter();
+        }
+        long start = System.nanoTime();
+        PooledConnection reader;
+        try {
+            reader = idleReaders.poll(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for reader connection", e);
+        }
+        if (reader == null) {
+            timeouts.incrementAndGet();
+            throw new SQLException("Timed out waiting for reader connection");
+        }
+        readerCheckouts.incrementAndGet();
+        recordWait(System.nanoTime() - start);
+        reader.checkedOutAt = System.nanoTime();
+        return reader;
+    }
+
+    public void release(PooledConnection pooled) {
+        totalHoldNanos.addAndGet(System.nanoTime() - pooled.checkedOutAt);
+        if (pooled.readOnly) {
+            idleReaders.offer(pooled);
+        } else {
+            writerLock.unlock();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxObservedWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // ============ METRICS ============
+
+    public int getReaderCount() { return readers.size(); }
+    public int getIdleReaderCount() { return idleReaders.size(); }
+    public long getWriterCheckouts() { return writerCheckouts.get(); }
+    public long getReaderCheckouts() { return readerCheckouts.get(); }
+    public long getTimeouts() { return timeouts.get(); }
+
+    public double getAverageWaitMillis() {
+        long n = writerCheckouts.get() + readerCheckouts.get();
+        return n == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / n;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxObservedWaitNanos.get() / 1_000_000.0;
+    }
+
+    // Rata-rata lama koneksi dipegang per checkout
+    public double getAverageCheckoutMillis() {
+        long n = writerCheckouts.get() + readerCheckouts.get();
+        return n == 0 ? 0.0 : totalHoldNanos.get() / 1_000_000.0 / n;
+    }
+
+    public long getStatementsPrepared() {
+        long total = writer.statements.getPrepared();
+        for (PooledConnection reader : readers) total += reader.statements.getPrepared();
+        return total;
+    }
+
+    public long getStatementsReused() {
+        long total = writer.statements.getReused();
+        for (PooledConnection reader : readers) total += reader.statements.getReused();
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[writer=1, readers=%d (idle %d), writerCheckouts=%d, readerCheckouts=%d, " +
+                        "avgWait=%.3fms, maxWait=%.3fms, avgCheckout=%.3fms, timeouts=%d, statements prepared=%d/reused=%d]",
+                getReaderCount(), getIdleReaderCount(), getWriterCheckouts(), getReaderCheckouts(),
+                getAverageWaitMillis(), getMaxWaitMillis(), getAverageCheckoutMillis(), getTimeouts(),
+                getStatementsPrepared(), getStatementsReused());
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException first = null;
+        List<PooledConnection> all = new ArrayList<>(readers);
+        all.add(writer);
+        for (PooledConnection pooled : all) {
+            try {
+                pooled.close();
+            } catch (SQLException e) {
+                if (first == null) first = e;
+            }
+        }
+        if (first != null) throw first;
+    }
+
+    public static final class PooledConnection {
+        private final Connection connection;
+        private final StatementCache statements;
+        private final boolean readOnly;
+        private long checkedOutAt;
+
+        PooledConnection(Connection connection, boolean readOnly) {
+            this.connection = connection;
+            this.statements = new StatementCache(connection);
+            this.readOnly = readOnly;
+        }
+
+        public Connection getConnection() { return connection; }
+        public StatementCache getStatements() { return statements; }
+        public boolean isReadOnly() { return readOnly; }
+
+        void close() throws SQLException {
+            try {
+                statements.close();
+            } finally {
+                connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.hragent.data;
+
+import com.opencsv.CSVReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// CsvBootstrap: Import awal keempat file CSV ke SQLite secara paralel. Setiap file di-parse
+// di thread parser sendiri menjadi potongan baris yang sudah dikonversi, lalu dikirim
+// lewat bounded queue ke satu writer (thread pemanggil) yang memegang koneksi writer.
+// Writer meng-commit setiap commitRows baris dalam transaksi eksplisit. Queue yang
+// terbatas menjaga memori tetap konstan: parser menunggu jika writer tertinggal.
+// Karena commit bertahap, kegagalan di tengah meninggalkan sebagian baris; penanda selesai
+// (user_version) ditulis oleh SQLiteDataStore.bootstrapFromCsv setelah load() berhasil.
+
+public class CsvBootstrap {
+
+    private static final int ROWS_PER_CHUNK = 1000;
+
+    enum Table {
+        EMPLOYEES("employees", "employees.csv",
+            "INSERT INTO employees (id, nama, email, jabatan, departemen, id_manajer, tanggal_bergabung, status_karyawan) VALUES (?, ?, ?, ?, ?, ?, ?, ?)"),
+        LEAVE_BALANCES("leave_balances", "leave_balances.csv",
+            "INSERT INTO leave_balances (id_karyawan, tipe_cuti, sisa_hari) VALUES (?, ?, ?)"),
+        LEAVE_REQUESTS("leave_requests", "leave_requests.csv",
+            "INSERT INTO leave_requests (id_request, id_karyawan, tipe_cuti, tanggal_mulai, tanggal_selesai, status_request) VALUES (?, ?, ?, ?, ?, ?)"),
+        PERFORMANCE_REVIEWS("performance_reviews", "performance_reviews.csv",
+            "INSERT INTO performance_reviews (id_review, id_karyawan, id_reviewer, tanggal_review, skor_performa, status_review) VALUES (?, ?, ?, ?, ?, ?)");
+
+        final String tableName;
+        final String fileName;
+        final String sql;
+
+        Table(String tableName, String fileName, String sql) {
+            this.tableName = tableName;
+            this.fileName = fileName;
+            this.sql = sql;
+        }
+    }
+
+    // Potongan baris dari satu file; rows == null menandakan file tersebut selesai
+    private static final class Chunk {
+        final Table table;
+        final List<Object[]> rows;
+
+        Chunk(Table table, List<Object[]> rows) {
+            this.table = table;
+            this.rows = rows;
+        }
+    }
+
+    private final Path dataDir;
+    private final int parserThreads;
+    private final int commitRows;
+    private final int queueCapacity;
+    private final EmployeeNameIndex nameIndex;
+    // (id, nama) yang sudah di-insert tapi belum di-commit; masuk index nama setelah commit
+    private final List<Object[]> uncommittedNames = new ArrayList<>();
+
+    private long rows;
+    private long commits;
+    private long elapsedNanos;
+
+    public CsvBootstrap(Path dataDir, int parserThreads, int commitRows, int queueCapacity,
+                        EmployeeNameIndex nameIndex) {
+        this.dataDir = dataDir;
+        this.parserThreads = Math.max(1, parserThreads);
+        this.commitRows = Math.max(1, commitRows);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.nameIndex = nameIndex;
+    }
+
+    // Jalankan import memakai koneksi writer; koneksi harus sedang autocommit
+    public void load(Connection conn, StatementCache statements) throws SQLException {
+        long start = System.nanoTime();
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Exception> parseError = new AtomicReference<>();
+        ExecutorService parsers = Executors.newFixedThreadPool(parserThreads, r -> {
+            Thread t = new Thread(r, "csv-parser");
+            t.setDaemon(true);
+            return t;
+        });
+
+        Table[] tables = Table.values();
+        for (Table table : tables) {
+            parsers.submit(() -> parse(table, queue, parseError));
+        }
+        parsers.shutdown();
+
+        boolean committed = false;
+        conn.setAutoCommit(false);
+        try {
+            int pendingFiles = tables.length;
+            long uncommitted = 0;
+            while (pendingFiles > 0) {
+                Chunk chunk = queue.take();
+                if (chunk.rows == null) {
+                    pendingFiles--;
+                    continue;
+                }
+                insert(statements.prepare(chunk.table.sql), chunk);
+                rows += chunk.rows.size();
+                uncommitted += chunk.rows.size();
+                if (uncommitted >= commitRows) {
+                    commit(conn);
+                    uncommitted = 0;
+                }
+            }
+            if (parseError.get() != null) {
+                throw new SQLException("CSV import failed: " + parseError.get().getMessage(), parseError.get());
+            }
+            commit(conn);
+            committed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("CSV import interrupted", e);
+        } finally {
+            if (!committed) {
+                parsers.shutdownNow();
+                uncommittedNames.clear();
+                conn.rollback();
+            }
+            conn.setAutoCommit(true);
+            elapsedNanos = System.nanoTime() - start;
+        }
+        try {
+            parsers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(Connection conn) throws SQLException {
+        conn.commit();
+        commits++;
+        for (Object[] name : uncommittedNames) {
+            nameIndex.put((Integer) name[0], (String) name[1]);
+        }
+        uncommittedNames.clear();
+    }
+
+    private void insert(PreparedStatement ps, Chunk chunk) throws SQLException {
+        for (Object[] row : chunk.rows) {
+            for (int i = 0; i < row.length; i++) {
+                Object value = row[i];
+                if (value == null) ps.setNull(i + 1, Types.INTEGER);
+                else if (value instanceof Integer) ps.setInt(i + 1, (Integer) value);
+                else ps.setString(i + 1, (String) value);
+            }
+            ps.executeUpdate();
+            if (chunk.table == Table.EMPLOYEES) {
+                uncommittedNames.add(row);
+            }
+        }
+    }
+
+    private void parse(Table table, BlockingQueue<Chunk> queue, AtomicReference<Exception> error) {
+        try {
+            try (CSVReader reader = new CSVReader(Files.newBufferedReader(dataDir.resolve(table.fileName)))) {
+                reader.skip(1);
+                IngestStats stats = IngestStats.start(table.fileName);
+                List<Object[]> rows = new ArrayList<>(ROWS_PER_CHUNK);
+                String[] line;
+                while ((line = reader.readNext()) != null) {
+                    if (error.get() != null) break;
+                    stats.row();
+                    rows.add(convert(table, line));
+                    if (rows.size() == ROWS_PER_CHUNK) {
+                        queue.put(new Chunk(table, rows));
+                        rows = new ArrayList<>(ROWS_PER_CHUNK);
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    queue.put(new Chunk(table, rows));
+                }
+                stats.finish();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            error.compareAndSet(null, e);
+        }
+        try {
+            queue.put(new Chunk(table, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Object[] convert(Table table, String[] line) throws IOException {
+        try {
+            switch (table) {
+                case EMPLOYEES:
+                    return new Object[] {
+                        Integer.parseInt(line[0]), line[1], line[2], line[3], line[4],
+                        line[5].isEmpty() ? null : Integer.parseInt(line[5]), CsvLoader.normalizeDate(line[6]), line[7]
+                    };
+                case LEAVE_BALANCES:
+                    return new Object[] { Integer.parseInt(line[0]), line[1], Integer.parseInt(line[2]) };
+                case LEAVE_REQUESTS:
+                    return new Object[] {
+                        line[0], Integer.parseInt(line[1]), line[2],
+                        CsvLoader.normalizeDate(line[3]), CsvLoader.normalizeDate(line[4]), line[5]
+                    };
+                case PERFORMANCE_REVIEWS:
+                    return new Object[] {
+                        line[0], Integer.parseInt(line[1]), Integer.parseInt(line[2]), CsvLoader.normalizeDate(line[3]),
+                        Integer.parseInt(line[4]), line[5]
+                    };
+                default:
+                    throw new IllegalStateException("Unknown table " + table);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid row in " + table.fileName + ": " + String.join(",", line), e);
+        }
+    }
+
+    public long getRows() { return rows; }
+    public long getCommits() { return commits; }
+    public double getElapsedMillis() { return elapsedNanos / 1_000_000.0; }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos <= 0 ? 0.0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CsvBootstrap[rows=%,d, commits=%d, %.1fms, %,.0f rows/s, parsers=%d, commitRows=%d]",
+                rows, commits, getElapsedMillis(), getRowsPerSecond(), parserThreads, commitRows);
+    }
+}
@@ -4,27 +4,40 @@ import com.hragent.domain.*;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Locale;
 
 // CsvLoader: Membaca semua CSV files dan populate DataStore
 
 public class CsvLoader {
-    private static final DateTimeFormatter DATE_FORMATTER = 
-        DateTimeFormatter.ofPattern("[yyyy-MM-dd][M/d/yyyy][d/M/yyyy]", Locale.US);
+    // Tanggal CSV (yyyy-MM-dd, M/d/yyyy, d/M/yyyy; lihat DateParser) -> ISO yyyy-MM-dd,
+    // format yang disimpan di SQLite
+    public static LocalDate parseDate(String raw) {
+        return DateParser.parse(raw.trim());
+    }
+
+    public static String normalizeDate(String raw) {
+        return DateParser.normalize(raw.trim());
+    }
 
     public static DataStore loadAllData() {
+        return loadAllData(null);
+    }
+
+    // dataDir null = CSV dari classpath (src/main/resources); selain itu dari folder tersebut
+    public static DataStore loadAllData(Path dataDir) {
         DataStore store = new DataStore();
         
         try {
-            loadEmployees(store);
-            loadLeaveBalances(store);
-            loadLeaveRequests(store);
-            loadPerformanceReviews(store);
+            loadEmployees(store, dataDir);
+            loadLeaveBalances(store, dataDir);
+            loadLeaveRequests(store, dataDir);
+            loadPerformanceReviews(store, dataDir);
+            store.trimToSize();
             
             System.out.println("✅ Data loaded successfully:");
             System.out.println("   - Employees: " + store.getTotalEmployees());
@@ -37,34 +50,37 @@ public class CsvLoader {
         return store;
     }
 
-    private static void loadEmployees(DataStore store) throws Exception {
-        try (CSVReader reader = createReader("/employees.csv")) {
-            List<String[]> rows = reader.readAll();
-            rows.remove(0); // Remove header
-            
-            for (String[] row : rows) {
+    private static void loadEmployees(DataStore store, Path dataDir) throws Exception {
+        try (CSVReader reader = createReader(dataDir, "employees.csv")) {
+            reader.skip(1); // Skip header
+            IngestStats stats = IngestStats.start("employees.csv");
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                stats.row();
                 int id = Integer.parseInt(row[0]);
                 String nama = row[1];
                 String email = row[2];
                 String jabatan = row[3];
                 String departemen = row[4];
                 Integer idManajer = row[5].isEmpty() ? null : Integer.parseInt(row[5]);
-                LocalDate tanggalBergabung = LocalDate.parse(row[6], DATE_FORMATTER);
+                LocalDate tanggalBergabung = parseDate(row[6]);
                 String statusKaryawan = row[7];
                 
                 Employee emp = new Employee(id, nama, email, jabatan, departemen, 
                                            idManajer, tanggalBergabung, statusKaryawan);
                 store.addEmployee(emp);
             }
+            stats.finish();
         }
     }
 
-    private static void loadLeaveBalances(DataStore store) throws Exception {
-        try (CSVReader reader = createReader("/leave_balances.csv")) {
-            List<String[]> rows = reader.readAll();
-            rows.remove(0);
-            
-            for (String[] row : rows) {
+    private static void loadLeaveBalances(DataStore store, Path dataDir) throws Exception {
+        try (CSVReader reader = createReader(dataDir, "leave_balances.csv")) {
+            reader.skip(1); // Skip header
+            IngestStats stats = IngestStats.start("leave_balances.csv");
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                stats.row();
                 int idKaryawan = Integer.parseInt(row[0]);
                 String tipeCuti = row[1];
                 int sisaHari = Integer.parseInt(row[2]);
@@ -78,20 +94,22 @@ public class CsvLoader {
                                                    sisaCutiTahunan, sisaCutiSakit, sisaCutiMelahirkan);
                 store.addLeaveBalance(lb);
             }
+            stats.finish();
         }
     }
 
-    private static void loadLeaveRequests(DataStore store) throws Exception {
-        try (CSVReader reader = createReader("/leave_requests.csv")) {
-            List<String[]> rows = reader.readAll();
-            rows.remove(0); 
-            
-            for (String[] row : rows) {
+    private static void loadLeaveRequests(DataStore store, Path dataDir) throws Exception {
+        try (CSVReader reader = createReader(dataDir, "leave_requests.csv")) {
+            reader.skip(1); // Skip header
+            IngestStats stats = IngestStats.start("leave_requests.csv");
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                stats.row();
                 String idRequest = row[0];        // id_request from CSV
                 int idKaryawan = Integer.parseInt(row[1]);
                 String tipeCuti = row[2];
-                LocalDate tanggalMulai = LocalDate.parse(row[3], DATE_FORMATTER);
-                LocalDate tanggalSelesai = LocalDate.parse(row[4], DATE_FORMATTER);
+                LocalDate tanggalMulai = parseDate(row[3]);
+                LocalDate tanggalSelesai = parseDate(row[4]);
                 String statusRequest = row[5];    // status_request from CSV
                 
                 // For LeaveRequest constructor (9 params)
@@ -104,20 +122,22 @@ public class CsvLoader {
                                                    idCuti, jenisCuti, statusCuti);
                 store.addLeaveRequest(lr);
             }
+            stats.finish();
         }
     }
     
 
-    private static void loadPerformanceReviews(DataStore store) throws Exception {
-        try (CSVReader reader = createReader("/performance_reviews.csv")) {
-            List<String[]> rows = reader.readAll();
-            rows.remove(0); 
-            
-            for (String[] row : rows) {
+    private static void loadPerformanceReviews(DataStore store, Path dataDir) throws Exception {
+        try (CSVReader reader = createReader(dataDir, "performance_reviews.csv")) {
+            reader.skip(1); // Skip header
+            IngestStats stats = IngestStats.start("performance_reviews.csv");
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                stats.row();
                 String idReview = row[0];
                 int idKaryawan = Integer.parseInt(row[1]);
                 int idReviewer = Integer.parseInt(row[2]);
-                LocalDate tanggalReview = LocalDate.parse(row[3], DATE_FORMATTER);
+                LocalDate tanggalReview = parseDate(row[3]);
                 int skorPerforma = Integer.parseInt(row[4]);
                 String statusReview = row[5];
                 
@@ -125,10 +145,15 @@ public class CsvLoader {
                                                             tanggalReview, skorPerforma, statusReview);
                 store.addPerformanceReview(pr);
             }
+            stats.finish();
         }
     }
 
-    private static CSVReader createReader(String resourcePath) {
+    private static CSVReader createReader(Path dataDir, String fileName) throws IOException {
+        if (dataDir != null) {
+            return new CSVReader(Files.newBufferedReader(dataDir.resolve(fileName)));
+        }
+        String resourcePath = "/" + fileName;
         InputStream is = CsvLoader.class.getResourceAsStream(resourcePath);
         if (is == null) {
             throw new RuntimeException("File not found: " + resourcePath);
@@ -1,93 +1,931 @@
 package com.hragent.data;
 
 import com.hragent.domain.*;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 
  // DataStore: In-memory storage untuk semua data HR
+ // Disimpan kolom per kolom (struct-of-arrays) agar jutaan baris tetap ringkas:
+ // - id karyawan -> slot lewat IntIntMap (tanpa boxing); semua kolom di-index dengan slot
+ // - nilai kategori (jabatan, departemen, status, tipe cuti) di-intern ke ordinal short
+ // - sisa cuti: int[slot * stride + ordinal tipe cuti], jadi lookup (karyawan, tipe) = index array
+ // - leave request & review: kolom flat + linked list per karyawan (head/tail/next), tanpa List per karyawan
+ // - tanggal disimpan sebagai epoch day
+ // Objek domain (Employee, LeaveBalance, ...) dibuat saat diminta, jadi identitas objek
+ // antar panggilan tidak sama. Semua akses lewat ReadWriteLock: baca paralel, tulis eksklusif.
+ // Sebagai HrRepository, urutan dan nilai "tidak ada" mengikuti SQLiteDataStore.
+
+public class DataStore implements HrRepository {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INITIAL_LEAVE_TYPES = 4;
+    private static final int NONE = -1;
+    // Penanda null untuk kolom int (id manajer, tanggal, sisa cuti)
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private static final String NOT_FOUND = "Not found";
+    private static final String STATUS_CUTI_PENDING = "Menunggu Persetujuan";
+    private static final String STATUS_REVIEW_TERJADWAL = "Terjadwal";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IntIntMap slotById = new IntIntMap(INITIAL_CAPACITY);
+    private final StringDictionary jabatanDict = new StringDictionary(false);
+    private final StringDictionary departemenDict = new StringDictionary(false);
+    private final StringDictionary employeeStatusDict = new StringDictionary(false);
+    private final StringDictionary leaveTypes = new StringDictionary(true);
+    private final StringDictionary requestStatusDict = new StringDictionary(false);
+    private final StringDictionary reviewStatusDict = new StringDictionary(false);
+
+    // Kolom per slot. Slot juga dibuat untuk id yang hanya muncul di tabel lain;
+    // slot berisi karyawan jika nama[slot] != null.
+    private int slots;
+    private int employeeCount;
+    private int[] ids;
+    private String[] nama;
+    private String[] email;
+    private short[] jabatan;
+    private short[] departemen;
+    private int[] idManajer;
+    private int[] tanggalBergabung;
+    private short[] statusKaryawan;
+
+    // Sisa cuti per (slot, ordinal tipe cuti); NULL_INT = tidak ada
+    private int leaveStride = INITIAL_LEAVE_TYPES;
+    private int[] sisaHari;
+
+    // Leave request: kolom flat, dirangkai per karyawan sesuai urutan insert
+    private int requestCount;
+    private int[] requestHead;
+    private int[] requestTail;
+    private int[] requestNext;
+    private String[] requestId;
+    private short[] requestType;
+    private int[] requestMulai;
+    private int[] requestSelesai;
+    private short[] requestStatus;
+    private final StringRowIndex requestById = new StringRowIndex(INITIAL_CAPACITY);
+
+    // Performance review: sama seperti leave request
+    private int reviewCount;
+    private int[] reviewHead;
+    private int[] reviewTail;
+    private int[] reviewNext;
+    private String[] reviewId;
+    private int[] reviewReviewer;
+    private int[] reviewTanggal;
+    private int[] reviewSkor;
+    private short[] reviewStatus;
+    private final StringRowIndex reviewById = new StringRowIndex(INITIAL_CAPACITY);
 
-public class DataStore {
-    private final Map<Integer, Employee> employees;
-    private final Map<Integer, List<LeaveBalance>> leaveBalances;
-    private final Map<Integer, List<LeaveRequest>> leaveRequests;
-    private final Map<Integer, List<PerformanceReview>> performanceReviews;
-    
-    // Index untuk pencarian cepat by nama
-    private final Map<String, Integer> nameToIdIndex;
+    // Index untuk pencarian cepat by nama (lowercase, case-insensitive):
+    // open addressing berisi slot + 1 (0 = kosong), hash nama lowercase per slot
+    private int[] nameTable;
+    private int[] nameHash;
+    private int nameEntries;
+
+    // Index nama di teks bebas (resolveEmployeeName); dibangun saat pertama dipakai
+    // karena cukup besar untuk jutaan karyawan dan tidak dibutuhkan oleh semua pemakai
+    private volatile EmployeeNameIndex textIndex;
 
     public DataStore() {
-        this.employees = new HashMap<>();
-        this.leaveBalances = new HashMap<>();
-        this.leaveRequests = new HashMap<>();
-        this.performanceReviews = new HashMap<>();
-        this.nameToIdIndex = new HashMap<>();
+        allocateSlots(INITIAL_CAPACITY);
+        allocateRequests(INITIAL_CAPACITY);
+        allocateReviews(INITIAL_CAPACITY);
+        nameTable = new int[INITIAL_CAPACITY * 2];
     }
 
     // Add methods
     public void addEmployee(Employee emp) {
-        employees.put(emp.getId(), emp);
-        // Index nama (lowercase untuk case-insensitive search)
-        nameToIdIndex.put(emp.getNama().toLowerCase(), emp.getId());
+        lock.writeLock().lock();
+        try {
+            putEmployee(emp);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
+    // Hanya sisaHari yang disimpan; kolom sisaCutiTahunan/Sakit/Melahirkan diturunkan
+    // kembali dari tipe cuti seperti di CsvLoader. Jika (karyawan, tipe) muncul dua kali,
+    // baris pertama yang dipakai (sama seperti getLeaveBalance sebelumnya).
     public void addLeaveBalance(LeaveBalance lb) {
-        leaveBalances.computeIfAbsent(lb.getIdKaryawan(), k -> new ArrayList<>()).add(lb);
+        lock.writeLock().lock();
+        try {
+            int slot = slotFor(lb.getIdKaryawan());
+            int type = leaveTypes.intern(lb.getTipeCuti());
+            if (type >= leaveStride) {
+                restrideBalances(Math.max(leaveStride * 2, type + 1));
+            }
+            int index = slot * leaveStride + type;
+            if (sisaHari[index] == NULL_INT) {
+                sisaHari[index] = lb.getSisaHari();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
+    // idCuti/jenisCuti/statusCuti tidak disimpan terpisah: nilainya sama dengan
+    // idRequest/tipeCuti/statusRequest (lihat CsvLoader)
     public void addLeaveRequest(LeaveRequest lr) {
-        leaveRequests.computeIfAbsent(lr.getIdKaryawan(), k -> new ArrayList<>()).add(lr);
+        lock.writeLock().lock();
+        try {
+            putLeaveRequest(lr.getIdRequest(), lr.getIdKaryawan(), lr.getTipeCuti(),
+                    toEpochDay(lr.getTanggalMulai()), toEpochDay(lr.getTanggalSelesai()), lr.getStatusRequest());
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     public void addPerformanceReview(PerformanceReview pr) {
-        performanceReviews.computeIfAbsent(pr.getIdKaryawan(), k -> new ArrayList<>()).add(pr);
+        lock.writeLock().lock();
+        try {
+            putPerformanceReview(pr.getIdReview(), pr.getIdKaryawan(), pr.getIdReviewer(),
+                    toEpochDay(pr.getTanggalReview()), pr.getSkorPerforma(), pr.getStatusReview());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Buang kapasitas cadangan setelah load selesai
+    public void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            allocateSlots(slots);
+            allocateRequests(requestCount);
+            allocateReviews(reviewCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     // Query methods
     public Employee getEmployeeById(int id) {
-        return employees.get(id);
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(id);
+            return slot >= 0 && nama[slot] != null ? employeeAt(slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
+    // Nama lengkap lewat index; jika tidak ada, karyawan pertama yang namanya memuat
+    // teks tersebut (seperti LIKE '%nama%' di SQLiteDataStore)
     public Employee getEmployeeByName(String nama) {
-        Integer id = nameToIdIndex.get(nama.toLowerCase().trim());
-        return id != null ? employees.get(id) : null;
+        String lower = nama.toLowerCase();
+        lock.readLock().lock();
+        try {
+            int slot = findName(lower.trim());
+            if (slot < 0) slot = findNameContaining(lower);
+            return slot >= 0 ? employeeAt(slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String resolveEmployeeName(String text) {
+        EmployeeNameIndex index = textIndex;
+        if (index == null) {
+            lock.readLock().lock();
+            try {
+                index = buildTextIndex();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return index.resolve(text);
     }
 
     public List<LeaveBalance> getLeaveBalances(int idKaryawan) {
-        return leaveBalances.getOrDefault(idKaryawan, Collections.emptyList());
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(idKaryawan);
+            if (slot < 0) return Collections.emptyList();
+            List<LeaveBalance> result = new ArrayList<>(2);
+            addBalances(result, slot);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LeaveBalance findLeaveBalance(int idKaryawan, String tipeCuti) {
+        lock.readLock().lock();
+        try {
+            int type = leaveTypes.find(tipeCuti);
+            int sisa = sisaHari(idKaryawan, type);
+            return sisa != NULL_INT ? leaveBalance(idKaryawan, type, sisa) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
-    public LeaveBalance getLeaveBalance(int idKaryawan, String tipeCuti) {
-        return leaveBalances.getOrDefault(idKaryawan, Collections.emptyList())
-                .stream()
-                .filter(lb -> lb.getTipeCuti().equalsIgnoreCase(tipeCuti))
-                .findFirst()
-                .orElse(null);
+    // Sisa hari tanpa membuat objek LeaveBalance; 0 jika tidak ada
+    public int getLeaveBalance(int idKaryawan, String tipeCuti) {
+        lock.readLock().lock();
+        try {
+            int sisa = sisaHari(idKaryawan, leaveTypes.find(tipeCuti));
+            return sisa != NULL_INT ? sisa : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaveBalance> getAllLeaveBalances() {
+        lock.readLock().lock();
+        try {
+            List<LeaveBalance> result = new ArrayList<>();
+            for (int slot = 0; slot < slots; slot++) {
+                addBalances(result, slot);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public List<LeaveRequest> getLeaveRequests(int idKaryawan) {
-        return leaveRequests.getOrDefault(idKaryawan, Collections.emptyList());
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(idKaryawan);
+            if (slot < 0 || requestHead[slot] == NONE) return Collections.emptyList();
+            List<LeaveRequest> result = new ArrayList<>();
+            for (int row = requestHead[slot]; row != NONE; row = requestNext[row]) {
+                result.add(leaveRequestAt(idKaryawan, row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public LeaveRequest getLatestLeaveRequest(int idKaryawan) {
-        List<LeaveRequest> requests = leaveRequests.get(idKaryawan);
-        if (requests == null || requests.isEmpty()) return null;
-        return requests.get(requests.size() - 1); // Ambil yang terakhir
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(idKaryawan);
+            if (slot < 0 || requestTail[slot] == NONE) return null;
+            return leaveRequestAt(idKaryawan, requestTail[slot]); // Ambil yang terakhir
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getLatestLeaveRequestStatus(String idRequest) {
+        lock.readLock().lock();
+        try {
+            int row = requestById.find(idRequest, requestId);
+            return row >= 0 ? requestStatusDict.get(requestStatus[row]) : NOT_FOUND;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Tanggal mulai terbaru; jika sama, yang terakhir di-insert
+    public String getLatestLeaveRequestStatus(int idKaryawan) {
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(idKaryawan);
+            int latest = NONE;
+            if (slot >= 0) {
+                for (int row = requestHead[slot]; row != NONE; row = requestNext[row]) {
+                    if (latest == NONE || requestMulai[row] >= requestMulai[latest]) latest = row;
+                }
+            }
+            return latest != NONE ? requestStatusDict.get(requestStatus[latest]) : NOT_FOUND;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaveRequest> getCutiPending() {
+        lock.readLock().lock();
+        try {
+            List<LeaveRequest> result = new ArrayList<>();
+            int pending = requestStatusDict.find(STATUS_CUTI_PENDING);
+            if (pending == StringDictionary.NULL) return result;
+            // Kumpulkan (baris, id karyawan) lewat rantai per karyawan, lalu urutkan per baris
+            // supaya urutannya sama dengan urutan insert (rowid di SQLite)
+            long[] matches = new long[16];
+            int n = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                for (int row = requestHead[slot]; row != NONE; row = requestNext[row]) {
+                    if (requestStatus[row] != pending) continue;
+                    if (n == matches.length) matches = Arrays.copyOf(matches, n * 2);
+                    matches[n++] = ((long) row << 32) | (ids[slot] & 0xFFFFFFFFL);
+                }
+            }
+            Arrays.sort(matches, 0, n);
+            for (int i = 0; i < n; i++) {
+                result.add(leaveRequestAt((int) matches[i], (int) (matches[i] >>> 32)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaveRequest> getHistoryCuti(int idKaryawan) {
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(idKaryawan);
+            if (slot < 0 || requestHead[slot] == NONE) return new ArrayList<>();
+            int[] rows = sortedRows(requestHead[slot], requestNext, requestMulai, true);
+            List<LeaveRequest> result = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                result.add(leaveRequestAt(idKaryawan, row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public List<PerformanceReview> getPerformanceReviews(int idKaryawan) {
-        return performanceReviews.getOrDefault(idKaryawan, Collections.emptyList());
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(idKaryawan);
+            if (slot < 0 || reviewHead[slot] == NONE) return Collections.emptyList();
+            List<PerformanceReview> result = new ArrayList<>();
+            for (int row = reviewHead[slot]; row != NONE; row = reviewNext[row]) {
+                result.add(reviewAt(idKaryawan, row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<PerformanceReview> getReviewTerjadwal() {
+        lock.readLock().lock();
+        try {
+            int scheduled = reviewStatusDict.find(STATUS_REVIEW_TERJADWAL);
+            if (scheduled == StringDictionary.NULL) return new ArrayList<>();
+            int[] rows = new int[reviewCount];
+            int[] owners = new int[reviewCount];
+            int n = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                for (int row = reviewHead[slot]; row != NONE; row = reviewNext[row]) {
+                    if (reviewStatus[row] == scheduled) {
+                        rows[n] = row;
+                        owners[row] = ids[slot];
+                        n++;
+                    }
+                }
+            }
+            int[] sorted = sortRows(Arrays.copyOf(rows, n), reviewTanggal, false);
+            List<PerformanceReview> result = new ArrayList<>(n);
+            for (int row : sorted) {
+                result.add(reviewAt(owners[row], row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<PerformanceReview> getHistoryReview(int idKaryawan) {
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(idKaryawan);
+            if (slot < 0 || reviewHead[slot] == NONE) return new ArrayList<>();
+            int[] rows = sortedRows(reviewHead[slot], reviewNext, reviewTanggal, true);
+            List<PerformanceReview> result = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                result.add(reviewAt(idKaryawan, row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public Employee getManagerOf(Employee employee) {
         if (employee.getIdManajer() == null) return null;
-        return employees.get(employee.getIdManajer());
+        return getEmployeeById(employee.getIdManajer());
     }
 
     public int getTotalEmployees() {
-        return employees.size();
+        lock.readLock().lock();
+        try {
+            return employeeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Semua karyawan dalam urutan insert
+    public List<Employee> getAllEmployees() {
+        lock.readLock().lock();
+        try {
+            List<Employee> result = new ArrayList<>(employeeCount);
+            for (int slot = 0; slot < slots; slot++) {
+                if (nama[slot] != null) result.add(employeeAt(slot));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Perbandingan case-insensitive seperti kolom COLLATE NOCASE di SQLite
+    public List<Employee> getKaryawanByDepartemen(String departemen) {
+        return employeesWhere(this.departemen, departemenDict, departemen);
+    }
+
+    public List<Employee> getKaryawanByJabatan(String jabatan) {
+        return employeesWhere(this.jabatan, jabatanDict, jabatan);
+    }
+
+    public List<Employee> getKaryawanByStatus(String status) {
+        return employeesWhere(this.statusKaryawan, employeeStatusDict, status);
+    }
+
+    // ============ WRITE (HrRepository) ============
+
+    public void tambahKaryawan(int id, String nama, String email, String jabatan, String departemen,
+                               Integer idManajer, String tanggalBergabung, String statusKaryawan) throws SQLException {
+        Employee emp = new Employee(id, nama, email, jabatan, departemen, idManajer,
+                parseDate(tanggalBergabung), statusKaryawan);
+        lock.writeLock().lock();
+        try {
+            int slot = slotById.get(id);
+            if (slot >= 0 && this.nama[slot] != null) {
+                throw new SQLException("Karyawan dengan id " + id + " sudah ada");
+            }
+            putEmployee(emp);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateDataKaryawan(int idKaryawan, String newDepartemen, String newJabatan) {
+        lock.writeLock().lock();
+        try {
+            int slot = employeeSlot(idKaryawan);
+            if (slot < 0) return;
+            departemen[slot] = (short) departemenDict.intern(newDepartemen);
+            jabatan[slot] = (short) jabatanDict.intern(newJabatan);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateStatusKaryawan(int idKaryawan, String newStatus) {
+        lock.writeLock().lock();
+        try {
+            int slot = employeeSlot(idKaryawan);
+            if (slot >= 0) statusKaryawan[slot] = (short) employeeStatusDict.intern(newStatus);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Hanya saldo yang sudah ada yang diubah (seperti UPDATE di SQLite)
+    public void updateLeaveBalance(int idKaryawan, String tipeCuti, int newSisaHari) {
+        lock.writeLock().lock();
+        try {
+            int index = balanceIndex(idKaryawan, leaveTypes.find(tipeCuti));
+            if (index >= 0) sisaHari[index] = newSisaHari;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int applyLeave(String idRequest, int idKaryawan, String tipeCuti, int hari,
+                          String mulai, String selesai, String status) throws SQLException {
+        int mulaiDay = toEpochDay(parseDate(mulai));
+        int selesaiDay = toEpochDay(parseDate(selesai));
+        lock.writeLock().lock();
+        try {
+            int index = balanceIndex(idKaryawan, leaveTypes.find(tipeCuti));
+            if (index < 0 || sisaHari[index] < hari) {
+                return -1;
+            }
+            sisaHari[index] -= hari;
+            putLeaveRequest(idRequest, idKaryawan, tipeCuti, mulaiDay, selesaiDay, status);
+            return sisaHari[index];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void insertLeaveRequest(String idRequest, int idKaryawan, String tipeCuti,
+                                   String mulai, String selesai, String status) throws SQLException {
+        int mulaiDay = toEpochDay(parseDate(mulai));
+        int selesaiDay = toEpochDay(parseDate(selesai));
+        lock.writeLock().lock();
+        try {
+            putLeaveRequest(idRequest, idKaryawan, tipeCuti, mulaiDay, selesaiDay, status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void approveRejectCuti(String idCuti, String newStatus) {
+        lock.writeLock().lock();
+        try {
+            int row = requestById.find(idCuti, requestId);
+            if (row >= 0) requestStatus[row] = (short) requestStatusDict.intern(newStatus);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void batalkanCuti(String idCuti) {
+        approveRejectCuti(idCuti, "Dibatalkan");
+    }
+
+    public void updateStatusCuti(String idCuti, String newStatus) {
+        approveRejectCuti(idCuti, newStatus);
+    }
+
+    public void updateSisaCuti(int idKaryawan, String leaveType, int newBalance) {
+        switch (leaveType) {
+            case "Tahunan", "Sakit", "Cuti Melahirkan" -> updateLeaveBalance(idKaryawan, leaveType, newBalance);
+            default -> throw new IllegalArgumentException("Invalid leave type");
+        }
+    }
+
+    public void resetCutiTahunan(int jumlahCutiDefault) {
+        lock.writeLock().lock();
+        try {
+            int type = leaveTypes.find("Tahunan");
+            if (type < 0) return;
+            for (int slot = 0; slot < slots; slot++) {
+                int index = slot * leaveStride + type;
+                if (sisaHari[index] != NULL_INT) sisaHari[index] = jumlahCutiDefault;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void insertPerformanceReview(String idReview, int empId, int reviewerId, String tanggalReview,
+                                        int skor, String status) throws SQLException {
+        int tanggal = toEpochDay(parseDate(tanggalReview));
+        lock.writeLock().lock();
+        try {
+            putPerformanceReview(idReview, empId, reviewerId, tanggal, skor, status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateSkorReview(String idReview, int skorPerforma) {
+        submitHasilReview(idReview, skorPerforma, "Selesai");
+    }
+
+    public void batalkanReview(String idReview) {
+        lock.writeLock().lock();
+        try {
+            int row = reviewById.find(idReview, reviewId);
+            if (row >= 0) reviewStatus[row] = (short) reviewStatusDict.intern("Dibatalkan");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void submitHasilReview(String idReview, int skorPerforma, String status) {
+        lock.writeLock().lock();
+        try {
+            int row = reviewById.find(idReview, reviewId);
+            if (row < 0) return;
+            reviewSkor[row] = skorPerforma;
+            reviewStatus[row] = (short) reviewStatusDict.intern(status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Tidak ada resource eksternal
+    public void close() {
+    }
+
+    // ============ INTERNAL (dipanggil dengan lock sudah dipegang) ============
+
+    private void putEmployee(Employee emp) {
+        int slot = slotFor(emp.getId());
+        if (nama[slot] == null) employeeCount++;
+        nama[slot] = emp.getNama();
+        email[slot] = emp.getEmail();
+        jabatan[slot] = (short) jabatanDict.intern(emp.getJabatan());
+        departemen[slot] = (short) departemenDict.intern(emp.getDepartemen());
+        idManajer[slot] = emp.getIdManajer() != null ? emp.getIdManajer() : NULL_INT;
+        tanggalBergabung[slot] = toEpochDay(emp.getTanggalBergabung());
+        statusKaryawan[slot] = (short) employeeStatusDict.intern(emp.getStatusKaryawan());
+        // Index nama (lowercase untuk case-insensitive search)
+        indexName(slot, emp.getNama().toLowerCase());
+        if (textIndex != null) textIndex.put(emp.getId(), emp.getNama());
+    }
+
+    private void putLeaveRequest(String id, int idKaryawan, String tipeCuti, int mulai, int selesai, String status) {
+        int slot = slotFor(idKaryawan);
+        if (requestCount == requestId.length) {
+            allocateRequests(grow(requestCount));
+        }
+        int row = requestCount++;
+        requestId[row] = id;
+        requestType[row] = (short) leaveTypes.intern(tipeCuti);
+        requestMulai[row] = mulai;
+        requestSelesai[row] = selesai;
+        requestStatus[row] = (short) requestStatusDict.intern(status);
+        requestNext[row] = NONE;
+        if (requestHead[slot] == NONE) requestHead[slot] = row;
+        else requestNext[requestTail[slot]] = row;
+        requestTail[slot] = row;
+        requestById.add(id, row, requestId);
+    }
+
+    private void putPerformanceReview(String id, int idKaryawan, int idReviewer, int tanggal, int skor, String status) {
+        int slot = slotFor(idKaryawan);
+        if (reviewCount == reviewId.length) {
+            allocateReviews(grow(reviewCount));
+        }
+        int row = reviewCount++;
+        reviewId[row] = id;
+        reviewReviewer[row] = idReviewer;
+        reviewTanggal[row] = tanggal;
+        reviewSkor[row] = skor;
+        reviewStatus[row] = (short) reviewStatusDict.intern(status);
+        reviewNext[row] = NONE;
+        if (reviewHead[slot] == NONE) reviewHead[slot] = row;
+        else reviewNext[reviewTail[slot]] = row;
+        reviewTail[slot] = row;
+        reviewById.add(id, row, reviewId);
+    }
+
+    private EmployeeNameIndex buildTextIndex() {
+        synchronized (this) {
+            if (textIndex == null) {
+                EmployeeNameIndex index = new EmployeeNameIndex();
+                for (int slot = 0; slot < slots; slot++) {
+                    if (nama[slot] != null) index.put(ids[slot], nama[slot]);
+                }
+                textIndex = index;
+            }
+            return textIndex;
+        }
+    }
+
+    private List<Employee> employeesWhere(short[] column, StringDictionary dict, String value) {
+        lock.readLock().lock();
+        try {
+            // Ordinal yang cocok (case-insensitive); bisa lebih dari satu ejaan
+            boolean[] matches = new boolean[dict.size()];
+            boolean any = false;
+            for (int ordinal = 0; ordinal < matches.length; ordinal++) {
+                String candidate = dict.get(ordinal);
+                matches[ordinal] = candidate.equalsIgnoreCase(value);
+                any |= matches[ordinal];
+            }
+            List<Employee> result = new ArrayList<>();
+            if (!any) return result;
+            for (int slot = 0; slot < slots; slot++) {
+                int ordinal = column[slot];
+                if (nama[slot] != null && ordinal >= 0 && matches[ordinal]) result.add(employeeAt(slot));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addBalances(List<LeaveBalance> result, int slot) {
+        for (int type = 0; type < leaveTypes.size(); type++) {
+            int sisa = sisaHari[slot * leaveStride + type];
+            if (sisa != NULL_INT) result.add(leaveBalance(ids[slot], type, sisa));
+        }
+    }
+
+    private Employee employeeAt(int slot) {
+        int manajer = idManajer[slot];
+        return new Employee(ids[slot], nama[slot], email[slot], jabatanDict.get(jabatan[slot]),
+                departemenDict.get(departemen[slot]), manajer != NULL_INT ? manajer : null,
+                fromEpochDay(tanggalBergabung[slot]), employeeStatusDict.get(statusKaryawan[slot]));
+    }
+
+    private LeaveRequest leaveRequestAt(int idKaryawan, int row) {
+        String tipe = leaveTypes.get(requestType[row]);
+        String status = requestStatusDict.get(requestStatus[row]);
+        return new LeaveRequest(requestId[row], idKaryawan, tipe, fromEpochDay(requestMulai[row]),
+                fromEpochDay(requestSelesai[row]), status, requestId[row], tipe, status);
+    }
+
+    private PerformanceReview reviewAt(int idKaryawan, int row) {
+        return new PerformanceReview(reviewId[row], idKaryawan, reviewReviewer[row],
+                fromEpochDay(reviewTanggal[row]), reviewSkor[row], reviewStatusDict.get(reviewStatus[row]));
+    }
+
+    private LeaveBalance leaveBalance(int idKaryawan, int type, int sisa) {
+        String tipeCuti = leaveTypes.get(type);
+        return new LeaveBalance(idKaryawan, tipeCuti, sisa,
+                tipeCuti.equalsIgnoreCase("Tahunan") ? sisa : 0,
+                tipeCuti.equalsIgnoreCase("Sakit") ? sisa : 0,
+                tipeCuti.equalsIgnoreCase("Cuti Melahirkan") ? sisa : 0);
+    }
+
+    private int sisaHari(int idKaryawan, int type) {
+        int index = balanceIndex(idKaryawan, type);
+        return index >= 0 ? sisaHari[index] : NULL_INT;
+    }
+
+    // Index saldo (karyawan, tipe) yang ada, atau -1
+    private int balanceIndex(int idKaryawan, int type) {
+        if (type < 0) return NONE;
+        int slot = slotById.get(idKaryawan);
+        if (slot < 0) return NONE;
+        int index = slot * leaveStride + type;
+        return sisaHari[index] != NULL_INT ? index : NONE;
+    }
+
+    private int employeeSlot(int id) {
+        int slot = slotById.get(id);
+        return slot >= 0 && nama[slot] != null ? slot : NONE;
+    }
+
+    private int slotFor(int id) {
+        int slot = slotById.get(id);
+        if (slot >= 0) return slot;
+        if (slots == ids.length) {
+            allocateSlots(grow(slots));
+        }
+        slot = slots++;
+        ids[slot] = id;
+        slotById.put(id, slot);
+        return slot;
+    }
+
+    // Baris pada rantai head/next diurutkan berdasarkan kolom tanggal;
+    // tanggal sama: urutan insert (descending = yang terakhir di-insert lebih dulu)
+    private static int[] sortedRows(int head, int[] next, int[] dates, boolean descending) {
+        int n = 0;
+        for (int row = head; row != NONE; row = next[row]) n++;
+        int[] rows = new int[n];
+        n = 0;
+        for (int row = head; row != NONE; row = next[row]) rows[n++] = row;
+        return sortRows(rows, dates, descending);
+    }
+
+    private static int[] sortRows(int[] rows, int[] dates, boolean descending) {
+        // Key 64-bit: tanggal di bit atas, nomor baris di bit bawah -> urut stabil tanpa boxing
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            keys[i] = ((long) dates[rows[i]] << 32) | rows[i];
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[rows.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[descending ? keys.length - 1 - i : i] = (int) keys[i];
+        }
+        return sorted;
+    }
+
+    // Index nama: entri dengan nama lowercase yang sama ditimpa (karyawan terakhir menang)
+    private void indexName(int slot, String key) {
+        int hash = key.hashCode();
+        nameHash[slot] = hash;
+        int mask = nameTable.length - 1;
+        int i = hash & mask;
+        int entry;
+        while ((entry = nameTable[i]) != 0) {
+            int other = entry - 1;
+            if (nameHash[other] == hash && nama[other].toLowerCase().equals(key)) {
+                nameTable[i] = slot + 1;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        nameTable[i] = slot + 1;
+        if (++nameEntries * 2 > nameTable.length) {
+            rehashNames(nameTable.length * 2);
+        }
+    }
+
+    private int findName(String key) {
+        int hash = key.hashCode();
+        int mask = nameTable.length - 1;
+        int i = hash & mask;
+        int entry;
+        while ((entry = nameTable[i]) != 0) {
+            int slot = entry - 1;
+            if (nameHash[slot] == hash && nama[slot].toLowerCase().equals(key)) {
+                return slot;
+            }
+            i = (i + 1) & mask;
+        }
+        return NONE;
+    }
+
+    // Fallback full scan untuk potongan nama, urut slot (= urutan insert)
+    private int findNameContaining(String lower) {
+        int length = lower.length();
+        for (int slot = 0; slot < slots; slot++) {
+            String candidate = nama[slot];
+            if (candidate == null) continue;
+            for (int from = 0; from + length <= candidate.length(); from++) {
+                if (candidate.regionMatches(true, from, lower, 0, length)) return slot;
+            }
+        }
+        return NONE;
+    }
+
+    private void rehashNames(int capacity) {
+        int[] old = nameTable;
+        nameTable = new int[capacity];
+        int mask = capacity - 1;
+        for (int entry : old) {
+            if (entry == 0) continue;
+            int i = nameHash[entry - 1] & mask;
+            while (nameTable[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            nameTable[i] = entry;
+        }
+    }
+
+    private void restrideBalances(int stride) {
+        int[] resized = new int[ids.length * stride];
+        Arrays.fill(resized, NULL_INT);
+        for (int slot = 0; slot < slots; slot++) {
+            System.arraycopy(sisaHari, slot * leaveStride, resized, slot * stride, leaveStride);
+        }
+        sisaHari = resized;
+        leaveStride = stride;
+    }
+
+    // (Re)alokasi semua kolom per slot ke kapasitas baru, isi lama disalin
+    private void allocateSlots(int capacity) {
+        int old = ids == null ? 0 : ids.length;
+        ids = ids == null ? new int[capacity] : Arrays.copyOf(ids, capacity);
+        nama = nama == null ? new String[capacity] : Arrays.copyOf(nama, capacity);
+        email = email == null ? new String[capacity] : Arrays.copyOf(email, capacity);
+        jabatan = jabatan == null ? new short[capacity] : Arrays.copyOf(jabatan, capacity);
+        departemen = departemen == null ? new short[capacity] : Arrays.copyOf(departemen, capacity);
+        idManajer = idManajer == null ? new int[capacity] : Arrays.copyOf(idManajer, capacity);
+        tanggalBergabung = tanggalBergabung == null ? new int[capacity] : Arrays.copyOf(tanggalBergabung, capacity);
+        statusKaryawan = statusKaryawan == null ? new short[capacity] : Arrays.copyOf(statusKaryawan, capacity);
+        nameHash = nameHash == null ? new int[capacity] : Arrays.copyOf(nameHash, capacity);
+        requestHead = extend(requestHead, old, capacity);
+        requestTail = extend(requestTail, old, capacity);
+        reviewHead = extend(reviewHead, old, capacity);
+        reviewTail = extend(reviewTail, old, capacity);
+        sisaHari = sisaHari == null ? new int[capacity * leaveStride] : Arrays.copyOf(sisaHari, capacity * leaveStride);
+        if (capacity > old) {
+            Arrays.fill(sisaHari, old * leaveStride, capacity * leaveStride, NULL_INT);
+        }
+    }
+
+    private void allocateRequests(int capacity) {
+        requestNext = requestNext == null ? new int[capacity] : Arrays.copyOf(requestNext, capacity);
+        requestId = requestId == null ? new String[capacity] : Arrays.copyOf(requestId, capacity);
+        requestType = requestType == null ? new short[capacity] : Arrays.copyOf(requestType, capacity);
+        requestMulai = requestMulai == null ? new int[capacity] : Arrays.copyOf(requestMulai, capacity);
+        requestSelesai = requestSelesai == null ? new int[capacity] : Arrays.copyOf(requestSelesai, capacity);
+        requestStatus = requestStatus == null ? new short[capacity] : Arrays.copyOf(requestStatus, capacity);
+    }
+
+    private void allocateReviews(int capacity) {
+        reviewNext = reviewNext == null ? new int[capacity] : Arrays.copyOf(reviewNext, capacity);
+        reviewId = reviewId == null ? new String[capacity] : Arrays.copyOf(reviewId, capacity);
+        reviewReviewer = reviewReviewer == null ? new int[capacity] : Arrays.copyOf(reviewReviewer, capacity);
+        reviewTanggal = reviewTanggal == null ? new int[capacity] : Arrays.copyOf(reviewTanggal, capacity);
+        reviewSkor = reviewSkor == null ? new int[capacity] : Arrays.copyOf(reviewSkor, capacity);
+        reviewStatus = reviewStatus == null ? new short[capacity] : Arrays.copyOf(reviewStatus, capacity);
+    }
+
+    // Kolom head/tail: slot baru diisi NONE (belum ada baris)
+    private static int[] extend(int[] column, int oldLength, int capacity) {
+        int[] resized = column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+        if (capacity > oldLength) {
+            Arrays.fill(resized, oldLength, capacity, NONE);
+        }
+        return resized;
+    }
+
+    private static int grow(int size) {
+        return Math.max(INITIAL_CAPACITY, size + (size >> 1));
+    }
+
+    // Juga dipakai WriteThroughRepository untuk validasi sebelum menulis ke SQLite
+    static LocalDate parseDate(String date) throws SQLException {
+        if (date == null) return null;
+        try {
+            return DateParser.parse(date.trim());
+        } catch (RuntimeException e) {
+            throw new SQLException("Tanggal tidak valid: " + date, e);
+        }
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : NULL_INT;
     }
 
-    public Collection<Employee> getAllEmployees() {
-        return employees.values();
+    private static LocalDate fromEpochDay(int epochDay) {
+        return epochDay != NULL_INT ? LocalDate.ofEpochDay(epochDay) : null;
     }
 }
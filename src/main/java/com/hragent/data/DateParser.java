@@ -0,0 +1,120 @@
+package com.hragent.data;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+// DateParser: Parser tanggal langsung dari char untuk tiga layout DATE_FORMATTER
+// "[yyyy-MM-dd][M/d/yyyy][d/M/yyyy]" tanpa membuat parse context per panggilan.
+// Aturannya sama dengan formatter tersebut (ResolverStyle.SMART):
+// - yyyy-MM-dd dicoba dulu, lalu M/d/yyyy (bulan di depan)
+// - d/M/yyyy praktis tidak pernah dipakai: teks berbentuk a/b/yyyy selalu cocok dengan
+//   M/d/yyyy, sehingga "18/8/2025" gagal (bulan 18), bukan dibaca sebagai 18 Agustus
+// - hari 29-31 yang tidak ada di bulan tersebut digeser ke hari terakhir bulan itu
+//   (mis. 2/30/2025 -> 2025-02-28); hari > 31 atau bulan > 12 tetap error
+// Input di luar bentuk umum (tahun bukan 4 digit, angka dengan nol berlebih, dll.)
+// diserahkan ke DateTimeFormatter supaya hasil dan pesan error-nya tetap sama.
+
+public final class DateParser {
+
+    public static final DateTimeFormatter FORMATTER =
+        DateTimeFormatter.ofPattern("[yyyy-MM-dd][M/d/yyyy][d/M/yyyy]", Locale.US);
+
+    private DateParser() {
+    }
+
+    public static LocalDate parse(CharSequence text) {
+        int packed = parsePacked(text);
+        if (packed < 0) {
+            return LocalDate.parse(text, FORMATTER);
+        }
+        return LocalDate.of(packed >>> 9, (packed >>> 5) & 0xF, packed & 0x1F);
+    }
+
+    // Bentuk ISO yyyy-MM-dd; input yang sudah ISO dan valid dikembalikan apa adanya
+    public static String normalize(String text) {
+        int packed = parsePacked(text);
+        if (packed < 0) {
+            return LocalDate.parse(text, FORMATTER).toString();
+        }
+        if (text.length() == 10 && text.charAt(4) == '-' && (packed & 0x1F) == twoDigits(text, 8)) {
+            return text;
+        }
+        int year = packed >>> 9;
+        int month = (packed >>> 5) & 0xF;
+        int day = packed & 0x1F;
+        char[] out = new char[10];
+        out[0] = (char) ('0' + year / 1000);
+        out[1] = (char) ('0' + year / 100 % 10);
+        out[2] = (char) ('0' + year / 10 % 10);
+        out[3] = (char) ('0' + year % 10);
+        out[4] = '-';
+        out[5] = (char) ('0' + month / 10);
+        out[6] = (char) ('0' + month % 10);
+        out[7] = '-';
+        out[8] = (char) ('0' + day / 10);
+        out[9] = (char) ('0' + day % 10);
+        return new String(out);
+    }
+
+    // year << 9 | month << 5 | day (sudah di-clamp), atau -1 jika perlu fallback ke formatter
+    private static int parsePacked(CharSequence s) {
+        int len = s.length();
+        int year;
+        int month;
+        int day;
+        if (len == 10 && s.charAt(4) == '-' && s.charAt(7) == '-') {
+            year = fourDigits(s, 0);
+            month = twoDigits(s, 5);
+            day = twoDigits(s, 8);
+        } else if (len >= 8 && len <= 10) {
+            // M/d/yyyy dengan M dan d 1-2 digit
+            int slash1 = s.charAt(1) == '/' ? 1 : s.charAt(2) == '/' ? 2 : -1;
+            if (slash1 < 0) return -1;
+            int slash2 = len - 5;
+            if (s.charAt(slash2) != '/' || slash2 - slash1 < 2 || slash2 - slash1 > 3) return -1;
+            month = digits(s, 0, slash1);
+            day = digits(s, slash1 + 1, slash2);
+            year = fourDigits(s, slash2 + 1);
+        } else {
+            return -1;
+        }
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) return -1;
+        int last = lengthOfMonth(year, month);
+        if (day > last) day = last;
+        return year << 9 | month << 5 | day;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static int fourDigits(CharSequence s, int from) {
+        return digits(s, from, from + 4);
+    }
+
+    private static int twoDigits(CharSequence s, int from) {
+        return digits(s, from, from + 2);
+    }
+
+    // Nilai desimal s[from, to), atau -1 jika ada karakter bukan digit ASCII
+    private static int digits(CharSequence s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+}
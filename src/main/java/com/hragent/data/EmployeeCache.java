@@ -0,0 +1,135 @@
+package com.hragent.data;
+
+import com.hragent.domain.Employee;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// EmployeeCache: Cache Employee (LRU) dengan dua key: id dan string query nama persis seperti
+// yang dikirim pemanggil. Pencarian nama di repository adalah substring/first-match, jadi nama
+// lengkap hasil lookup tidak boleh dijadikan key: query lain bisa menunjuk karyawan berbeda. Employee
+// immutable, jadi objek yang sama aman dibagi antar thread. Setiap invalidasi menaikkan
+// generation; hasil baca yang dimulai sebelum invalidasi tidak dimasukkan ke cache
+// (put dengan generation lama diabaikan), supaya data lama tidak muncul lagi setelah update.
+
+public class EmployeeCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<Integer, Employee> byId = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Employee> byName = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+
+    private final AtomicLong idHits = new AtomicLong();
+    private final AtomicLong idMisses = new AtomicLong();
+    private final AtomicLong nameHits = new AtomicLong();
+    private final AtomicLong nameMisses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EmployeeCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public synchronized Employee getById(int id) {
+        Employee emp = byId.get(id);
+        (emp != null ? idHits : idMisses).incrementAndGet();
+        return emp;
+    }
+
+    public synchronized Employee getByName(String name) {
+        Employee emp = byName.get(name);
+        (emp != null ? nameHits : nameMisses).incrementAndGet();
+        return emp;
+    }
+
+    // Ambil sebelum membaca dari repository, lalu teruskan ke put*
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void putById(long readGeneration, Employee emp) {
+        if (emp == null || readGeneration != generation) return;
+        put(emp);
+    }
+
+    // Hanya query yang dikirim pemanggil yang dicatat, bukan emp.getNama()
+    public synchronized void putByName(long readGeneration, String name, Employee emp) {
+        if (emp == null || readGeneration != generation) return;
+        byName.put(name, emp);
+        evictOverflow(byName);
+        put(emp);
+    }
+
+    private void put(Employee emp) {
+        byId.put(emp.getId(), emp);
+        evictOverflow(byId);
+    }
+
+    // Data karyawan berubah: buang entri id tersebut, termasuk semua key nama yang menunjuk ke sana
+    public synchronized void invalidate(int id) {
+        generation++;
+        invalidations.incrementAndGet();
+        byId.remove(id);
+        byName.values().removeIf(emp -> emp.getId() == id);
+    }
+
+    // Karyawan baru bisa mengubah hasil pencarian nama (substring), jadi cache nama dikosongkan
+    public synchronized void invalidateNames() {
+        generation++;
+        invalidations.incrementAndGet();
+        byName.clear();
+    }
+
+    public synchronized void clear() {
+        generation++;
+        byId.clear();
+        byName.clear();
+    }
+
+    private <K> void evictOverflow(LinkedHashMap<K, Employee> map) {
+        Iterator<Map.Entry<K, Employee>> it = map.entrySet().iterator();
+        while (map.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    public long getIdHits() { return idHits.get(); }
+    public long getIdMisses() { return idMisses.get(); }
+    public long getNameHits() { return nameHits.get(); }
+    public long getNameMisses() { return nameMisses.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public long getInvalidations() { return invalidations.get(); }
+
+    public double getIdHitRatio() {
+        return ratio(idHits.get(), idMisses.get());
+    }
+
+    public double getNameHitRatio() {
+        return ratio(nameHits.get(), nameMisses.get());
+    }
+
+    public double getHitRatio() {
+        return ratio(idHits.get() + nameHits.get(), idMisses.get() + nameMisses.get());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EmployeeCache[size=%d/%d, id %d/%d (%.1f%%), name %d/%d (%.1f%%), evictions=%d, invalidations=%d]",
+                size(), maxEntries, getIdHits(), getIdHits() + getIdMisses(), getIdHitRatio() * 100,
+                getNameHits(), getNameHits() + getNameMisses(), getNameHitRatio() * 100,
+                getEvictions(), getInvalidations());
+    }
+}
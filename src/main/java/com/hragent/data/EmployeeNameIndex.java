@@ -0,0 +1,134 @@
+package com.hragent.data;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// EmployeeNameIndex: Trie token nama karyawan -> id karyawan, untuk mengenali nama
+// di dalam teks bebas tanpa memuat seluruh tabel employees. Semantik sama dengan
+// pencarian lama: token nama (>= 3 huruf) atau nama lengkap yang muncul sebagai
+// substring di teks; jika beberapa karyawan cocok, id terkecil yang dipilih.
+
+public class EmployeeNameIndex {
+
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private final Node root = new Node();
+    private final Map<Integer, String> namesById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(int id, String nama) {
+        if (nama == null) return;
+        lock.writeLock().lock();
+        try {
+            String old = namesById.put(id, nama);
+            if (old != null) {
+                forEachKey(old, key -> unlink(key, id));
+            }
+            forEachKey(nama, key -> link(key, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            String old = namesById.remove(id);
+            if (old != null) {
+                forEachKey(old, key -> unlink(key, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            namesById.clear();
+            root.children.clear();
+            root.ids = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Cari nama karyawan yang disebut di dalam teks; O(panjang teks x panjang token terpanjang)
+    public String resolve(String text) {
+        if (text == null) return null;
+        String lower = text.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            int bestId = Integer.MAX_VALUE;
+            for (int i = 0; i < lower.length(); i++) {
+                Node node = root;
+                for (int j = i; j < lower.length(); j++) {
+                    node = node.children.get(fold(lower.charAt(j)));
+                    if (node == null) break;
+                    if (node.ids != null && node.ids.first() < bestId) {
+                        bestId = node.ids.first();
+                    }
+                }
+            }
+            return bestId == Integer.MAX_VALUE ? null : namesById.get(bestId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return namesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(String key, int id) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        if (node.ids == null) node.ids = new TreeSet<>();
+        node.ids.add(id);
+    }
+
+    private void unlink(String key, int id) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node != null && node.ids != null) {
+            node.ids.remove(id);
+            if (node.ids.isEmpty()) node.ids = null;
+        }
+    }
+
+    // Key yang diindeks: setiap token nama (>= 3 huruf) dan nama lengkap
+    private static void forEachKey(String nama, Consumer<String> action) {
+        String full = nama.toLowerCase(Locale.ROOT);
+        for (String token : full.split(" ")) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                action.accept(token);
+            }
+        }
+        action.accept(full);
+    }
+
+    // Teks input diperlakukan seperti sebelumnya: selain a-z dianggap spasi
+    private static char fold(char c) {
+        return (c >= 'a' && c <= 'z') ? c : ' ';
+    }
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>(4);
+        TreeSet<Integer> ids;
+    }
+}
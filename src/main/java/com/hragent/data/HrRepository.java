@@ -0,0 +1,106 @@
+package com.hragent.data;
+
+import com.hragent.domain.Employee;
+import com.hragent.domain.LeaveBalance;
+import com.hragent.domain.LeaveRequest;
+import com.hragent.domain.PerformanceReview;
+
+import java.sql.SQLException;
+import java.util.List;
+
+// HrRepository: Operasi data HR yang dipakai QueryService dan ActionService, terlepas dari
+// tempat penyimpanannya. Implementasi:
+// - SQLiteDataStore: SQLite (in-memory atau file WAL), tahan restart
+// - DataStore: kolom primitif di heap, latency terendah, data hilang saat restart
+// - WriteThroughRepository: baca dari DataStore, tulis ke SQLite lalu DataStore
+// Pilih lewat StorageMode (-Dhragent.storage=sqlite|memory|hybrid).
+// Semua method boleh melempar SQLException supaya pemanggil tidak bergantung pada implementasi.
+
+public interface HrRepository extends AutoCloseable {
+
+    // ============ EMPLOYEE ============
+
+    Employee getEmployeeById(int id) throws SQLException;
+
+    // Nama lengkap atau potongan nama (case-insensitive); null jika tidak ada
+    Employee getEmployeeByName(String name) throws SQLException;
+
+    // Nama karyawan yang disebut di teks bebas (lihat EmployeeNameIndex), atau null
+    String resolveEmployeeName(String text);
+
+    Employee getManagerOf(Employee emp) throws SQLException;
+
+    List<Employee> getAllEmployees() throws SQLException;
+
+    List<Employee> getKaryawanByDepartemen(String departemen) throws SQLException;
+
+    List<Employee> getKaryawanByJabatan(String jabatan) throws SQLException;
+
+    List<Employee> getKaryawanByStatus(String status) throws SQLException;
+
+    void tambahKaryawan(int id, String nama, String email, String jabatan, String departemen,
+                        Integer idManajer, String tanggalBergabung, String statusKaryawan) throws SQLException;
+
+    void updateDataKaryawan(int idKaryawan, String newDepartemen, String newJabatan) throws SQLException;
+
+    void updateStatusKaryawan(int idKaryawan, String newStatus) throws SQLException;
+
+    // ============ LEAVE ============
+
+    // Sisa hari untuk (karyawan, tipe cuti); 0 jika tidak ada
+    int getLeaveBalance(int idKaryawan, String tipeCuti) throws SQLException;
+
+    void updateLeaveBalance(int idKaryawan, String tipeCuti, int newSisaHari) throws SQLException;
+
+    List<LeaveBalance> getAllLeaveBalances() throws SQLException;
+
+    // Potong saldo dan catat pengajuan secara atomik; sisa saldo baru, atau -1 jika tidak cukup
+    int applyLeave(String idRequest, int idKaryawan, String tipeCuti, int hari,
+                   String mulai, String selesai, String status) throws SQLException;
+
+    void insertLeaveRequest(String idRequest, int idKaryawan, String tipeCuti,
+                            String mulai, String selesai, String status) throws SQLException;
+
+    // Status pengajuan dengan id tersebut, atau "Not found"
+    String getLatestLeaveRequestStatus(String idRequest) throws SQLException;
+
+    // Status pengajuan dengan tanggal mulai terbaru, atau "Not found"
+    String getLatestLeaveRequestStatus(int idKaryawan) throws SQLException;
+
+    List<LeaveRequest> getCutiPending() throws SQLException;
+
+    // Riwayat cuti, tanggal mulai terbaru lebih dulu
+    List<LeaveRequest> getHistoryCuti(int idKaryawan) throws SQLException;
+
+    void approveRejectCuti(String idCuti, String newStatus) throws SQLException;
+
+    void batalkanCuti(String idCuti) throws SQLException;
+
+    void updateStatusCuti(String idCuti, String newStatus) throws SQLException;
+
+    // leaveType: "Tahunan", "Sakit" atau "Cuti Melahirkan"; selain itu IllegalArgumentException
+    void updateSisaCuti(int idKaryawan, String leaveType, int newBalance) throws SQLException;
+
+    // Set sisa cuti Tahunan semua karyawan
+    void resetCutiTahunan(int jumlahCutiDefault) throws SQLException;
+
+    // ============ PERFORMANCE REVIEW ============
+
+    void insertPerformanceReview(String idReview, int empId, int reviewerId, String tanggalReview,
+                                 int skor, String status) throws SQLException;
+
+    // Review berstatus Terjadwal, tanggal paling awal lebih dulu
+    List<PerformanceReview> getReviewTerjadwal() throws SQLException;
+
+    // Riwayat review, tanggal terbaru lebih dulu
+    List<PerformanceReview> getHistoryReview(int idKaryawan) throws SQLException;
+
+    void updateSkorReview(String idReview, int skorPerforma) throws SQLException;
+
+    void batalkanReview(String idReview) throws SQLException;
+
+    void submitHasilReview(String idReview, int skorPerforma, String status) throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+}
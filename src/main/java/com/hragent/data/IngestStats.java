@@ -0,0 +1,80 @@
+package com.hragent.data;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+// IngestStats: Statistik import satu file CSV (jumlah baris, rows/detik, byte yang
+// dialokasikan thread pemanggil). Alokasi memakai com.sun.management.ThreadMXBean jika
+// tersedia di JVM; jika tidak, hanya waktu dan rows/detik yang dilaporkan.
+
+public class IngestStats {
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    private final String file;
+    private final long startNanos;
+    private final long startAllocated;
+    private long rows;
+    private long elapsedNanos = -1;
+    private long allocatedBytes = -1;
+
+    private IngestStats(String file) {
+        this.file = file;
+        this.startAllocated = allocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    public static IngestStats start(String file) {
+        return new IngestStats(file);
+    }
+
+    public void row() {
+        rows++;
+    }
+
+    public void rows(long count) {
+        rows += count;
+    }
+
+    // Hentikan pengukuran dan cetak ringkasannya
+    public IngestStats finish() {
+        elapsedNanos = System.nanoTime() - startNanos;
+        long allocated = allocatedBytes();
+        allocatedBytes = allocated < 0 || startAllocated < 0 ? -1 : allocated - startAllocated;
+        System.out.println("   " + this);
+        return this;
+    }
+
+    public String getFile() { return file; }
+    public long getRows() { return rows; }
+    public double getElapsedMillis() { return elapsedNanos / 1_000_000.0; }
+    public long getAllocatedBytes() { return allocatedBytes; }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos <= 0 ? 0.0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        String allocation = allocatedBytes < 0 ? "n/a"
+                : String.format("%.1f MB (%d B/row)", allocatedBytes / (1024.0 * 1024.0),
+                        rows == 0 ? 0 : allocatedBytes / rows);
+        return String.format("%s: %,d rows in %.1fms (%,.0f rows/s, allocated %s)",
+                file, rows, getElapsedMillis(), getRowsPerSecond(), allocation);
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun;
+            }
+        }
+        return null;
+    }
+}
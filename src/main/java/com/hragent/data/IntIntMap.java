@@ -0,0 +1,87 @@
+package com.hragent.data;
+
+// IntIntMap: Hash map int -> int (nilai >= 0) dengan open addressing (linear probing)
+// di atas dua array primitif, tanpa boxing key/value dan tanpa objek entry per item.
+// Dipakai DataStore untuk memetakan id karyawan ke slot baris. Tidak thread-safe.
+
+final class IntIntMap {
+
+    private static final int MISSING = -1;
+
+    private int[] keys;
+    // value + 1; 0 menandakan bucket kosong
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    IntIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    // Nilai untuk key, atau -1 jika tidak ada
+    int get(int key) {
+        int i = bucket(key);
+        int v;
+        while ((v = values[i]) != 0) {
+            if (keys[i] == key) return v - 1;
+            i = (i + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    void put(int key, int value) {
+        if (value < 0) throw new IllegalArgumentException("value harus >= 0: " + value);
+        int i = bucket(key);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value + 1;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value + 1;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int bucket(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == 0) continue;
+            int j = bucket(oldKeys[i]);
+            while (values[j] != 0) {
+                j = (j + 1) & mask;
+            }
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        // load factor 0.5: probe tetap pendek walau id berurutan
+        resizeAt = capacity >>> 1;
+    }
+
+    @Override
+    public String toString() {
+        return "IntIntMap[size=" + size + ", capacity=" + keys.length + "]";
+    }
+}
@@ -3,42 +3,219 @@ package com.hragent.data;
 import java.sql.*;
 import java.io.*;
 import com.opencsv.CSVReader;
+import org.sqlite.SQLiteConfig;
 import com.hragent.domain.Employee;
 import com.hragent.domain.LeaveBalance;
 import com.hragent.domain.LeaveRequest;
 import com.hragent.domain.PerformanceReview;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+public class SQLiteDataStore implements HrRepository {
+
+    private static final String SQL_INSERT_EMPLOYEE =
+        "INSERT INTO employees (id, nama, email, jabatan, departemen, id_manajer, tanggal_bergabung, status_karyawan) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_LEAVE_REQUEST =
+        "INSERT INTO leave_requests (id_request, id_karyawan, tipe_cuti, tanggal_mulai, tanggal_selesai, status_request) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_REVIEW =
+        "INSERT INTO performance_reviews (id_review, id_karyawan, id_reviewer, tanggal_review, skor_performa, status_review) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_LEAVE_BALANCE =
+        "SELECT sisa_hari FROM leave_balances WHERE id_karyawan = ? AND tipe_cuti = ?";
+    private static final String SQL_DEBIT_LEAVE_BALANCE =
+        "UPDATE leave_balances SET sisa_hari = sisa_hari - ? WHERE id_karyawan = ? AND tipe_cuti = ? AND sisa_hari >= ?";
+
+    // Lookup yang wajib memakai index (lihat explainIndexedLookups)
+    private static final String SQL_BY_DEPARTEMEN = "SELECT * FROM employees WHERE departemen = ?";
+    private static final String SQL_BY_JABATAN = "SELECT * FROM employees WHERE jabatan = ?";
+    private static final String SQL_BY_STATUS = "SELECT * FROM employees WHERE status_karyawan = ?";
+    private static final String SQL_CUTI_PENDING =
+        "SELECT * FROM leave_requests WHERE status_request = 'Menunggu Persetujuan'";
+    private static final String SQL_HISTORY_CUTI =
+        "SELECT * FROM leave_requests WHERE id_karyawan = ? ORDER BY tanggal_mulai DESC";
+    private static final String SQL_LATEST_CUTI_STATUS =
+        "SELECT status_request FROM leave_requests WHERE id_karyawan = ? ORDER BY tanggal_mulai DESC LIMIT 1";
+    private static final String SQL_REVIEW_TERJADWAL =
+        "SELECT * FROM performance_reviews WHERE status_review = 'Terjadwal' ORDER BY tanggal_review ASC";
+    private static final String SQL_HISTORY_REVIEW =
+        "SELECT * FROM performance_reviews WHERE id_karyawan = ? ORDER BY tanggal_review DESC";
+
+    public static final String IN_MEMORY = ":memory:";
+
+    // Batch insert CSV dikirim per BATCH_SIZE baris supaya memori tetap konstan
+    private static final int BATCH_SIZE = 1000;
+
+    // Bootstrap paralel (bootstrapFromCsv): jumlah thread parser, baris per commit,
+    // dan kapasitas queue (dalam potongan 1000 baris) antara parser dan writer
+    private static final int IMPORT_THREADS = Integer.getInteger("hragent.import.threads", 4);
+    // PRAGMA user_version setelah bootstrapFromCsv selesai; 0 = belum pernah/tidak selesai
+    private static final int IMPORT_COMPLETE = 1;
+    private static final int IMPORT_COMMIT_ROWS = Integer.getInteger("hragent.import.commitRows", 50_000);
+    private static final int IMPORT_QUEUE_CHUNKS = Integer.getInteger("hragent.import.queueChunks", 64);
+
+    private static final int READER_CONNECTIONS =
+        Integer.getInteger("hragent.db.readers", Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final Duration POOL_MAX_WAIT =
+        Duration.ofMillis(Long.getLong("hragent.db.poolWaitMs", 5000));
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T run(StatementCache statements) throws SQLException;
+    }
+
+    private final String dbPath;
+    private final ConnectionPool pool;
+    private final EmployeeNameIndex nameIndex = new EmployeeNameIndex();
 
-public class SQLiteDataStore {
+    public SQLiteDataStore() throws SQLException {
+        this(IN_MEMORY);
+    }
 
-    private Connection conn;
+    // dbPath null / ":memory:" = database in-memory; selain itu file SQLite (WAL) yang
+    // datanya bertahan antar restart
+    public SQLiteDataStore(String dbPath) throws SQLException {
+        this(dbPath, READER_CONNECTIONS);
+    }
 
-    public SQLiteDataStore() throws SQLException {
+    // readerConnections = jumlah koneksi read-only di pool (hanya untuk mode file;
+    // database in-memory tidak bisa dibagi antar koneksi sehingga semua lewat writer)
+    public SQLiteDataStore(String dbPath, int readerConnections) throws SQLException {
+        this.dbPath = dbPath == null || dbPath.isBlank() ? IN_MEMORY : dbPath;
         System.out.println("Loading Agent SmartHR...");
-        System.out.println("Loading CSV data into SQLite database...");
-        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
-        createTables();
+        if (isInMemory()) {
+            System.out.println("Loading CSV data into SQLite database...");
+        } else {
+            System.out.println("Opening SQLite database " + this.dbPath + "...");
+        }
+        String url = "jdbc:sqlite:" + this.dbPath;
+        Connection writer = DriverManager.getConnection(url);
+        applyPragmas(writer, false);
+        createTables(writer);
+
+        int readers = isInMemory() ? 0 : Math.max(0, readerConnections);
+        this.pool = new ConnectionPool(writer, () -> openReader(url), readers, POOL_MAX_WAIT);
+
+        if (!isInMemory() && isPopulated()) {
+            rebuildNameIndex();
+        }
+    }
+
+    public boolean isInMemory() {
+        return IN_MEMORY.equals(dbPath);
+    }
+
+    private Connection openReader(String url) throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        Connection reader = config.createConnection(url);
+        applyPragmas(reader, true);
+        return reader;
+    }
+
+    // Mode file: WAL + synchronous=NORMAL (commit tanpa fsync per transaksi),
+    // mmap untuk read, dan page cache yang lebih besar dari default 2 MB
+    private void applyPragmas(Connection conn, boolean readOnly) throws SQLException {
+        if (isInMemory()) return;
+        try (Statement st = conn.createStatement()) {
+            if (!readOnly) {
+                st.execute("PRAGMA journal_mode = WAL");
+                st.execute("PRAGMA synchronous = NORMAL");
+            }
+            st.execute("PRAGMA mmap_size = 268435456");
+            st.execute("PRAGMA cache_size = -65536");
+            st.execute("PRAGMA temp_store = MEMORY");
+        }
+    }
+
+    // Query baca memakai koneksi reader dari pool (paralel), write memakai satu writer
+    private <T> T read(SqlWork<T> work) throws SQLException {
+        ConnectionPool.PooledConnection pooled = pool.acquireReader();
+        try {
+            return work.run(pooled.getStatements());
+        } finally {
+            pool.release(pooled);
+        }
+    }
+
+    private <T> T write(SqlWork<T> work) throws SQLException {
+        ConnectionPool.PooledConnection pooled = pool.acquireWriter();
+        try {
+            return work.run(pooled.getStatements());
+        } finally {
+            pool.release(pooled);
+        }
+    }
+
+    // Seperti write(), tapi seluruh pekerjaan dijalankan dalam satu transaksi (satu commit)
+    private <T> T transaction(SqlWork<T> work) throws SQLException {
+        ConnectionPool.PooledConnection pooled = pool.acquireWriter();
+        Connection conn = pooled.getConnection();
+        try {
+            conn.setAutoCommit(false);
+            try {
+                T result = work.run(pooled.getStatements());
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                // Rollback yang gagal tidak boleh menutupi penyebab aslinya
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            pool.release(pooled);
+        }
+    }
+
+    // true jika import CSV sebelumnya selesai sampai commit terakhir (CSV import bisa dilewati).
+    // Tabel yang berisi data tanpa penanda ini adalah sisa import yang gagal atau crash di tengah.
+    public boolean isPopulated() throws SQLException {
+        return read(st -> {
+            try (ResultSet rs = st.prepare("PRAGMA user_version").executeQuery()) {
+                return rs.next() && rs.getInt(1) == IMPORT_COMPLETE;
+            }
+        });
+    }
+
+    private void rebuildNameIndex() throws SQLException {
+        nameIndex.clear();
+        read(st -> {
+            try (ResultSet rs = st.prepare("SELECT id, nama FROM employees").executeQuery()) {
+                while (rs.next()) {
+                    nameIndex.put(rs.getInt(1), rs.getString(2));
+                }
+            }
+            return null;
+        });
     }
 
-    private void createTables() throws SQLException {
+    private static void createTables(Connection conn) throws SQLException {
         String sqlEmp = """
-            CREATE TABLE employees (
+            CREATE TABLE IF NOT EXISTS employees (
                 id INTEGER PRIMARY KEY, 
                 nama TEXT, 
                 email TEXT, 
-                jabatan TEXT, 
-                departemen TEXT, 
+                jabatan TEXT COLLATE NOCASE, 
+                departemen TEXT COLLATE NOCASE, 
                 id_manajer INTEGER, 
                 tanggal_bergabung TEXT, 
-                status_karyawan TEXT
+                status_karyawan TEXT COLLATE NOCASE
             )
         """;
 
         String sqlLeave = """
-            CREATE TABLE leave_balances (
+            CREATE TABLE IF NOT EXISTS leave_balances (
                 id_karyawan INTEGER, 
                 tipe_cuti TEXT, 
                 sisa_hari INTEGER,
@@ -47,7 +224,7 @@ public class SQLiteDataStore {
         """;
 
         String sqlLeaveReq = """
-            CREATE TABLE leave_requests (
+            CREATE TABLE IF NOT EXISTS leave_requests (
                 id_request TEXT PRIMARY KEY, 
                 id_karyawan INTEGER, 
                 tipe_cuti TEXT, 
@@ -58,7 +235,7 @@ public class SQLiteDataStore {
         """;
 
         String sqlReviews = """
-            CREATE TABLE performance_reviews (
+            CREATE TABLE IF NOT EXISTS performance_reviews (
                 id_review TEXT PRIMARY KEY, 
                 id_karyawan INTEGER, 
                 id_reviewer INTEGER, 
@@ -69,7 +246,7 @@ public class SQLiteDataStore {
         """;
 
         String sqlExpenses = """
-            CREATE TABLE expenses (
+            CREATE TABLE IF NOT EXISTS expenses (
                 id_expense TEXT PRIMARY KEY,
                 id_karyawan INTEGER,
                 kategori TEXT,
@@ -78,32 +255,166 @@ public class SQLiteDataStore {
             )
         """;
 
-        conn.createStatement().execute(sqlEmp);
-        conn.createStatement().execute(sqlLeave);
-        conn.createStatement().execute(sqlLeaveReq);
-        conn.createStatement().execute(sqlReviews);
-        conn.createStatement().execute(sqlExpenses);
+        // Index untuk lookup yang sering dipakai; kolom teks di employees ber-collation
+        // NOCASE sehingga pencarian case-insensitive tetap bisa memakai index
+        String[] sqlIndexes = {
+            "CREATE INDEX IF NOT EXISTS idx_employees_departemen ON employees (departemen)",
+            "CREATE INDEX IF NOT EXISTS idx_employees_jabatan ON employees (jabatan)",
+            "CREATE INDEX IF NOT EXISTS idx_employees_status ON employees (status_karyawan)",
+            "CREATE INDEX IF NOT EXISTS idx_leave_requests_karyawan ON leave_requests (id_karyawan, tanggal_mulai)",
+            "CREATE INDEX IF NOT EXISTS idx_leave_requests_status ON leave_requests (status_request)",
+            "CREATE INDEX IF NOT EXISTS idx_reviews_status ON performance_reviews (status_review, tanggal_review)",
+            "CREATE INDEX IF NOT EXISTS idx_reviews_karyawan ON performance_reviews (id_karyawan, tanggal_review)"
+        };
+
+        try (Statement st = conn.createStatement()) {
+            st.execute(sqlEmp);
+            st.execute(sqlLeave);
+            st.execute(sqlLeaveReq);
+            st.execute(sqlReviews);
+            st.execute(sqlExpenses);
+            for (String sqlIndex : sqlIndexes) {
+                st.execute(sqlIndex);
+            }
+        }
+    }
+
+    // Import awal keempat CSV dari dataDir: parsing paralel, satu writer, commit per
+    // IMPORT_COMMIT_ROWS baris. Selama import index sekunder di-drop (dibangun ulang sekali
+    // di akhir) dan pragma durability dilonggarkan, lalu dikembalikan setelah selesai.
+    // Sisa import yang tidak selesai dihapus dulu; user_version baru ditandai setelah commit
+    // terakhir, jadi import yang gagal di tengah diulang dari awal saat start berikutnya.
+    public CsvBootstrap bootstrapFromCsv(String dataDir) throws SQLException {
+        CsvBootstrap bootstrap = new CsvBootstrap(Paths.get(dataDir), IMPORT_THREADS,
+                IMPORT_COMMIT_ROWS, IMPORT_QUEUE_CHUNKS, nameIndex);
+        ConnectionPool.PooledConnection writer = pool.acquireWriter();
+        try {
+            Connection conn = writer.getConnection();
+            applyImportPragmas(conn, true);
+            try {
+                setUserVersion(conn, 0);
+                clearImportedTables(conn);
+                dropIndexes(conn);
+                bootstrap.load(conn, writer.getStatements());
+            } finally {
+                createTables(conn);
+                applyImportPragmas(conn, false);
+            }
+            setUserVersion(conn, IMPORT_COMPLETE);
+        } finally {
+            pool.release(writer);
+        }
+        System.out.println("✅ " + bootstrap);
+        return bootstrap;
+    }
+
+    // Salin seluruh isi database ke DataStore (mode hybrid: SQLite sumber kebenaran,
+    // DataStore salinan untuk dibaca). Baris di-stream, tidak ditampung dalam List.
+    public void copyInto(DataStore target) throws SQLException {
+        read(st -> {
+            try (ResultSet rs = st.prepare("SELECT * FROM employees").executeQuery()) {
+                while (rs.next()) {
+                    target.addEmployee(mapToEmployee(rs));
+                }
+            }
+            try (ResultSet rs = st.prepare("SELECT * FROM leave_balances").executeQuery()) {
+                while (rs.next()) {
+                    target.addLeaveBalance(mapToLeaveBalance(rs));
+                }
+            }
+            try (ResultSet rs = st.prepare("SELECT * FROM leave_requests").executeQuery()) {
+                while (rs.next()) {
+                    target.addLeaveRequest(mapToLeaveRequest(rs));
+                }
+            }
+            try (ResultSet rs = st.prepare("SELECT * FROM performance_reviews").executeQuery()) {
+                while (rs.next()) {
+                    target.addPerformanceReview(mapToPerformanceReview(rs));
+                }
+            }
+            return null;
+        });
+        target.trimToSize();
+    }
+
+    private void applyImportPragmas(Connection conn, boolean importing) throws SQLException {
+        if (isInMemory()) return;
+        try (Statement st = conn.createStatement()) {
+            if (importing) {
+                st.execute("PRAGMA synchronous = OFF");
+                st.execute("PRAGMA wal_autocheckpoint = 0");
+            } else {
+                st.execute("PRAGMA synchronous = NORMAL");
+                st.execute("PRAGMA wal_autocheckpoint = 1000");
+                st.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+            }
+        }
+    }
+
+    private static void setUserVersion(Connection conn, int version) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("PRAGMA user_version = " + version);
+        }
+    }
+
+    private void clearImportedTables(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT 1 FROM employees LIMIT 1")) {
+                if (!rs.next()) return;
+            }
+            System.out.println("⚠️ Import CSV sebelumnya tidak selesai, data lama dihapus dan diimport ulang.");
+            for (CsvBootstrap.Table table : CsvBootstrap.Table.values()) {
+                st.execute("DELETE FROM " + table.tableName);
+            }
+        }
+        nameIndex.clear();
+    }
+
+    private static void dropIndexes(Connection conn) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT name FROM sqlite_master WHERE type = 'index' AND name LIKE 'idx_%'")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        try (Statement st = conn.createStatement()) {
+            for (String name : names) {
+                st.execute("DROP INDEX IF EXISTS " + name);
+            }
+        }
     }
 
     public void loadEmployeesFromCsv(String path) throws Exception {
         try (CSVReader reader = new CSVReader(new FileReader(path))) {
             reader.skip(1);
-            String[] line;
-            String sql = "INSERT INTO employees (id, nama, email, jabatan, departemen, id_manajer, tanggal_bergabung, status_karyawan) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            while ((line = reader.readNext()) != null) {
-                ps.setInt(1, Integer.parseInt(line[0]));
-                ps.setString(2, line[1]);
-                ps.setString(3, line[2]);
-                ps.setString(4, line[3]);
-                ps.setString(5, line[4]);
-                if (line[5].isEmpty()) ps.setNull(6, Types.INTEGER);
-                else ps.setInt(6, Integer.parseInt(line[5]));
-                ps.setString(7, line[6]);
-                ps.setString(8, line[7]);
-                ps.addBatch();
+            IngestStats stats = IngestStats.start(new File(path).getName());
+            // Index nama baru diisi setelah commit, supaya rollback tidak meninggalkan id yang tidak ada
+            List<Object[]> names = new ArrayList<>();
+            transaction(st -> {
+                PreparedStatement ps = st.prepare(SQL_INSERT_EMPLOYEE);
+                String[] line;
+                while ((line = readNext(reader)) != null) {
+                    stats.row();
+                    ps.setInt(1, Integer.parseInt(line[0]));
+                    ps.setString(2, line[1]);
+                    ps.setString(3, line[2]);
+                    ps.setString(4, line[3]);
+                    ps.setString(5, line[4]);
+                    if (line[5].isEmpty()) ps.setNull(6, Types.INTEGER);
+                    else ps.setInt(6, Integer.parseInt(line[5]));
+                    ps.setString(7, CsvLoader.normalizeDate(line[6]));
+                    ps.setString(8, line[7]);
+                    ps.addBatch();
+                    if (stats.getRows() % BATCH_SIZE == 0) ps.executeBatch();
+                    names.add(new Object[] { Integer.parseInt(line[0]), line[1] });
+                }
+                return ps.executeBatch();
+            });
+            for (Object[] name : names) {
+                nameIndex.put((Integer) name[0], (String) name[1]);
             }
-            ps.executeBatch();
+            stats.finish();
             System.out.println("✅ Employees loaded.");
         }
     }
@@ -111,16 +422,22 @@ public class SQLiteDataStore {
     public void loadLeaveBalancesFromCsv(String path) throws Exception {
         try (CSVReader reader = new CSVReader(new FileReader(path))) {
             reader.skip(1);
-            String[] line;
-            String sql = "INSERT INTO leave_balances (id_karyawan, tipe_cuti, sisa_hari) VALUES (?, ?, ?)";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            while ((line = reader.readNext()) != null) {
-                ps.setInt(1, Integer.parseInt(line[0]));
-                ps.setString(2, line[1]);
-                ps.setInt(3, Integer.parseInt(line[2]));
-                ps.addBatch();
-            }
-            ps.executeBatch();
+            IngestStats stats = IngestStats.start(new File(path).getName());
+            transaction(st -> {
+                String sql = "INSERT INTO leave_balances (id_karyawan, tipe_cuti, sisa_hari) VALUES (?, ?, ?)";
+                PreparedStatement ps = st.prepare(sql);
+                String[] line;
+                while ((line = readNext(reader)) != null) {
+                    stats.row();
+                    ps.setInt(1, Integer.parseInt(line[0]));
+                    ps.setString(2, line[1]);
+                    ps.setInt(3, Integer.parseInt(line[2]));
+                    ps.addBatch();
+                    if (stats.getRows() % BATCH_SIZE == 0) ps.executeBatch();
+                }
+                return ps.executeBatch();
+            });
+            stats.finish();
             System.out.println("✅ Leave balances loaded.");
         }
     }
@@ -128,19 +445,24 @@ public class SQLiteDataStore {
     public void loadLeaveRequestsFromCsv(String path) throws Exception {
         try (CSVReader reader = new CSVReader(new FileReader(path))) {
             reader.skip(1);
-            String[] line;
-            String sql = "INSERT INTO leave_requests (id_request, id_karyawan, tipe_cuti, tanggal_mulai, tanggal_selesai, status_request) VALUES (?, ?, ?, ?, ?, ?)";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            while ((line = reader.readNext()) != null) {
-                ps.setString(1, line[0]); // id_request
-                ps.setInt(2, Integer.parseInt(line[1])); // id_karyawan
-                ps.setString(3, line[2]); // tipe_cuti
-                ps.setString(4, line[3]); // tanggal_mulai
-                ps.setString(5, line[4]); // tanggal_selesai
-                ps.setString(6, line[5]); // status_request
-                ps.addBatch();
-            }
-            ps.executeBatch();
+            IngestStats stats = IngestStats.start(new File(path).getName());
+            transaction(st -> {
+                PreparedStatement ps = st.prepare(SQL_INSERT_LEAVE_REQUEST);
+                String[] line;
+                while ((line = readNext(reader)) != null) {
+                    stats.row();
+                    ps.setString(1, line[0]); // id_request
+                    ps.setInt(2, Integer.parseInt(line[1])); // id_karyawan
+                    ps.setString(3, line[2]); // tipe_cuti
+                    ps.setString(4, CsvLoader.normalizeDate(line[3])); // tanggal_mulai
+                    ps.setString(5, CsvLoader.normalizeDate(line[4])); // tanggal_selesai
+                    ps.setString(6, line[5]); // status_request
+                    ps.addBatch();
+                    if (stats.getRows() % BATCH_SIZE == 0) ps.executeBatch();
+                }
+                return ps.executeBatch();
+            });
+            stats.finish();
             System.out.println("✅ Leave requests loaded.");
         }
     }
@@ -148,203 +470,265 @@ public class SQLiteDataStore {
     public void loadPerformanceReviewsFromCsv(String path) throws Exception {
         try (CSVReader reader = new CSVReader(new FileReader(path))) {
             reader.skip(1);
-            String[] line;
-            String sql = "INSERT INTO performance_reviews (id_review, id_karyawan, id_reviewer, tanggal_review, skor_performa, status_review) VALUES (?, ?, ?, ?, ?, ?)";
-            PreparedStatement ps = conn.prepareStatement(sql);
-            while ((line = reader.readNext()) != null) {
-                ps.setString(1, line[0]);  // id_review
-                ps.setInt(2, Integer.parseInt(line[1]));  // id_karyawan
-                ps.setInt(3, Integer.parseInt(line[2]));  // id_reviewer
-                ps.setString(4, line[3]);  // tanggal_review
-                ps.setInt(5, Integer.parseInt(line[4]));  // skor_performa
-                ps.setString(6, line[5]);  // status_review
-                ps.addBatch();
-            }
-            ps.executeBatch();
+            IngestStats stats = IngestStats.start(new File(path).getName());
+            transaction(st -> {
+                PreparedStatement ps = st.prepare(SQL_INSERT_REVIEW);
+                String[] line;
+                while ((line = readNext(reader)) != null) {
+                    stats.row();
+                    ps.setString(1, line[0]);  // id_review
+                    ps.setInt(2, Integer.parseInt(line[1]));  // id_karyawan
+                    ps.setInt(3, Integer.parseInt(line[2]));  // id_reviewer
+                    ps.setString(4, CsvLoader.normalizeDate(line[3]));  // tanggal_review
+                    ps.setInt(5, Integer.parseInt(line[4]));  // skor_performa
+                    ps.setString(6, line[5]);  // status_review
+                    ps.addBatch();
+                    if (stats.getRows() % BATCH_SIZE == 0) ps.executeBatch();
+                }
+                return ps.executeBatch();
+            });
+            stats.finish();
             System.out.println("✅ Performance reviews loaded.");
         }
     }
+
+    private static String[] readNext(CSVReader reader) throws SQLException {
+        try {
+            return reader.readNext();
+        } catch (Exception e) {
+            throw new SQLException("Failed to read CSV row: " + e.getMessage(), e);
+        }
+    }
     
     public Employee getEmployeeByName(String name) throws SQLException {
         String sql = "SELECT * FROM employees WHERE LOWER(nama) LIKE ?";
-        PreparedStatement ps = conn.prepareStatement(sql);
-        ps.setString(1, "%" + name.toLowerCase() + "%");
-        ResultSet rs = ps.executeQuery();
-        if (rs.next()) {
-            return new Employee(
-                rs.getInt("id"),
-                rs.getString("nama"),
-                rs.getString("email"),
-                rs.getString("jabatan"),
-                rs.getString("departemen"),
-                rs.getObject("id_manajer") != null ? rs.getInt("id_manajer") : null,
-                LocalDate.parse(rs.getString("tanggal_bergabung")),
-                rs.getString("status_karyawan")
-            );
-        }
-        return null;
+        return read(st -> {
+            PreparedStatement ps = st.prepare(sql);
+            ps.setString(1, "%" + name.toLowerCase() + "%");
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapToEmployee(rs) : null;
+            }
+        });
+    }
+
+    // Cari nama karyawan yang disebut di teks bebas lewat index nama (tanpa SELECT)
+    public String resolveEmployeeName(String text) {
+        return nameIndex.resolve(text);
     }
 
     public int getLeaveBalance(int idKaryawan, String tipeCuti) throws SQLException {
-        String sql = "SELECT sisa_hari FROM leave_balances WHERE id_karyawan = ? AND tipe_cuti = ?";
-        PreparedStatement ps = conn.prepareStatement(sql);
-        ps.setInt(1, idKaryawan);
-        ps.setString(2, tipeCuti);
-        ResultSet rs = ps.executeQuery();
-        if (rs.next()) {
-            return rs.getInt("sisa_hari");
-        }
-        return 0;
+        return read(st -> {
+            PreparedStatement ps = st.prepare(SQL_LEAVE_BALANCE);
+            ps.setInt(1, idKaryawan);
+            ps.setString(2, tipeCuti);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt("sisa_hari") : 0;
+            }
+        });
     }
 
     public void updateLeaveBalance(int idKaryawan, String tipeCuti, int newSisaHari) throws SQLException {
         String sql = "UPDATE leave_balances SET sisa_hari = ? WHERE id_karyawan = ? AND tipe_cuti = ?";
-        PreparedStatement ps = conn.prepareStatement(sql);
-        ps.setInt(1, newSisaHari);
-        ps.setInt(2, idKaryawan);
-        ps.setString(3, tipeCuti);
-        ps.executeUpdate();
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
+            ps.setInt(1, newSisaHari);
+            ps.setInt(2, idKaryawan);
+            ps.setString(3, tipeCuti);
+            return ps.executeUpdate();
+        });
+    }
+
+    // Potong saldo cuti dan catat pengajuan secara atomik. UPDATE bersyarat
+    // (sisa_hari >= hari) mencegah dua pengajuan bersamaan sama-sama lolos cek saldo.
+    // Return sisa saldo setelah dipotong, atau -1 jika saldo tidak cukup (tidak ada perubahan).
+    public int applyLeave(String idRequest, int idKaryawan, String tipeCuti, int hari,
+                          String mulai, String selesai, String status) throws SQLException {
+        return transaction(st -> {
+            PreparedStatement debit = st.prepare(SQL_DEBIT_LEAVE_BALANCE);
+            debit.setInt(1, hari);
+            debit.setInt(2, idKaryawan);
+            debit.setString(3, tipeCuti);
+            debit.setInt(4, hari);
+            if (debit.executeUpdate() == 0) {
+                return -1;
+            }
+
+            PreparedStatement insert = st.prepare(SQL_INSERT_LEAVE_REQUEST);
+            insert.setString(1, idRequest);
+            insert.setInt(2, idKaryawan);
+            insert.setString(3, tipeCuti);
+            insert.setString(4, mulai);
+            insert.setString(5, selesai);
+            insert.setString(6, status);
+            insert.executeUpdate();
+
+            PreparedStatement balance = st.prepare(SQL_LEAVE_BALANCE);
+            balance.setInt(1, idKaryawan);
+            balance.setString(2, tipeCuti);
+            try (ResultSet rs = balance.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        });
     }
 
     public void insertLeaveRequest(String idRequest, int idKaryawan, String tipeCuti, String mulai, String selesai, String status) throws SQLException {
-        String sql = "INSERT INTO leave_requests (id_request, id_karyawan, tipe_cuti, tanggal_mulai, tanggal_selesai, status_request) VALUES (?, ?, ?, ?, ?, ?)";
-        PreparedStatement ps = conn.prepareStatement(sql);
-        ps.setString(1, idRequest);
-        ps.setInt(2, idKaryawan);
-        ps.setString(3, tipeCuti);
-        ps.setString(4, mulai);
-        ps.setString(5, selesai);
-        ps.setString(6, status);
-        ps.executeUpdate();
+        write(st -> {
+            PreparedStatement ps = st.prepare(SQL_INSERT_LEAVE_REQUEST);
+            ps.setString(1, idRequest);
+            ps.setInt(2, idKaryawan);
+            ps.setString(3, tipeCuti);
+            ps.setString(4, mulai);
+            ps.setString(5, selesai);
+            ps.setString(6, status);
+            return ps.executeUpdate();
+        });
     }
 
     public String getLatestLeaveRequestStatus(String idRequest) throws SQLException {  // Renamed parameter too
         String sql = "SELECT status_request FROM leave_requests WHERE id_request = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        return read(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setString(1, idRequest);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return rs.getString("status_request");  // ✅ FIXED
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString("status_request") : "Not found";  // ✅ FIXED
             }
-        }
-        return "Not found";
+        });
     }
     
 
     public String getLatestLeaveRequestStatus(int idKaryawan) throws SQLException {
-        String sql = "SELECT status_request FROM leave_requests WHERE id_karyawan = ? ORDER BY tanggal_mulai DESC LIMIT 1";
-        PreparedStatement ps = conn.prepareStatement(sql);
-        ps.setInt(1, idKaryawan);
-        ResultSet rs = ps.executeQuery();
-        if (rs.next()) {
-            return rs.getString("status_request");
-        }
-        return "Not found";
+        return read(st -> {
+            PreparedStatement ps = st.prepare(SQL_LATEST_CUTI_STATUS);
+            ps.setInt(1, idKaryawan);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString("status_request") : "Not found";
+            }
+        });
     }
 
 
     public void insertPerformanceReview(String idReview, int empId, int reviewerId, String tanggalReview, int skor, String status) throws SQLException {
-        String sql = "INSERT INTO performance_reviews (id_review, id_karyawan, id_reviewer, tanggal_review, skor_performa, status_review) VALUES (?,?,?,?,?,?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(SQL_INSERT_REVIEW);
             ps.setString(1, idReview);
             ps.setInt(2, empId);
             ps.setInt(3, reviewerId);
             ps.setString(4, tanggalReview);
             ps.setInt(5, skor);
             ps.setString(6, status);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     public void insertExpense(String idExpense, int idKaryawan, String kategori, double jumlah, String status) throws SQLException {
         String sql = "INSERT INTO expenses (id_expense, id_karyawan, kategori, jumlah, status) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setString(1, idExpense);
             ps.setInt(2, idKaryawan);
             ps.setString(3, kategori);
             ps.setDouble(4, jumlah);
             ps.setString(5, status);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     public String getLatestExpenseStatus(int idKaryawan) throws SQLException {
         String sql = "SELECT status FROM expenses WHERE id_karyawan = ? ORDER BY id_expense DESC LIMIT 1";
-        PreparedStatement ps = conn.prepareStatement(sql);
-        ps.setInt(1, idKaryawan);
-        ResultSet rs = ps.executeQuery();
-        if (rs.next()) {
-            return rs.getString("status");
-        }
-        return null;
+        return read(st -> {
+            PreparedStatement ps = st.prepare(sql);
+            ps.setInt(1, idKaryawan);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString("status") : null;
+            }
+        });
     }
 
 
     public void close() throws SQLException {
         System.out.println("🧹 Cleaning up SQLite DB...");
-        conn.close();
+        System.out.println("   " + pool);
+        pool.close();
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    // EXPLAIN QUERY PLAN untuk setiap lookup yang seharusnya memakai index
+    public Map<String, String> explainIndexedLookups() throws SQLException {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("getKaryawanByDepartemen", SQL_BY_DEPARTEMEN);
+        queries.put("getKaryawanByJabatan", SQL_BY_JABATAN);
+        queries.put("getKaryawanByStatus", SQL_BY_STATUS);
+        queries.put("getCutiPending", SQL_CUTI_PENDING);
+        queries.put("getHistoryCuti", SQL_HISTORY_CUTI);
+        queries.put("getLatestLeaveRequestStatus", SQL_LATEST_CUTI_STATUS);
+        queries.put("getReviewTerjadwal", SQL_REVIEW_TERJADWAL);
+        queries.put("getHistoryReview", SQL_HISTORY_REVIEW);
+
+        Map<String, String> plans = new LinkedHashMap<>();
+        for (Map.Entry<String, String> q : queries.entrySet()) {
+            String plan = read(st -> {
+                StringBuilder detail = new StringBuilder();
+                PreparedStatement ps = st.prepare("EXPLAIN QUERY PLAN " + q.getValue());
+                int params = ps.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= params; i++) {
+                    ps.setString(i, "x");
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if (detail.length() > 0) detail.append("; ");
+                        detail.append(rs.getString("detail"));
+                    }
+                }
+                return detail.toString();
+            });
+            plans.put(q.getKey(), plan);
+        }
+        return plans;
     }
 
     // For extended functionalities:
 
     public List<Employee> getAllEmployees() throws SQLException {
-        List<Employee> list = new ArrayList<>();
         String sql = "SELECT * FROM employees";
-        PreparedStatement ps = conn.prepareStatement(sql);
-        ResultSet rs = ps.executeQuery();
-        while (rs.next()) {
-            list.add(new Employee(
-                    rs.getInt("id"),
-                    rs.getString("nama"),
-                    rs.getString("email"),
-                    rs.getString("jabatan"),
-                    rs.getString("departemen"),
-                    rs.getObject("id_manajer") != null ? rs.getInt("id_manajer") : null,
-                    LocalDate.parse(rs.getString("tanggal_bergabung")),
-                    rs.getString("status_karyawan")
-            ));
-        }
-        return list;
+        return read(st -> {
+            List<Employee> list = new ArrayList<>();
+            try (ResultSet rs = st.prepare(sql).executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapToEmployee(rs));
+                }
+            }
+            return list;
+        });
     }
 
     public Employee getManagerOf(Employee emp) throws SQLException {
         if (emp.getIdManajer() == null) return null;
-        String sql = "SELECT * FROM employees WHERE id = ?";
-        PreparedStatement ps = conn.prepareStatement(sql);
-        ps.setInt(1, emp.getIdManajer());
-        ResultSet rs = ps.executeQuery();
-        if (rs.next()) {
-            return new Employee(
-                    rs.getInt("id"),
-                    rs.getString("nama"),
-                    rs.getString("email"),
-                    rs.getString("jabatan"),
-                    rs.getString("departemen"),
-                    rs.getObject("id_manajer") != null ? rs.getInt("id_manajer") : null,
-                    LocalDate.parse(rs.getString("tanggal_bergabung")),
-                    rs.getString("status_karyawan")
-            );
-        }
-        return null;
+        return getEmployeeById(emp.getIdManajer());
     }
 
         // ============ EMPLOYEE MANAGEMENT ============
 
     public void updateDataKaryawan(int idKaryawan, String newDepartemen, String newJabatan) throws SQLException {
         String sql = "UPDATE employees SET departemen = ?, jabatan = ? WHERE id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setString(1, newDepartemen);
             ps.setString(2, newJabatan);
             ps.setInt(3, idKaryawan);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
+        // Nama tidak berubah di sini, tapi index tetap disinkronkan dengan data terbaru
+        Employee emp = getEmployeeById(idKaryawan);
+        if (emp != null) nameIndex.put(emp.getId(), emp.getNama());
     }
 
     public void tambahKaryawan(int id, String nama, String email, String jabatan, String departemen, 
                             Integer idManajer, String tanggalBergabung, String statusKaryawan) throws SQLException {
-        String sql = "INSERT INTO employees (id, nama, email, jabatan, departemen, id_manajer, tanggal_bergabung, status_karyawan) " + 
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(SQL_INSERT_EMPLOYEE);
             ps.setInt(1, id);
             ps.setString(2, nama);
             ps.setString(3, email);
@@ -354,56 +738,45 @@ public class SQLiteDataStore {
             else ps.setInt(6, idManajer);
             ps.setString(7, tanggalBergabung);
             ps.setString(8, statusKaryawan);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
+        nameIndex.put(id, nama);
     }
 
     public void updateStatusKaryawan(int idKaryawan, String newStatus) throws SQLException {
         String sql = "UPDATE employees SET status_karyawan = ? WHERE id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setString(1, newStatus);
             ps.setInt(2, idKaryawan);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     public List<Employee> getKaryawanByDepartemen(String departemen) throws SQLException {
-        String sql = "SELECT * FROM employees WHERE LOWER(departemen) = LOWER(?)";
-        List<Employee> list = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, departemen);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                list.add(mapToEmployee(rs));
-            }
-        }
-        return list;
+        return queryEmployees(SQL_BY_DEPARTEMEN, departemen);
     }
 
     public List<Employee> getKaryawanByJabatan(String jabatan) throws SQLException {
-        String sql = "SELECT * FROM employees WHERE LOWER(jabatan) = LOWER(?)";
-        List<Employee> list = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, jabatan);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                list.add(mapToEmployee(rs));
-            }
-        }
-        return list;
+        return queryEmployees(SQL_BY_JABATAN, jabatan);
     }
 
     public List<Employee> getKaryawanByStatus(String status) throws SQLException {
-        String sql = "SELECT * FROM employees WHERE LOWER(status_karyawan) = LOWER(?)";
-        List<Employee> list = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, status);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                list.add(mapToEmployee(rs));
+        return queryEmployees(SQL_BY_STATUS, status);
+    }
+
+    private List<Employee> queryEmployees(String sql, String param) throws SQLException {
+        return read(st -> {
+            List<Employee> list = new ArrayList<>();
+            PreparedStatement ps = st.prepare(sql);
+            ps.setString(1, param);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapToEmployee(rs));
+                }
             }
-        }
-        return list;
+            return list;
+        });
     }
 
     private Employee mapToEmployee(ResultSet rs) throws SQLException {
@@ -422,31 +795,34 @@ public class SQLiteDataStore {
     // ============ LEAVE MANAGEMENT ============
 
     public List<LeaveRequest> getCutiPending() throws SQLException {
-        String sql = "SELECT * FROM leave_requests WHERE status_request = 'Menunggu Persetujuan'";
-        List<LeaveRequest> list = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                list.add(mapToLeaveRequest(rs));
+        return read(st -> {
+            List<LeaveRequest> list = new ArrayList<>();
+            try (ResultSet rs = st.prepare(SQL_CUTI_PENDING).executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapToLeaveRequest(rs));
+                }
             }
-        }
-        return list;
+            return list;
+        });
     }
 
     public void approveRejectCuti(String idCuti, String newStatus) throws SQLException {
         String sql = "UPDATE leave_requests SET status_request = ? WHERE id_request = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setString(1, newStatus);
             ps.setString(2, idCuti);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     public void batalkanCuti(String idCuti) throws SQLException {
         String sql = "UPDATE leave_requests SET status_request = 'Dibatalkan' WHERE id_request = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setString(1, idCuti);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     public void updateStatusCuti(String idCuti, String newStatus) throws SQLException {
@@ -455,65 +831,59 @@ public class SQLiteDataStore {
 
     public List<LeaveBalance> getAllLeaveBalances() throws SQLException {
         String sql = "SELECT * FROM leave_balances";
-        List<LeaveBalance> list = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                int idKaryawan = rs.getInt("id_karyawan");
-                String tipeCuti = rs.getString("tipe_cuti");
-                int sisaHari = rs.getInt("sisa_hari");
-                
-                // Assign values based on leave type
-                int sisaCutiTahunan = tipeCuti.equalsIgnoreCase("Tahunan") ? sisaHari : 0;
-                int sisaCutiSakit = tipeCuti.equalsIgnoreCase("Sakit") ? sisaHari : 0;
-                int sisaCutiMelahirkan = tipeCuti.equalsIgnoreCase("Cuti Melahirkan") ? sisaHari : 0;
-                
-                list.add(new LeaveBalance(
-                    idKaryawan,
-                    tipeCuti,
-                    sisaHari,
-                    sisaCutiTahunan,
-                    sisaCutiSakit,
-                    sisaCutiMelahirkan
-                ));
+        return read(st -> {
+            List<LeaveBalance> list = new ArrayList<>();
+            try (ResultSet rs = st.prepare(sql).executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapToLeaveBalance(rs));
+                }
             }
-        }
-        return list;
+            return list;
+        });
+    }
+
+    private LeaveBalance mapToLeaveBalance(ResultSet rs) throws SQLException {
+        int idKaryawan = rs.getInt("id_karyawan");
+        String tipeCuti = rs.getString("tipe_cuti");
+        int sisaHari = rs.getInt("sisa_hari");
+
+        // Assign values based on leave type
+        int sisaCutiTahunan = tipeCuti.equalsIgnoreCase("Tahunan") ? sisaHari : 0;
+        int sisaCutiSakit = tipeCuti.equalsIgnoreCase("Sakit") ? sisaHari : 0;
+        int sisaCutiMelahirkan = tipeCuti.equalsIgnoreCase("Cuti Melahirkan") ? sisaHari : 0;
+
+        return new LeaveBalance(idKaryawan, tipeCuti, sisaHari, sisaCutiTahunan, sisaCutiSakit, sisaCutiMelahirkan);
     }
 
+    // Saldo per tipe ada di kolom sisa_hari (satu baris per karyawan + tipe_cuti)
     public void updateSisaCuti(int idKaryawan, String leaveType, int newBalance) throws SQLException {
-        String column = switch (leaveType) {
-            case "Tahunan" -> "sisa_cuti_tahunan";
-            case "Sakit" -> "sisa_cuti_sakit";
-            case "Cuti Melahirkan" -> "sisa_cuti_melahirkan";
+        switch (leaveType) {
+            case "Tahunan", "Sakit", "Cuti Melahirkan" -> updateLeaveBalance(idKaryawan, leaveType, newBalance);
             default -> throw new IllegalArgumentException("Invalid leave type");
-        };
-        String sql = "UPDATE leave_balances SET " + column + " = ? WHERE id_karyawan = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, newBalance);
-            ps.setInt(2, idKaryawan);
-            ps.executeUpdate();
         }
     }
 
     public void resetCutiTahunan(int jumlahCutiDefault) throws SQLException {
-        String sql = "UPDATE leave_balances SET sisa_cuti_tahunan = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = "UPDATE leave_balances SET sisa_hari = ? WHERE tipe_cuti = 'Tahunan'";
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setInt(1, jumlahCutiDefault);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     public List<LeaveRequest> getHistoryCuti(int idKaryawan) throws SQLException {
-        String sql = "SELECT * FROM leave_requests WHERE id_karyawan = ? ORDER BY tanggal_mulai DESC";
-        List<LeaveRequest> list = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        return read(st -> {
+            List<LeaveRequest> list = new ArrayList<>();
+            PreparedStatement ps = st.prepare(SQL_HISTORY_CUTI);
             ps.setInt(1, idKaryawan);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                list.add(mapToLeaveRequest(rs));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapToLeaveRequest(rs));
+                }
             }
-        }
-        return list;
+            return list;
+        });
     }
 
     private LeaveRequest mapToLeaveRequest(ResultSet rs) throws SQLException {
@@ -545,54 +915,59 @@ public class SQLiteDataStore {
     // ============ PERFORMANCE REVIEW MANAGEMENT ============
 
     public List<PerformanceReview> getReviewTerjadwal() throws SQLException {
-        String sql = "SELECT * FROM performance_reviews WHERE status_review = 'Terjadwal' ORDER BY tanggal_review ASC";
-        List<PerformanceReview> list = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                list.add(mapToPerformanceReview(rs));
+        return read(st -> {
+            List<PerformanceReview> list = new ArrayList<>();
+            try (ResultSet rs = st.prepare(SQL_REVIEW_TERJADWAL).executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapToPerformanceReview(rs));
+                }
             }
-        }
-        return list;
+            return list;
+        });
     }
 
     public void updateSkorReview(String idReview, int skorPerforma) throws SQLException {
         String sql = "UPDATE performance_reviews SET skor_performa = ?, status_review = 'Selesai' WHERE id_review = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setInt(1, skorPerforma);
             ps.setString(2, idReview);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     public void batalkanReview(String idReview) throws SQLException {
         String sql = "UPDATE performance_reviews SET status_review = 'Dibatalkan' WHERE id_review = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setString(1, idReview);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     public void submitHasilReview(String idReview, int skorPerforma, String status) throws SQLException {
         String sql = "UPDATE performance_reviews SET skor_performa = ?, status_review = ? WHERE id_review = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        write(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setInt(1, skorPerforma);
             ps.setString(2, status);
             ps.setString(3, idReview);
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     public List<PerformanceReview> getHistoryReview(int idKaryawan) throws SQLException {
-        String sql = "SELECT * FROM performance_reviews WHERE id_karyawan = ? ORDER BY tanggal_review DESC";
-        List<PerformanceReview> list = new ArrayList<>();
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        return read(st -> {
+            List<PerformanceReview> list = new ArrayList<>();
+            PreparedStatement ps = st.prepare(SQL_HISTORY_REVIEW);
             ps.setInt(1, idKaryawan);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                list.add(mapToPerformanceReview(rs));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapToPerformanceReview(rs));
+                }
             }
-        }
-        return list;
+            return list;
+        });
     }
 
     private PerformanceReview mapToPerformanceReview(ResultSet rs) throws SQLException {
@@ -608,14 +983,13 @@ public class SQLiteDataStore {
 
     public Employee getEmployeeById(int id) throws SQLException {
         String sql = "SELECT * FROM employees WHERE id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        return read(st -> {
+            PreparedStatement ps = st.prepare(sql);
             ps.setInt(1, id);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return mapToEmployee(rs);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapToEmployee(rs) : null;
             }
-        }
-        return null;
+        });
     }
 
 
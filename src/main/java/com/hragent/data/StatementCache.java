@@ -0,0 +1,61 @@
+package com.hragent.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// StatementCache: Cache PreparedStatement per koneksi, di-key dengan teks SQL.
+// SQL tetap milik SQLiteDataStore cukup di-compile sekali; pemanggil TIDAK boleh
+// menutup statement hasil prepare(), cukup menutup ResultSet-nya.
+
+public class StatementCache implements AutoCloseable {
+
+    private final Connection conn;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    private final AtomicLong prepared = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+
+    public StatementCache(Connection conn) {
+        this.conn = conn;
+    }
+
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement ps = statements.get(sql);
+        if (ps != null && !ps.isClosed()) {
+            ps.clearParameters();
+            reused.incrementAndGet();
+            return ps;
+        }
+        ps = conn.prepareStatement(sql);
+        statements.put(sql, ps);
+        prepared.incrementAndGet();
+        return ps;
+    }
+
+    public long getPrepared() { return prepared.get(); }
+    public long getReused() { return reused.get(); }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException first = null;
+        for (PreparedStatement ps : statements.values()) {
+            try {
+                ps.close();
+            } catch (SQLException e) {
+                if (first == null) first = e;
+            }
+        }
+        statements.clear();
+        if (first != null) throw first;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StatementCache[cached=%d, prepared=%d, reused=%d]",
+                statements.size(), getPrepared(), getReused());
+    }
+}
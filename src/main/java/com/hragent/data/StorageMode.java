@@ -0,0 +1,61 @@
+package com.hragent.data;
+
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.Locale;
+
+// StorageMode: Pilihan implementasi HrRepository, dari -Dhragent.storage (default sqlite)
+// - SQLITE: SQLiteDataStore; file (hragent.db.path) tahan restart, atau in-memory.
+//           Lookup Employee lewat CachingRepository kecuali -Dhragent.cache.employees=0
+// - MEMORY: DataStore dari CSV; tercepat, perubahan hilang saat restart
+// - HYBRID: WriteThroughRepository; baca dari DataStore, tulis ke SQLite lalu DataStore
+
+public enum StorageMode {
+    SQLITE,
+    MEMORY,
+    HYBRID;
+
+    public static StorageMode fromConfig() {
+        return parse(System.getProperty("hragent.storage", "sqlite"));
+    }
+
+    public static StorageMode parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Storage tidak dikenal: " + value + " (sqlite|memory|hybrid)", e);
+        }
+    }
+
+    // dbPath: file SQLite (null = in-memory), dataDir: folder CSV untuk import awal
+    public HrRepository open(String dbPath, String dataDir) throws SQLException {
+        switch (this) {
+            case MEMORY:
+                return CsvLoader.loadAllData(Paths.get(dataDir));
+            case HYBRID: {
+                SQLiteDataStore durable = openSqlite(dbPath, dataDir);
+                DataStore memory = new DataStore();
+                long start = System.currentTimeMillis();
+                durable.copyInto(memory);
+                System.out.println("✅ Copied " + memory.getTotalEmployees() + " employees into memory in "
+                        + (System.currentTimeMillis() - start) + "ms");
+                return new WriteThroughRepository(durable, memory);
+            }
+            default: {
+                SQLiteDataStore store = openSqlite(dbPath, dataDir);
+                return CachingRepository.DEFAULT_MAX_ENTRIES > 0 ? new CachingRepository(store) : store;
+            }
+        }
+    }
+
+    private static SQLiteDataStore openSqlite(String dbPath, String dataDir) throws SQLException {
+        SQLiteDataStore store = new SQLiteDataStore(dbPath);
+        if (store.isPopulated()) {
+            // Mode file: data dari sesi sebelumnya dipakai langsung, tanpa import ulang
+            System.out.println("✅ Database already populated, skipping CSV import.");
+        } else {
+            store.bootstrapFromCsv(dataDir);
+        }
+        return store;
+    }
+}
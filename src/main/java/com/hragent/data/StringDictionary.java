@@ -0,0 +1,59 @@
+package com.hragent.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// StringDictionary: Interning nilai kategori (tipe cuti, status, jabatan, departemen)
+// menjadi ordinal kecil, supaya kolom di DataStore cukup berupa short[] dan setiap
+// nilai String hanya disimpan sekali. Ordinal -1 = null.
+// Mode ignoreCase: "tahunan" dan "Tahunan" mendapat ordinal yang sama, dengan ejaan
+// yang pertama kali muncul sebagai nilai tampilannya. Tidak thread-safe.
+
+final class StringDictionary {
+
+    static final int NULL = -1;
+
+    private final boolean ignoreCase;
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+
+    StringDictionary(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    int intern(String value) {
+        if (value == null) return NULL;
+        String key = key(value);
+        Integer ordinal = ordinals.get(key);
+        if (ordinal != null) return ordinal;
+        int next = values.size();
+        if (next > Short.MAX_VALUE) {
+            throw new IllegalStateException("Terlalu banyak nilai unik untuk kolom kategori: " + value);
+        }
+        values.add(value);
+        ordinals.put(key, next);
+        return next;
+    }
+
+    // Ordinal nilai yang sudah ada, atau -1 jika belum pernah di-intern
+    int find(String value) {
+        if (value == null) return NULL;
+        Integer ordinal = ordinals.get(key(value));
+        return ordinal != null ? ordinal : NULL;
+    }
+
+    String get(int ordinal) {
+        return ordinal == NULL ? null : values.get(ordinal);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    private String key(String value) {
+        return ignoreCase ? value.toLowerCase(Locale.ROOT) : value;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hragent.data;
+
+// StringRowIndex: Index id teks (id_request, id_review) -> nomor baris untuk kolom String[]
+// di DataStore. Open addressing berisi baris + 1 (0 = kosong); key tidak disalin, dibandingkan
+// langsung dengan isi kolom (hash String sudah di-cache oleh String itu sendiri).
+// Jika id yang sama ditambahkan lagi, baris pertama yang dipertahankan. Tidak thread-safe.
+
+final class StringRowIndex {
+
+    private int[] table;
+    private int entries;
+
+    StringRowIndex(int expectedSize) {
+        table = new int[Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1];
+    }
+
+    void add(String key, int row, String[] column) {
+        if (key == null) return;
+        int mask = table.length - 1;
+        int i = key.hashCode() & mask;
+        int entry;
+        while ((entry = table[i]) != 0) {
+            if (key.equals(column[entry - 1])) return;
+            i = (i + 1) & mask;
+        }
+        table[i] = row + 1;
+        if (++entries * 2 > table.length) {
+            rehash(table.length * 2, column);
+        }
+    }
+
+    // Nomor baris untuk key, atau -1 jika tidak ada
+    int find(String key, String[] column) {
+        if (key == null) return -1;
+        int mask = table.length - 1;
+        int i = key.hashCode() & mask;
+        int entry;
+        while ((entry = table[i]) != 0) {
+            if (key.equals(column[entry - 1])) return entry - 1;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity, String[] column) {
+        int[] old = table;
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int entry : old) {
+            if (entry == 0) continue;
+            int i = column[entry - 1].hashCode() & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = entry;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.hragent.data;
+
+import com.hragent.domain.Employee;
+import com.hragent.domain.LeaveBalance;
+import com.hragent.domain.LeaveRequest;
+import com.hragent.domain.PerformanceReview;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// WriteThroughRepository: Mode hybrid. Semua baca dari DataStore (heap), semua tulis ke
+// SQLite dulu (sumber kebenaran, tahan restart) lalu diterapkan ke DataStore. Jika tulis ke
+// SQLite gagal, DataStore tidak diubah. Tanggal divalidasi dengan parser DataStore sebelum
+// menyentuh SQLite, karena SQLite menerima teks apa pun sedangkan DataStore akan menolaknya
+// setelah SQLite terlanjur commit. Tulis diserialkan dengan satu lock supaya urutan
+// perubahan di DataStore sama dengan urutan commit di SQLite; baca tidak ikut dikunci.
+// DataStore diisi dari isi SQLite saat start (SQLiteDataStore.copyInto).
+
+public class WriteThroughRepository implements HrRepository {
+
+    private final SQLiteDataStore durable;
+    private final DataStore memory;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public WriteThroughRepository(SQLiteDataStore durable, DataStore memory) {
+        this.durable = durable;
+        this.memory = memory;
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        void apply(HrRepository target) throws SQLException;
+    }
+
+    // Terapkan perubahan yang sama ke SQLite lalu ke DataStore
+    private void writeThrough(Write write) throws SQLException {
+        writeLock.lock();
+        try {
+            write.apply(durable);
+            write.apply(memory);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public SQLiteDataStore getDurable() { return durable; }
+    public DataStore getMemory() { return memory; }
+
+    // ============ READ (DataStore) ============
+
+    @Override
+    public Employee getEmployeeById(int id) {
+        return memory.getEmployeeById(id);
+    }
+
+    @Override
+    public Employee getEmployeeByName(String name) {
+        return memory.getEmployeeByName(name);
+    }
+
+    // Index nama milik SQLiteDataStore sudah terisi dan ikut diperbarui oleh tambahKaryawan
+    @Override
+    public String resolveEmployeeName(String text) {
+        return durable.resolveEmployeeName(text);
+    }
+
+    @Override
+    public Employee getManagerOf(Employee emp) {
+        return memory.getManagerOf(emp);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return memory.getAllEmployees();
+    }
+
+    @Override
+    public List<Employee> getKaryawanByDepartemen(String departemen) {
+        return memory.getKaryawanByDepartemen(departemen);
+    }
+
+    @Override
+    public List<Employee> getKaryawanByJabatan(String jabatan) {
+        return memory.getKaryawanByJabatan(jabatan);
+    }
+
+    @Override
+    public List<Employee> getKaryawanByStatus(String status) {
+        return memory.getKaryawanByStatus(status);
+    }
+
+    @Override
+    public int getLeaveBalance(int idKaryawan, String tipeCuti) {
+        return memory.getLeaveBalance(idKaryawan, tipeCuti);
+    }
+
+    @Override
+    public List<LeaveBalance> getAllLeaveBalances() {
+        return memory.getAllLeaveBalances();
+    }
+
+    @Override
+    public String getLatestLeaveRequestStatus(String idRequest) {
+        return memory.getLatestLeaveRequestStatus(idRequest);
+    }
+
+    @Override
+    public String getLatestLeaveRequestStatus(int idKaryawan) {
+        return memory.getLatestLeaveRequestStatus(idKaryawan);
+    }
+
+    @Override
+    public List<LeaveRequest> getCutiPending() {
+        return memory.getCutiPending();
+    }
+
+    @Override
+    public List<LeaveRequest> getHistoryCuti(int idKaryawan) {
+        return memory.getHistoryCuti(idKaryawan);
+    }
+
+    @Override
+    public List<PerformanceReview> getReviewTerjadwal() {
+        return memory.getReviewTerjadwal();
+    }
+
+    @Override
+    public List<PerformanceReview> getHistoryReview(int idKaryawan) {
+        return memory.getHistoryReview(idKaryawan);
+    }
+
+    // ============ WRITE (SQLite lalu DataStore) ============
+
+    @Override
+    public void tambahKaryawan(int id, String nama, String email, String jabatan, String departemen,
+                               Integer idManajer, String tanggalBergabung, String statusKaryawan) throws SQLException {
+        DataStore.parseDate(tanggalBergabung);
+        writeThrough(t -> t.tambahKaryawan(id, nama, email, jabatan, departemen, idManajer, tanggalBergabung, statusKaryawan));
+    }
+
+    @Override
+    public void updateDataKaryawan(int idKaryawan, String newDepartemen, String newJabatan) throws SQLException {
+        writeThrough(t -> t.updateDataKaryawan(idKaryawan, newDepartemen, newJabatan));
+    }
+
+    @Override
+    public void updateStatusKaryawan(int idKaryawan, String newStatus) throws SQLException {
+        writeThrough(t -> t.updateStatusKaryawan(idKaryawan, newStatus));
+    }
+
+    @Override
+    public void updateLeaveBalance(int idKaryawan, String tipeCuti, int newSisaHari) throws SQLException {
+        writeThrough(t -> t.updateLeaveBalance(idKaryawan, tipeCuti, newSisaHari));
+    }
+
+    // Cek saldo dilakukan oleh SQLite (UPDATE bersyarat); DataStore hanya menyalin hasilnya
+    @Override
+    public int applyLeave(String idRequest, int idKaryawan, String tipeCuti, int hari,
+                          String mulai, String selesai, String status) throws SQLException {
+        DataStore.parseDate(mulai);
+        DataStore.parseDate(selesai);
+        writeLock.lock();
+        try {
+            int sisaBaru = durable.applyLeave(idRequest, idKaryawan, tipeCuti, hari, mulai, selesai, status);
+            if (sisaBaru >= 0) {
+                memory.updateLeaveBalance(idKaryawan, tipeCuti, sisaBaru);
+                memory.insertLeaveRequest(idRequest, idKaryawan, tipeCuti, mulai, selesai, status);
+            }
+            return sisaBaru;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void insertLeaveRequest(String idRequest, int idKaryawan, String tipeCuti,
+                                   String mulai, String selesai, String status) throws SQLException {
+        DataStore.parseDate(mulai);
+        DataStore.parseDate(selesai);
+        writeThrough(t -> t.insertLeaveRequest(idRequest, idKaryawan, tipeCuti, mulai, selesai, status));
+    }
+
+    @Override
+    public void approveRejectCuti(String idCuti, String newStatus) throws SQLException {
+        writeThrough(t -> t.approveRejectCuti(idCuti, newStatus));
+    }
+
+    @Override
+    public void batalkanCuti(String idCuti) throws SQLException {
+        writeThrough(t -> t.batalkanCuti(idCuti));
+    }
+
+    @Override
+    public void updateStatusCuti(String idCuti, String newStatus) throws SQLException {
+        writeThrough(t -> t.updateStatusCuti(idCuti, newStatus));
+    }
+
+    @Override
+    public void updateSisaCuti(int idKaryawan, String leaveType, int newBalance) throws SQLException {
+        writeThrough(t -> t.updateSisaCuti(idKaryawan, leaveType, newBalance));
+    }
+
+    @Override
+    public void resetCutiTahunan(int jumlahCutiDefault) throws SQLException {
+        writeThrough(t -> t.resetCutiTahunan(jumlahCutiDefault));
+    }
+
+    @Override
+    public void insertPerformanceReview(String idReview, int empId, int reviewerId, String tanggalReview,
+                                        int skor, String status) throws SQLException {
+        DataStore.parseDate(tanggalReview);
+        writeThrough(t -> t.insertPerformanceReview(idReview, empId, reviewerId, tanggalReview, skor, status));
+    }
+
+    @Override
+    public void updateSkorReview(String idReview, int skorPerforma) throws SQLException {
+        writeThrough(t -> t.updateSkorReview(idReview, skorPerforma));
+    }
+
+    @Override
+    public void batalkanReview(String idReview) throws SQLException {
+        writeThrough(t -> t.batalkanReview(idReview));
+    }
+
+    @Override
+    public void submitHasilReview(String idReview, int skorPerforma, String status) throws SQLException {
+        writeThrough(t -> t.submitHasilReview(idReview, skorPerforma, status));
+    }
+
+    @Override
+    public void close() throws SQLException {
+        durable.close();
+    }
+}
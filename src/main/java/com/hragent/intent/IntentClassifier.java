@@ -0,0 +1,326 @@
+package com.hragent.intent;
+
+import com.hragent.llm.IntentExamples;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// IntentClassifier: Regresi logistik (softmax) atas n-gram karakter (3-4), kata, dan pasangan
+// kata untuk menebak intent lengkap (apply_leave, batalkan_review, ...) beserta confidence,
+// tanpa memanggil LLM. Naive Bayes sempat dicoba, tapi confidence-nya hampir selalu ~1.0
+// sehingga tidak bisa dipakai sebagai ambang.
+// Dilatih dari contoh few-shot (IntentExamples), intent_training.tsv di classpath, dan log
+// trafik opsional yang sudah diperiksa (-Dhragent.intent.trainingLog) dengan format
+// "<intent>\t<perintah>". Label mentah dari LLM tidak pernah dibaca langsung.
+// Teks dinormalisasi dulu: lowercase, spasi dirapikan, semua digit menjadi '0'.
+// Model immutable setelah dilatih, jadi aman dipakai banyak thread.
+
+public class IntentClassifier {
+
+    public static final String UNKNOWN = "unknown";
+    public static final String TRAINING_RESOURCE = "/intent_training.tsv";
+
+    // Batas confidence untuk melewati LLM; hasil leave-one-out ada di TestIntentClassifier
+    public static final double MIN_CONFIDENCE =
+            Double.parseDouble(System.getProperty("hragent.intent.minConfidence", "0.9"));
+
+    private static final int MIN_N = 3;
+    private static final int MAX_N = 4;
+    private static final int EPOCHS = 20;
+    private static final double LEARNING_RATE = 2.0;
+    private static final double L2 = 1e-4;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String[] labels;
+    private final float[] weights;            // [feature * labels.length + label]
+    private final double[] bias;
+    private final long[] featureKeys;         // open addressing: n-gram terpaket -> feature id
+    private final int[] featureIds;           // id + 1, 0 = kosong
+    private final int featureMask;
+
+    private final AtomicLong predictions = new AtomicLong();
+    private final AtomicLong confident = new AtomicLong();
+
+    private IntentClassifier(List<String[]> samples) {
+        Map<String, Integer> labelIndex = new LinkedHashMap<>();
+        for (String[] sample : samples) labelIndex.putIfAbsent(sample[0], labelIndex.size());
+        this.labels = labelIndex.keySet().toArray(new String[0]);
+        int classes = labels.length;
+
+        // Kamus fitur dari seluruh data latih
+        Map<Long, Integer> dictionary = new LinkedHashMap<>();
+        long[][] sampleGrams = new long[samples.size()][];
+        for (int i = 0; i < samples.size(); i++) {
+            sampleGrams[i] = distinct(ngrams(normalize(samples.get(i)[1])));
+            for (long gram : sampleGrams[i]) dictionary.putIfAbsent(gram, dictionary.size());
+        }
+        int features = dictionary.size();
+        int capacity = Integer.highestOneBit(Math.max(4, features) * 4);
+        this.featureKeys = new long[capacity];
+        this.featureIds = new int[capacity];
+        this.featureMask = capacity - 1;
+        for (Map.Entry<Long, Integer> entry : dictionary.entrySet()) {
+            int slot = slotOf(entry.getKey());
+            featureKeys[slot] = entry.getKey();
+            featureIds[slot] = entry.getValue() + 1;
+        }
+        int[][] x = new int[samples.size()][];
+        int[] y = new int[samples.size()];
+        for (int i = 0; i < samples.size(); i++) {
+            x[i] = new int[sampleGrams[i].length];
+            for (int j = 0; j < x[i].length; j++) x[i][j] = dictionary.get(sampleGrams[i][j]);
+            y[i] = labelIndex.get(samples.get(i)[0]);
+        }
+
+        // Regresi logistik softmax, SGD dengan urutan acak tetap (seed) supaya hasil deterministik
+        this.weights = new float[features * classes];
+        this.bias = new double[classes];
+        double[] p = new double[classes];
+        double[] gradient = new double[classes];
+        int[] order = new int[samples.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Random random = new Random(17);
+        for (int epoch = 0; epoch < EPOCHS; epoch++) {
+            double rate = LEARNING_RATE / (1 + 0.05 * epoch);
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = order[i]; order[i] = order[j]; order[j] = t;
+            }
+            for (int i : order) {
+                float scale = (float) (1 / Math.sqrt(Math.max(1, x[i].length)));
+                softmax(x[i], scale, p);
+                for (int c = 0; c < classes; c++) {
+                    gradient[c] = p[c] - (c == y[i] ? 1 : 0);
+                    bias[c] -= rate * gradient[c];
+                }
+                // Baris bobot per fitur berurutan per kelas, jadi loop fitur di luar
+                for (int f : x[i]) {
+                    int base = f * classes;
+                    for (int c = 0; c < classes; c++) {
+                        weights[base + c] -= (float) (rate * (gradient[c] * scale + L2 * weights[base + c]));
+                    }
+                }
+            }
+        }
+    }
+
+    // ============ TRAINING ============
+
+    public static IntentClassifier train(List<String[]> samples) {
+        if (samples.isEmpty()) throw new IllegalArgumentException("Data latih kosong");
+        return new IntentClassifier(samples);
+    }
+
+    // Contoh few-shot + intent_training.tsv + log trafik (jika ada)
+    public static IntentClassifier loadDefault() {
+        List<String[]> samples = defaultSamples();
+        String log = System.getProperty("hragent.intent.trainingLog");
+        if (log != null && Files.exists(Path.of(log))) {
+            try (BufferedReader reader = Files.newBufferedReader(Path.of(log), StandardCharsets.UTF_8)) {
+                samples.addAll(readTsv(reader));
+            } catch (IOException e) {
+                System.err.println("⚠️ Gagal membaca log intent " + log + ": " + e.getMessage());
+            }
+        }
+        return train(samples);
+    }
+
+    public static List<String[]> defaultSamples() {
+        List<String[]> samples = new ArrayList<>();
+        for (IntentExamples.Example example : IntentExamples.ALL) {
+            samples.add(new String[] { example.getIntent(), example.getText() });
+        }
+        try (InputStream in = IntentClassifier.class.getResourceAsStream(TRAINING_RESOURCE)) {
+            if (in != null) {
+                samples.addAll(readTsv(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return samples;
+    }
+
+    static List<String[]> readTsv(BufferedReader reader) throws IOException {
+        List<String[]> samples = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+            int tab = line.indexOf('\t');
+            if (tab <= 0 || tab == line.length() - 1) continue;
+            samples.add(new String[] { line.substring(0, tab).trim(), line.substring(tab + 1).trim() });
+        }
+        return samples;
+    }
+
+    // Tambahkan satu baris ke log berformat TSV, mis. label LLM yang menunggu diperiksa
+    public static synchronized void appendTrainingLog(Path log, String intent, String command) {
+        String line = intent + "\t" + command.replaceAll("\\s+", " ").trim() + "\n";
+        try {
+            Files.writeString(log, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("⚠️ Gagal menulis log intent " + log + ": " + e.getMessage());
+        }
+    }
+
+    // ============ PREDICTION ============
+
+    public Prediction predict(String text) {
+        long[] grams = distinct(ngrams(normalize(text)));
+        int[] x = new int[grams.length];
+        int known = 0;
+        for (long gram : grams) {
+            int feature = featureOf(gram);
+            if (feature >= 0) x[known++] = feature;
+        }
+        double[] p = new double[labels.length];
+        // Skala memakai jumlah semua fitur, sehingga teks yang banyak fitur asingnya lebih ragu
+        softmax(Arrays.copyOf(x, known), (float) (1 / Math.sqrt(Math.max(1, grams.length))), p);
+
+        int best = 0;
+        for (int c = 1; c < p.length; c++) {
+            if (p[c] > p[best]) best = c;
+        }
+        Prediction prediction = new Prediction(labels[best], p[best]);
+        predictions.incrementAndGet();
+        if (prediction.isConfident(MIN_CONFIDENCE)) confident.incrementAndGet();
+        return prediction;
+    }
+
+    private void softmax(int[] x, float scale, double[] out) {
+        int classes = labels.length;
+        System.arraycopy(bias, 0, out, 0, classes);
+        for (int f : x) {
+            int base = f * classes;
+            for (int c = 0; c < classes; c++) out[c] += weights[base + c] * scale;
+        }
+        double max = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < classes; c++) max = Math.max(max, out[c]);
+        double sum = 0;
+        for (int c = 0; c < classes; c++) {
+            out[c] = Math.exp(out[c] - max);
+            sum += out[c];
+        }
+        for (int c = 0; c < classes; c++) out[c] /= sum;
+    }
+
+    private static long[] distinct(long[] grams) {
+        long[] sorted = grams.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[n++] = sorted[i];
+        }
+        return Arrays.copyOf(sorted, n);
+    }
+
+    public List<String> getLabels() {
+        return Arrays.asList(labels);
+    }
+
+    public int getFeatureCount() {
+        return weights.length / labels.length;
+    }
+
+    public long getPredictions() { return predictions.get(); }
+
+    @Override
+    public String toString() {
+        return String.format("IntentClassifier[labels=%d, features=%d, predictions=%d, confident=%d]",
+                labels.length, getFeatureCount(), getPredictions(), confident.get());
+    }
+
+    // ============ FEATURES ============
+
+    static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 2).append(' ');
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isWhitespace(c)) {
+                if (!space) sb.append(' ');
+                space = true;
+                continue;
+            }
+            sb.append(Character.isDigit(c) ? '0' : c);
+            space = false;
+        }
+        if (!space) sb.append(' ');
+        return sb.toString();
+    }
+
+    // Fitur: n-gram karakter, kata, dan pasangan kata; masing-masing di-hash (FNV-1a 64 bit)
+    // dengan seed berbeda supaya jenis fitur tidak bertabrakan
+    private static long[] ngrams(String text) {
+        int length = text.length();
+        long[] grams = new long[64];
+        int k = 0;
+        for (int n = MIN_N; n <= MAX_N; n++) {
+            for (int i = 0; i + n <= length; i++) {
+                long h = FNV_OFFSET ^ n;
+                for (int j = 0; j < n; j++) h = (h ^ text.charAt(i + j)) * FNV_PRIME;
+                if (k == grams.length) grams = Arrays.copyOf(grams, k * 2);
+                grams[k++] = h;
+            }
+        }
+        // normalize() menjamin teks diawali dan diakhiri satu spasi
+        long previous = 0;
+        int wordStart = 1;
+        for (int i = 1; i < length; i++) {
+            if (text.charAt(i) != ' ') continue;
+            long h = FNV_OFFSET ^ 'W';
+            for (int j = wordStart; j < i; j++) h = (h ^ text.charAt(j)) * FNV_PRIME;
+            if (k + 2 > grams.length) grams = Arrays.copyOf(grams, k * 2 + 2);
+            grams[k++] = h;
+            if (previous != 0) grams[k++] = (previous * 31 + h) * FNV_PRIME;
+            previous = h;
+            wordStart = i + 1;
+        }
+        return Arrays.copyOf(grams, k);
+    }
+
+    private int slotOf(long key) {
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & featureMask;
+        while (featureIds[slot] != 0 && featureKeys[slot] != key) slot = (slot + 1) & featureMask;
+        return slot;
+    }
+
+    private int featureOf(long key) {
+        return featureIds[slotOf(key)] - 1;
+    }
+
+    public static class Prediction {
+        private final String intent;
+        private final double confidence;
+
+        Prediction(String intent, double confidence) {
+            this.intent = intent;
+            this.confidence = confidence;
+        }
+
+        // Nama intent seperti di CommandIntent ("apply_leave"), atau "unknown"
+        public String getIntent() { return intent; }
+        public IntentType getType() { return IntentType.fromIntentName(intent); }
+        public double getConfidence() { return confidence; }
+        public boolean isConfident(double threshold) { return confidence >= threshold && !UNKNOWN.equals(intent); }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%.2f)", intent, confidence);
+        }
+    }
+}
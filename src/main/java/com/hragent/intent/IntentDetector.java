@@ -1,7 +1,10 @@
 package com.hragent.intent;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 // IntentDetector: Menentukan apakah input adalah QUESTION atau COMMAND
 public class IntentDetector {
@@ -16,20 +19,42 @@ public class IntentDetector {
         "bikinin", "set", "atur", "submit", "cek status", "check"
     );
 
+    private static final List<String> ACTION_VERBS = Arrays.asList(
+        "ajukan", "apply", "jadwalkan", "schedule", "buat", "submit"
+    );
+
+    // Semua keyword dalam satu automaton; tiap grup menjadi bitmask di atasnya
+    private static final KeywordMatcher MATCHER;
+    private static final long QUESTION_MASK;
+    private static final long COMMAND_MASK;
+    private static final long CHECK_MASK;
+    private static final long ACTION_VERB_MASK;
+
+    static {
+        Set<String> all = new LinkedHashSet<>();
+        all.addAll(QUESTION_KEYWORDS);
+        all.addAll(COMMAND_KEYWORDS);
+        all.add("cek");
+        MATCHER = new KeywordMatcher(new ArrayList<>(all));
+        QUESTION_MASK = MATCHER.maskOf(QUESTION_KEYWORDS);
+        COMMAND_MASK = MATCHER.maskOf(COMMAND_KEYWORDS);
+        CHECK_MASK = MATCHER.maskOf("cek", "check");
+        ACTION_VERB_MASK = MATCHER.maskOf(ACTION_VERBS);
+    }
+
     public IntentType detect(String input) {
-        String lower = input.toLowerCase().trim();
-        
-        // Hitung keyword hits
-        int questionHits = countHits(lower, QUESTION_KEYWORDS);
-        int commandHits = countHits(lower, COMMAND_KEYWORDS);
+        // Satu kali scan untuk semua keyword (kata utuh, case-insensitive)
+        long hits = MATCHER.matchMask(input);
+        int questionHits = Long.bitCount(hits & QUESTION_MASK);
+        int commandHits = Long.bitCount(hits & COMMAND_MASK);
         
         // Special case: "cek status" adalah command, bukan question
-        if (lower.contains("cek") || lower.contains("check")) {
+        if ((hits & CHECK_MASK) != 0) {
             return IntentType.COMMAND;
         }
         
         // Jika ada tanda tanya, kemungkinan besar question
-        if (lower.contains("?")) {
+        if (input.indexOf('?') >= 0) {
             return IntentType.QUESTION;
         }
         
@@ -41,7 +66,7 @@ public class IntentDetector {
         }
         
         // Default: jika mengandung kata kerja aksi, anggap command
-        if (containsActionVerb(lower)) {
+        if ((hits & ACTION_VERB_MASK) != 0) {
             return IntentType.COMMAND;
         }
         
@@ -52,24 +77,4 @@ public class IntentDetector {
         
         return IntentType.UNKNOWN;
     }
-    
-    private int countHits(String text, List<String> keywords) {
-        int count = 0;
-        for (String keyword : keywords) {
-            if (text.contains(keyword)) {
-                count++;
-            }
-        }
-        return count;
-    }
-    
-    private boolean containsActionVerb(String text) {
-        String[] actionVerbs = {"ajukan", "apply", "jadwalkan", "schedule", "buat", "submit"};
-        for (String verb : actionVerbs) {
-            if (text.contains(verb)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
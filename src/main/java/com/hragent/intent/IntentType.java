@@ -1,5 +1,7 @@
 package com.hragent.intent;
 
+import java.util.Locale;
+
 public enum IntentType {
     QUESTION,
     COMMAND,
@@ -37,5 +39,22 @@ public enum IntentType {
     AJUKAN_RESIGN,
     CEK_KONTRAK,
     REQUEST_DOCUMENT,
-    UPLOAD_DOCUMENT
+    UPLOAD_DOCUMENT;
+
+    // Nama intent dari LLM/CommandIntent ("apply_leave", "riwayat_cuti", ...) ke IntentType
+    public static IntentType fromIntentName(String name) {
+        if (name == null) return UNKNOWN;
+        switch (name) {
+            case "riwayat_cuti": return HISTORY_CUTI;
+            case "lookup_colleague":
+            case "lookup_employee":
+            case "employee_info": return QUERY_EMPLOYEE_INFO;
+            default:
+                try {
+                    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    return UNKNOWN;
+                }
+        }
+    }
 }
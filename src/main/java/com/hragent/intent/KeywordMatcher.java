@@ -0,0 +1,258 @@
+package com.hragent.intent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// KeywordMatcher: Automaton Aho-Corasick untuk banyak keyword sekaligus. Teks dipindai
+// satu kali (huruf diubah ke lowercase per karakter, tanpa membuat String baru) dan
+// semua keyword yang muncul dilaporkan beserta posisinya.
+//
+// Keyword hanya dihitung sebagai kata utuh: karakter sebelum dan sesudahnya bukan huruf/angka,
+// sehingga "apa" tidak cocok di "apakah" atau "siapa". Pengecualian: akhiran "nya" dan "kan"
+// ("statusnya", "buatkan") tetap dihitung sebagai keyword dasarnya.
+
+public final class KeywordMatcher {
+
+    private static final String[] SUFFIXES = { "nya", "kan" };
+    // matchMask memakai satu bit per keyword
+    public static final int MAX_KEYWORDS = 64;
+
+    private final String[] keywords;
+    private final char[] alphabet;        // karakter keyword, terurut (index 0 = karakter lain)
+    private final int alphabetSize;
+    private final byte[] asciiSymbols;    // symbol untuk karakter ASCII, huruf besar sudah dilipat
+    // DFA: transitions[state * alphabetSize + symbol] = offset baris state tujuan
+    // (state * alphabetSize); di-invert (~offset) jika state tujuan punya output
+    private final int[] transitions;
+    private final int[][] outputs;        // keyword yang berakhir di state ini (termasuk lewat failure link)
+
+    public KeywordMatcher(List<String> keywords) {
+        if (keywords.size() > MAX_KEYWORDS) {
+            throw new IllegalArgumentException("Maksimal " + MAX_KEYWORDS + " keyword, diberikan " + keywords.size());
+        }
+        this.keywords = new String[keywords.size()];
+        StringBuilder chars = new StringBuilder();
+        for (int i = 0; i < keywords.size(); i++) {
+            String keyword = keywords.get(i).toLowerCase(Locale.ROOT);
+            if (keyword.isEmpty()) throw new IllegalArgumentException("Keyword kosong");
+            this.keywords[i] = keyword;
+            chars.append(keyword);
+        }
+        this.alphabet = chars.chars().distinct().sorted()
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString().toCharArray();
+        this.alphabetSize = alphabet.length + 1;
+        if (alphabetSize > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Terlalu banyak karakter berbeda di keyword: " + alphabet.length);
+        }
+        this.asciiSymbols = new byte[128];
+        for (int i = 0; i < alphabet.length; i++) {
+            char c = alphabet[i];
+            if (c < 128) {
+                asciiSymbols[c] = (byte) (i + 1);
+                if (c >= 'a' && c <= 'z') asciiSymbols[c - 'a' + 'A'] = (byte) (i + 1);
+            }
+        }
+
+        // Trie
+        List<int[]> gotoRows = new ArrayList<>();
+        List<int[]> outs = new ArrayList<>();
+        gotoRows.add(newRow());
+        outs.add(new int[0]);
+        for (int k = 0; k < this.keywords.length; k++) {
+            int state = 0;
+            for (char c : this.keywords[k].toCharArray()) {
+                int symbol = symbolOf(c);
+                if (gotoRows.get(state)[symbol] < 0) {
+                    gotoRows.get(state)[symbol] = gotoRows.size();
+                    gotoRows.add(newRow());
+                    outs.add(new int[0]);
+                }
+                state = gotoRows.get(state)[symbol];
+            }
+            outs.set(state, append(outs.get(state), k));
+        }
+
+        // Failure link (BFS), langsung dilipat menjadi tabel DFA penuh
+        int states = gotoRows.size();
+        int[] fail = new int[states];
+        int[] next = new int[states * alphabetSize];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int s = 0; s < alphabetSize; s++) {
+            int child = gotoRows.get(0)[s];
+            if (child < 0) {
+                next[s] = 0;
+            } else {
+                next[s] = child;
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outs.set(state, merge(outs.get(state), outs.get(fail[state])));
+            for (int s = 0; s < alphabetSize; s++) {
+                int child = gotoRows.get(state)[s];
+                if (child < 0) {
+                    next[state * alphabetSize + s] = next[fail[state] * alphabetSize + s];
+                } else {
+                    next[state * alphabetSize + s] = child;
+                    fail[child] = next[fail[state] * alphabetSize + s];
+                    queue.add(child);
+                }
+            }
+        }
+        this.outputs = outs.toArray(new int[0][]);
+        this.transitions = new int[next.length];
+        for (int i = 0; i < next.length; i++) {
+            int offset = next[i] * alphabetSize;
+            transitions[i] = outputs[next[i]].length > 0 ? ~offset : offset;
+        }
+    }
+
+    public KeywordMatcher(String... keywords) {
+        this(Arrays.asList(keywords));
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public String keyword(int index) {
+        return keywords[index];
+    }
+
+    // Bit ke-i menyala jika keyword ke-i muncul sebagai kata utuh. Tanpa alokasi.
+    public long matchMask(CharSequence text) {
+        long mask = 0;
+        int row = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            int target = transitions[row + foldedSymbol(text.charAt(i))];
+            if (target >= 0) {
+                row = target;
+                continue;
+            }
+            row = ~target;
+            for (int k : outputs[row / alphabetSize]) {
+                if (isWholeWord(text, i + 1 - keywords[k].length(), i + 1)) {
+                    mask |= 1L << k;
+                }
+            }
+        }
+        return mask;
+    }
+
+    // Semua kemunculan (kata utuh) berurutan menurut posisi akhir
+    public List<Match> findAll(CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        int row = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            int target = transitions[row + foldedSymbol(text.charAt(i))];
+            if (target >= 0) {
+                row = target;
+                continue;
+            }
+            row = ~target;
+            for (int k : outputs[row / alphabetSize]) {
+                int start = i + 1 - keywords[k].length();
+                if (isWholeWord(text, start, i + 1)) {
+                    matches.add(new Match(k, keywords[k], start, i + 1));
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Mask untuk sekumpulan keyword, dipakai untuk menguji grup ("ada keyword pertanyaan?")
+    public long maskOf(String... group) {
+        long mask = 0;
+        for (String keyword : group) {
+            int index = Arrays.asList(keywords).indexOf(keyword.toLowerCase(Locale.ROOT));
+            if (index < 0) throw new IllegalArgumentException("Keyword tidak terdaftar: " + keyword);
+            mask |= 1L << index;
+        }
+        return mask;
+    }
+
+    public long maskOf(List<String> group) {
+        return maskOf(group.toArray(new String[0]));
+    }
+
+    private static boolean isWholeWord(CharSequence text, int start, int end) {
+        if (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) return false;
+        if (end == text.length() || !Character.isLetterOrDigit(text.charAt(end))) return true;
+        for (String suffix : SUFFIXES) {
+            int suffixEnd = end + suffix.length();
+            if (suffixEnd <= text.length() && regionMatchesLower(text, end, suffix)
+                    && (suffixEnd == text.length() || !Character.isLetterOrDigit(text.charAt(suffixEnd)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionMatchesLower(CharSequence text, int offset, String lower) {
+        for (int i = 0; i < lower.length(); i++) {
+            if (Character.toLowerCase(text.charAt(offset + i)) != lower.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private int foldedSymbol(char c) {
+        return c < 128 ? asciiSymbols[c] : symbolOf(Character.toLowerCase(c));
+    }
+
+    private int symbolOf(char c) {
+        if (c < 128) return asciiSymbols[c];
+        int index = Arrays.binarySearch(alphabet, c);
+        return index < 0 ? 0 : index + 1;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] copy = Arrays.copyOf(values, values.length + 1);
+        copy[values.length] = value;
+        return copy;
+    }
+
+    private static int[] merge(int[] own, int[] inherited) {
+        if (inherited.length == 0) return own;
+        int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+        return merged;
+    }
+
+    public static final class Match {
+        private final int index;
+        private final String keyword;
+        private final int start;
+        private final int end;
+
+        Match(int index, String keyword, int start, int end) {
+            this.index = index;
+            this.keyword = keyword;
+            this.start = start;
+            this.end = end;
+        }
+
+        public int getIndex() { return index; }
+        public String getKeyword() { return keyword; }
+        public int getStart() { return start; }
+        public int getEnd() { return end; }
+
+        @Override
+        public String toString() {
+            return keyword + "@" + start;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.hragent.intent;
+
+import com.hragent.llm.CommandIntent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// RuleBasedIntentParser: Parser berbasis regex untuk perintah yang formatnya baku
+// ("approve cuti LR001", "batalkan review REV-002", ...). Hasilnya langsung berupa
+// CommandIntent sehingga tidak perlu round trip ke LLM. Match penuh = confidence tinggi,
+// match sebagian (ada teks sisa) = confidence rendah dan sebaiknya diteruskan ke LLM.
+
+public class RuleBasedIntentParser {
+
+    public static final double MIN_CONFIDENCE = 0.9;
+
+    // Nilai bebas (nama, departemen, jabatan) maksimal 3 kata dan tidak boleh memuat kata
+    // penghubung, supaya "departemen sales yang aktif" tidak dianggap match penuh
+    private static final String STOP = "(?!(?:yang|dan|dengan|di|dari|untuk|ke|jadi)\\b)";
+    private static final String ID = "([a-z]{1,5}-?\\d{1,6})";
+    private static final String NAME = "(" + STOP + "[a-z.']+(?: " + STOP + "[a-z.']+){0,2})";
+    private static final String VALUE = "(" + STOP + "[a-z0-9&/.-]+(?: " + STOP + "[a-z0-9&/.-]+){0,2})";
+
+    private static final Set<String> SLOTLESS_INTENTS = Set.of("list_cuti_pending", "list_review_terjadwal");
+    // Hanya intent baca yang boleh dijawab classifier + extractSlots. Slot dicari di mana saja
+    // dalam teks, jadi "jangan approve cuti LR001" tetap menemukan LR001; untuk intent yang
+    // mengubah data (approve/tolak/batalkan cuti, review, saldo) salah tebak tidak boleh terjadi.
+    private static final Set<String> READ_ONLY_INTENTS = Set.of("cek_status_cuti", "list_cuti_pending",
+            "history_cuti", "list_karyawan_departemen", "list_karyawan_jabatan", "list_karyawan_status",
+            "list_review_terjadwal", "history_review");
+
+    private static final Pattern TRAILING_PUNCT = Pattern.compile("[?!.,\\s]+$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLong unmatched = new AtomicLong();
+
+    public RuleBasedIntentParser() {
+        // ============ LEAVE MANAGEMENT ============
+        rule("approve_reject_cuti",
+            "(?:tolong )?(?:approve|setujui|acc) (?:pengajuan )?cuti (?:dengan )?(?:id )?" + ID,
+            (m, i) -> { i.setLeaveId(id(m.group(1))); i.setStatus("Disetujui"); });
+        rule("approve_reject_cuti",
+            "(?:tolong )?(?:reject|tolak) (?:pengajuan )?cuti (?:dengan )?(?:id )?" + ID,
+            (m, i) -> { i.setLeaveId(id(m.group(1))); i.setStatus("Ditolak"); });
+        rule("batalkan_cuti",
+            "(?:tolong )?(?:batalkan|batalin|cancel) (?:pengajuan )?cuti (?:dengan )?(?:id )?" + ID,
+            (m, i) -> i.setLeaveId(id(m.group(1))));
+        rule("cek_status_cuti",
+            "(?:cek|check) status cuti (?:dengan )?(?:id )?" + ID,
+            (m, i) -> i.setLeaveId(id(m.group(1))));
+        rule("list_cuti_pending",
+            "(?:list|daftar|lihat|tampilkan) (?:semua )?(?:pengajuan )?cuti (?:yang )?(?:pending|menunggu(?: persetujuan)?)",
+            (m, i) -> { });
+        rule("history_cuti",
+            "(?:riwayat|history) cuti " + NAME,
+            (m, i) -> i.setEmployeeName(title(m.group(1))));
+
+        // ============ EMPLOYEE MANAGEMENT ============
+        rule("list_karyawan_departemen",
+            "(?:list|daftar|tampilkan|lihat) (?:semua )?karyawan (?:di )?(?:departemen|dept) " + VALUE,
+            (m, i) -> i.setDepartment(title(m.group(1))));
+        rule("list_karyawan_jabatan",
+            "(?:siapa saja yang jabatannya|(?:list|daftar|tampilkan) (?:semua )?karyawan (?:dengan |yang )?jabatan(?:nya)?) " + VALUE,
+            (m, i) -> i.setPosition(title(m.group(1))));
+        rule("list_karyawan_status",
+            "(?:list|daftar|tampilkan) (?:semua )?karyawan (?:yang |dengan )?status(?:nya)? " + VALUE,
+            (m, i) -> i.setStatus(title(m.group(1))));
+
+        // ============ PERFORMANCE REVIEW ============
+        rule("list_review_terjadwal",
+            "(?:list|daftar|lihat|tampilkan) (?:semua )?review (?:yang )?(?:terjadwal|dijadwalkan)",
+            (m, i) -> { });
+        rule("update_skor_review",
+            "update skor review " + ID + " (?:jadi|menjadi|ke) (\\d{1,3})",
+            (m, i) -> { i.setReviewId(id(m.group(1))); i.setScore(Integer.parseInt(m.group(2))); });
+        rule("batalkan_review",
+            "(?:tolong )?(?:batalkan|batalin|cancel) review " + ID,
+            (m, i) -> i.setReviewId(id(m.group(1))));
+        rule("submit_hasil_review",
+            "submit hasil review " + ID + " (?:dengan )?skor (\\d{1,3})",
+            (m, i) -> { i.setReviewId(id(m.group(1))); i.setScore(Integer.parseInt(m.group(2))); });
+        rule("history_review",
+            "(?:riwayat|history) review " + NAME,
+            (m, i) -> i.setEmployeeName(title(m.group(1))));
+    }
+
+    public Match parse(String command) {
+        if (command == null) return null;
+        String text = normalize(command);
+
+        Match best = null;
+        for (Rule rule : rules) {
+            Matcher m = rule.pattern.matcher(text);
+            double confidence;
+            if (m.matches()) {
+                confidence = 1.0;
+            } else if (m.lookingAt()) {
+                confidence = 0.5;
+            } else {
+                continue;
+            }
+
+            CommandIntent intent = new CommandIntent();
+            intent.setIntent(rule.intent);
+            rule.extractor.accept(m, intent);
+            best = new Match(intent, confidence);
+            if (confidence >= MIN_CONFIDENCE) break;
+        }
+
+        if (best != null && best.isConfident()) matched.incrementAndGet();
+        else unmatched.incrementAndGet();
+        return best;
+    }
+
+    // Slot untuk intent yang sudah ditebak IntentClassifier: cari pola rule intent tersebut di
+    // mana saja dalam teks ("tolong dong approve cuti LR001 ya"). Hanya rule yang slotnya ID
+    // atau angka; nama/departemen bebas terlalu mudah salah potong tanpa match penuh.
+    // Intent tanpa slot sama sekali dikembalikan apa adanya. null = tidak ada slot yang cocok
+    // atau intent mengubah data (harus lewat match rule penuh atau LLM).
+    public CommandIntent extractSlots(String command, String intent) {
+        if (command == null || intent == null || !READ_ONLY_INTENTS.contains(intent)) return null;
+        String text = normalize(command);
+        boolean known = false;
+        for (Rule rule : rules) {
+            if (!rule.intent.equals(intent)) continue;
+            known = true;
+            if (rule.freeText) continue;
+            Matcher m = rule.pattern.matcher(text);
+            if (m.find()) {
+                CommandIntent result = new CommandIntent();
+                result.setIntent(intent);
+                rule.extractor.accept(m, result);
+                return result;
+            }
+        }
+        if (known && SLOTLESS_INTENTS.contains(intent)) {
+            CommandIntent result = new CommandIntent();
+            result.setIntent(intent);
+            return result;
+        }
+        return null;
+    }
+
+    public long getMatched() { return matched.get(); }
+    public long getUnmatched() { return unmatched.get(); }
+
+    @Override
+    public String toString() {
+        return String.format("RuleBasedIntentParser[matched=%d, fallbackToLLM=%d]", getMatched(), getUnmatched());
+    }
+
+    private void rule(String intent, String regex, BiConsumer<Matcher, CommandIntent> extractor) {
+        boolean freeText = regex.contains(NAME) || regex.contains(VALUE);
+        rules.add(new Rule(intent, Pattern.compile(regex), freeText, extractor));
+    }
+
+    private static String normalize(String command) {
+        String lower = command.toLowerCase(Locale.ROOT).trim();
+        lower = TRAILING_PUNCT.matcher(lower).replaceAll("");
+        return WHITESPACE.matcher(lower).replaceAll(" ");
+    }
+
+    private static String id(String raw) {
+        return raw.toUpperCase(Locale.ROOT);
+    }
+
+    private static String title(String raw) {
+        StringBuilder sb = new StringBuilder(raw.length());
+        boolean upper = true;
+        for (char c : raw.toCharArray()) {
+            sb.append(upper ? Character.toUpperCase(c) : c);
+            upper = c == ' ';
+        }
+        return sb.toString();
+    }
+
+    public static class Match {
+        private final CommandIntent intent;
+        private final double confidence;
+
+        Match(CommandIntent intent, double confidence) {
+            this.intent = intent;
+            this.confidence = confidence;
+        }
+
+        public CommandIntent getIntent() { return intent; }
+        public double getConfidence() { return confidence; }
+        public boolean isConfident() { return confidence >= MIN_CONFIDENCE; }
+    }
+
+    private static final class Rule {
+        final String intent;
+        final Pattern pattern;
+        final boolean freeText;
+        final BiConsumer<Matcher, CommandIntent> extractor;
+
+        Rule(String intent, Pattern pattern, boolean freeText, BiConsumer<Matcher, CommandIntent> extractor) {
+            this.intent = intent;
+            this.pattern = pattern;
+            this.freeText = freeText;
+            this.extractor = extractor;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.hragent.llm;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// BatchDispatcher: Pintu masuk panggilan LLM yang datang bersamaan. Panggilan ditahan sampai
+// jendela waktu (dihitung dari panggilan tertua yang menunggu) habis atau slot kosong sudah
+// terisi, lalu dilepas bersama sebanyak slot yang kosong, maksimal maxBatch sedang berjalan.
+// Ollama tidak punya endpoint batch; request yang aktif bersamaan di-decode dalam satu batch
+// oleh runner (OLLAMA_NUM_PARALLEL slot), jadi maxBatch sebaiknya sama dengan jumlah slot itu.
+// Panggilan tetap jalan di thread pemanggil, sehingga RequestTimings dan listener streaming
+// tidak berubah. Konfigurasi: -Dhragent.llm.batch.maxSize (0 = mati, default) dan
+// -Dhragent.llm.batch.windowMs (default 0 = lepas begitu ada slot kosong).
+
+public class BatchDispatcher {
+
+    public static final int DEFAULT_MAX_BATCH = Integer.getInteger("hragent.llm.batch.maxSize", 0);
+    public static final long DEFAULT_WINDOW_MILLIS = Long.getLong("hragent.llm.batch.windowMs", 0);
+
+    private final long windowNanos;
+    private final int maxBatch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+    private int inFlight;
+    private long batches;
+    private long admitted;
+    private long queueNanos;
+
+    public BatchDispatcher(Duration window, int maxBatch) {
+        if (maxBatch <= 0) throw new IllegalArgumentException("maxBatch harus > 0");
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+    }
+
+    // null jika dimatikan (maxSize 0)
+    public static BatchDispatcher fromSystemProperties() {
+        return DEFAULT_MAX_BATCH > 0
+                ? new BatchDispatcher(Duration.ofMillis(DEFAULT_WINDOW_MILLIS), DEFAULT_MAX_BATCH)
+                : null;
+    }
+
+    // Tunggu giliran; setiap acquire() yang berhasil wajib diikuti release()
+    public void acquire() {
+        lock.lock();
+        try {
+            Ticket ticket = new Ticket(System.nanoTime());
+            waiting.add(ticket);
+            while (true) {
+                long waitNanos = dispatch();
+                if (ticket.admitted) {
+                    queueNanos += System.nanoTime() - ticket.arrivedAt;
+                    return;
+                }
+                try {
+                    if (waitNanos > 0) {
+                        changed.awaitNanos(waitNanos);
+                    } else {
+                        changed.await();
+                    }
+                } catch (InterruptedException e) {
+                    if (ticket.admitted) {
+                        inFlight--;
+                        changed.signalAll();
+                    } else {
+                        waiting.remove(ticket);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for LLM batch", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Lepas satu batch jika slot kosong sudah bisa diisi penuh atau jendela habis.
+    // Hasil = nanodetik sampai jendela panggilan tertua habis, 0 = tunggu sinyal.
+    private long dispatch() {
+        int free = maxBatch - inFlight;
+        if (free <= 0 || waiting.isEmpty()) return 0;
+        long due = waiting.peek().arrivedAt + windowNanos - System.nanoTime();
+        if (waiting.size() < free && due > 0) return due;
+
+        int n = Math.min(free, waiting.size());
+        for (int i = 0; i < n; i++) {
+            waiting.poll().admitted = true;
+        }
+        inFlight += n;
+        batches++;
+        admitted += n;
+        changed.signalAll();
+        return 0;
+    }
+
+    public long getBatches() {
+        lock.lock();
+        try {
+            return batches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getAverageBatchSize() {
+        lock.lock();
+        try {
+            return batches == 0 ? 0 : (double) admitted / batches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return String.format(Locale.ROOT, "BatchDispatcher[window=%dms, maxBatch=%d, batches=%d, avgBatch=%.2f, avgQueueMs=%.2f]",
+                    TimeUnit.NANOSECONDS.toMillis(windowNanos), maxBatch, batches,
+                    batches == 0 ? 0.0 : (double) admitted / batches,
+                    admitted == 0 ? 0.0 : queueNanos / 1e6 / admitted);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Ticket {
+        private final long arrivedAt;
+        private boolean admitted;
+
+        Ticket(long arrivedAt) {
+            this.arrivedAt = arrivedAt;
+        }
+    }
+}
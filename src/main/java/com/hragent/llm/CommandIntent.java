@@ -95,4 +95,24 @@ public class CommandIntent {
     
     public Integer getNewBalance() { return newBalance; }
     public void setNewBalance(Integer newBalance) { this.newBalance = newBalance; }
+
+    public CommandIntent copy() {
+        CommandIntent c = new CommandIntent();
+        c.intent = intent;
+        c.employeeName = employeeName;
+        c.leaveType = leaveType;
+        c.startDate = startDate;
+        c.endDate = endDate;
+        c.reviewerName = reviewerName;
+        c.category = category;
+        c.amount = amount;
+        c.department = department;
+        c.position = position;
+        c.status = status;
+        c.leaveId = leaveId;
+        c.reviewId = reviewId;
+        c.score = score;
+        c.newBalance = newBalance;
+        return c;
+    }
 }
@@ -0,0 +1,151 @@
+package com.hragent.llm;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ExtractionPrompt: Prompt ekstraksi intent dipecah menjadi prefix system yang statis
+// (skema JSON, panduan, contoh few-shot) dan suffix user yang kecil (tanggal + perintah).
+// Prefix identik di setiap panggilan sehingga server model bisa memakai ulang KV cache-nya
+// dan hanya meng-encode suffix. Satu-satunya bagian prefix yang bergantung tanggal adalah
+// contoh "jumat depan", jadi prefix dibuat sekali per hari.
+//
+// Setiap PromptFamily punya prefix sendiri yang hanya memuat intent, field, panduan dan
+// contoh family tersebut; GENERAL memuat semuanya.
+
+public final class ExtractionPrompt {
+
+    private static final String HEADER =
+            "Kamu adalah asisten HR yang mengekstrak informasi terstruktur dari perintah bahasa Indonesia.\n";
+
+    // Field CommandIntent (nama JSON) -> keterangan di skema, urutan sesuai CommandIntent
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+    static {
+        FIELDS.put("employee_name", "\"nama karyawan\"");
+        FIELDS.put("leave_type", "\"Tahunan | Sakit | Cuti Melahirkan\"");
+        FIELDS.put("start_date", "\"YYYY-MM-DD\"");
+        FIELDS.put("end_date", "\"YYYY-MM-DD\"");
+        FIELDS.put("reviewer_name", "\"nama reviewer (optional)\"");
+        FIELDS.put("category", "\"kategori expense (optional)\"");
+        FIELDS.put("amount", "jumlah_nominal (optional)");
+        FIELDS.put("department", "\"nama departemen (optional)\"");
+        FIELDS.put("position", "\"jabatan (optional)\"");
+        FIELDS.put("status", "\"status karyawan (optional)\"");
+        FIELDS.put("leave_id", "\"ID cuti (optional)\"");
+        FIELDS.put("review_id", "\"ID review (optional)\"");
+        FIELDS.put("score", "\"skor performa (optional)\"");
+        FIELDS.put("new_balance", "\"sisa cuti baru (optional)\"");
+    }
+
+    private static final String DATE_GUIDE =
+            "- \"hari ini\", \"besok\", \"lusa\" = tanggal yang diberikan bersama PERINTAH USER\n" +
+            "- \"Senin depan\", \"Jumat depan\" = tanggal hari tersebut minggu depan\n" +
+            "- Jika start_date tidak disebutkan eksplisit, gunakan context \"besok\", \"lusa\", dll\n";
+
+    private static final String END_DATE_GUIDE = "- Jika hanya 1 tanggal disebutkan, end_date = start_date\n";
+
+    private static final String LEAVE_GUIDE =
+            "- \"tahunan\" = Tahunan, \"sakit\" = Sakit\n" +
+            "- 'approve cuti [ID]' atau 'setujui cuti [ID]' = approve_reject_cuti dengan status=Disetujui\n" +
+            "- 'reject cuti [ID]' atau 'tolak cuti [ID]' = approve_reject_cuti dengan status=Ditolak\n" +
+            "- 'batalkan cuti [ID]' atau 'cancel cuti [ID]' = batalkan_cuti\n" +
+            "- 'cek status cuti [ID]' = cek_status_cuti (QUERY only)\n" +
+            "- 'riwayat cuti [nama]' = history_cuti\n";
+
+    private static final String EXPENSE_GUIDE =
+            "- amount berupa angka saja: \"250 ribu\" = 250000, \"1,2 juta\" = 1200000\n";
+
+    private static final String RESPONSE = "RESPONS: Berikan HANYA JSON, tanpa penjelasan atau teks lain.";
+
+    // Prefix terakhir yang dibuat, berlaku untuk satu tanggal
+    private static volatile Cached cached;
+
+    private ExtractionPrompt() {
+    }
+
+    // Prefix system lengkap (GENERAL), sama untuk semua perintah pada tanggal yang sama
+    public static String system(LocalDate today) {
+        return system(PromptFamily.GENERAL, today);
+    }
+
+    public static String system(PromptFamily family, LocalDate today) {
+        Cached current = cached;
+        if (current == null || !current.date.equals(today)) {
+            Map<PromptFamily, String> prompts = new EnumMap<>(PromptFamily.class);
+            for (PromptFamily f : PromptFamily.values()) {
+                prompts.put(f, build(f, today));
+            }
+            current = new Cached(today, prompts);
+            cached = current;
+        }
+        return current.prompts.get(family);
+    }
+
+    // Suffix user: bagian yang berubah per panggilan, diletakkan setelah prefix
+    public static String user(String userCommand, LocalDate today) {
+        return "HARI INI: " + today + "\n" +
+                "- \"besok\" = " + today.plusDays(1) + "\n" +
+                "- \"lusa\" = " + today.plusDays(2) + "\n\n" +
+                "PERINTAH USER: \"" + userCommand + "\"";
+    }
+
+    private static String build(PromptFamily family, LocalDate today) {
+        StringBuilder sb = new StringBuilder(HEADER);
+        if (family.getTopic() != null) {
+            sb.append("Perintah berikut tentang ").append(family.getTopic()).append(".\n");
+        }
+        sb.append("\nTUGAS: Ekstrak informasi dari PERINTAH USER ke format JSON ini:\n{\n")
+          .append("  \"intent\": \"").append(String.join(" | ", family.getIntents())).append('"');
+        for (Map.Entry<String, String> field : FIELDS.entrySet()) {
+            if (family.getFields().contains(field.getKey())) {
+                sb.append(",\n  \"").append(field.getKey()).append("\": ").append(field.getValue());
+            }
+        }
+        sb.append("\n}\n\n");
+
+        StringBuilder guide = new StringBuilder();
+        if (family.usesDates()) guide.append(DATE_GUIDE);
+        if (family.getFields().contains("end_date")) guide.append(END_DATE_GUIDE);
+        if (family == PromptFamily.LEAVE || family == PromptFamily.GENERAL) guide.append(LEAVE_GUIDE);
+        if (family == PromptFamily.EXPENSE || family == PromptFamily.GENERAL) guide.append(EXPENSE_GUIDE);
+        if (guide.length() > 0) sb.append("PANDUAN:\n").append(guide).append('\n');
+
+        List<IntentExamples.Example> examples = new ArrayList<>();
+        for (IntentExamples.Example example : IntentExamples.ALL) {
+            if (family.includesExample(example)) examples.add(example);
+        }
+        sb.append("CONTOH INTENT:\n\n").append(IntentExamples.render(examples, nextFriday(today)));
+
+        if (family.getTopic() != null) {
+            sb.append("Jika perintah bukan tentang ").append(family.getTopic())
+              .append(", berikan {\"intent\": \"unknown\"}.\n");
+        } else {
+            sb.append("Jika perintah tidak cocok dengan intent mana pun di atas, berikan {\"intent\": \"unknown\"}.\n");
+        }
+        return sb.append(RESPONSE).toString();
+    }
+
+    static LocalDate nextFriday(LocalDate from) {
+        LocalDate next = from;
+        while (next.getDayOfWeek().getValue() != 5) {
+            next = next.plusDays(1);
+        }
+        if (next.equals(from)) {
+            next = next.plusDays(7);
+        }
+        return next;
+    }
+
+    private static final class Cached {
+        private final LocalDate date;
+        private final Map<PromptFamily, String> prompts;
+
+        Cached(LocalDate date, Map<PromptFamily, String> prompts) {
+            this.date = date;
+            this.prompts = prompts;
+        }
+    }
+}
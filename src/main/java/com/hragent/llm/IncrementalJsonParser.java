@@ -0,0 +1,139 @@
+package com.hragent.llm;
+
+// IncrementalJsonParser: Parser JSON bertahap untuk objek datar ({"key": value, ...}) seperti
+// CommandIntent. Teks dimasukkan potongan demi potongan lewat feed(); setiap pasangan
+// key/value yang selesai langsung dilaporkan ke IntentListener. Value objek/array tidak
+// didukung: parser berhenti melapor dan jawaban lengkap tetap di-parse Jackson seperti biasa.
+
+public final class IncrementalJsonParser {
+
+    private enum State { BEFORE_OBJECT, BEFORE_KEY, KEY, AFTER_KEY, BEFORE_VALUE, STRING, LITERAL, AFTER_VALUE, DONE, FAILED }
+
+    private final IntentListener listener;
+    private final StringBuilder token = new StringBuilder();
+    private State state = State.BEFORE_OBJECT;
+    private String key;
+    private boolean escape;
+    private int unicodeDigits = -1;     // >= 0 saat membaca \\uXXXX
+    private int unicodeValue;
+
+    public IncrementalJsonParser(IntentListener listener) {
+        this.listener = listener;
+    }
+
+    public void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && state != State.DONE && state != State.FAILED; i++) {
+            accept(chunk.charAt(i));
+        }
+    }
+
+    // Akhir stream: value literal terakhir yang belum ditutup "}" (jawaban terpotong) ikut dilaporkan
+    public void finish() {
+        if (state == State.LITERAL) {
+            emitLiteral();
+            state = State.DONE;
+        }
+    }
+
+    public boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    private void accept(char c) {
+        switch (state) {
+            case BEFORE_OBJECT:
+                if (c == '{') state = State.BEFORE_KEY;
+                break;      // teks sebelum objek diabaikan
+            case BEFORE_KEY:
+                if (c == '"') {
+                    token.setLength(0);
+                    state = State.KEY;
+                } else if (c == '}') {
+                    state = State.DONE;
+                } else if (!Character.isWhitespace(c) && c != ',') {
+                    state = State.FAILED;
+                }
+                break;
+            case KEY:
+                if (readString(c)) {
+                    key = token.toString();
+                    state = State.AFTER_KEY;
+                }
+                break;
+            case AFTER_KEY:
+                if (c == ':') state = State.BEFORE_VALUE;
+                else if (!Character.isWhitespace(c)) state = State.FAILED;
+                break;
+            case BEFORE_VALUE:
+                if (c == '"') {
+                    token.setLength(0);
+                    state = State.STRING;
+                } else if (c == '{' || c == '[') {
+                    state = State.FAILED;
+                } else if (!Character.isWhitespace(c)) {
+                    token.setLength(0);
+                    token.append(c);
+                    state = State.LITERAL;
+                }
+                break;
+            case STRING:
+                if (readString(c)) {
+                    listener.onField(key, token.toString());
+                    state = State.AFTER_VALUE;
+                }
+                break;
+            case LITERAL:
+                if (c == ',' || c == '}' || Character.isWhitespace(c)) {
+                    emitLiteral();
+                    state = c == ',' ? State.BEFORE_KEY : c == '}' ? State.DONE : State.AFTER_VALUE;
+                } else {
+                    token.append(c);
+                }
+                break;
+            case AFTER_VALUE:
+                if (c == ',') state = State.BEFORE_KEY;
+                else if (c == '}') state = State.DONE;
+                else if (!Character.isWhitespace(c)) state = State.FAILED;
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Karakter di dalam string; true jika tanda kutip penutup tercapai
+    private boolean readString(char c) {
+        if (unicodeDigits >= 0) {
+            unicodeValue = unicodeValue * 16 + Character.digit(c, 16);
+            if (++unicodeDigits == 4) {
+                token.append((char) unicodeValue);
+                unicodeDigits = -1;
+            }
+            return false;
+        }
+        if (escape) {
+            escape = false;
+            switch (c) {
+                case 'n': token.append('\n'); break;
+                case 't': token.append('\t'); break;
+                case 'r': token.append('\r'); break;
+                case 'b': token.append('\b'); break;
+                case 'f': token.append('\f'); break;
+                case 'u': unicodeDigits = 0; unicodeValue = 0; break;
+                default: token.append(c);
+            }
+            return false;
+        }
+        if (c == '\\') {
+            escape = true;
+            return false;
+        }
+        if (c == '"') return true;
+        token.append(c);
+        return false;
+    }
+
+    private void emitLiteral() {
+        String literal = token.toString();
+        listener.onField(key, "null".equals(literal) ? null : literal);
+    }
+}
@@ -0,0 +1,162 @@
+package com.hragent.llm;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+// IntentCache: Cache hasil ekstraksi LLM (perintah ter-normalisasi -> CommandIntent)
+// dengan batas ukuran (LRU) dan TTL. Perintah yang memakai kata tanggal relatif
+// ("besok", "lusa", "depan", ...) diberi key per tanggal dan kedaluwarsa tengah malam,
+// karena prompt ekstraksi menyisipkan LocalDate.now().
+
+public class IntentCache {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}@.\\-]+");
+    private static final Pattern DATE_RELATIVE = Pattern.compile(
+        "\\b(hari ini|besok|lusa|kemarin|depan|lalu|minggu ini|bulan ini|tahun ini|" +
+        "senin|selasa|rabu|kamis|jumat|sabtu|minggu|today|tomorrow|next)\\b");
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    public IntentCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemDefaultZone());
+    }
+
+    public IntentCache(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public CommandIntent get(String userCommand) {
+        String key = keyFor(userCommand);
+        long now = clock.millis();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (entry.expiresAt <= now) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.intent.copy();
+        }
+    }
+
+    public void put(String userCommand, CommandIntent intent) {
+        if (intent == null || maxEntries <= 0) return;
+
+        String key = keyFor(userCommand);
+        long expiresAt = clock.millis() + ttl.toMillis();
+        if (isDateRelative(normalize(userCommand))) {
+            expiresAt = Math.min(expiresAt, nextMidnightMillis());
+        }
+
+        synchronized (this) {
+            entries.put(key, new Entry(intent.copy(), expiresAt));
+            evictOverflow();
+        }
+    }
+
+    // Catat durasi panggilan model untuk estimasi waktu yang dihemat oleh cache
+    public void recordLoad(long nanos) {
+        loads.incrementAndGet();
+        loadNanos.addAndGet(nanos);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+
+    public long getAverageLoadMillis() {
+        long n = loads.get();
+        return n == 0 ? 0 : loadNanos.get() / n / 1_000_000;
+    }
+
+    public long getEstimatedSavedMillis() {
+        return hits.get() * getAverageLoadMillis();
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IntentCache[size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRatio=%.1f%%, saved~%dms]",
+                size(), maxEntries, getHits(), getMisses(), getEvictions(), getHitRatio() * 100,
+                getEstimatedSavedMillis());
+    }
+
+    String keyFor(String userCommand) {
+        String normalized = normalize(userCommand);
+        if (isDateRelative(normalized)) {
+            return LocalDate.now(clock) + "|" + normalized;
+        }
+        return normalized;
+    }
+
+    static String normalize(String userCommand) {
+        if (userCommand == null) return "";
+        return NON_WORD.matcher(userCommand.toLowerCase().trim()).replaceAll(" ").trim();
+    }
+
+    private static boolean isDateRelative(String normalized) {
+        return DATE_RELATIVE.matcher(normalized).find();
+    }
+
+    private long nextMidnightMillis() {
+        ZoneId zone = clock.getZone();
+        return LocalDate.now(clock).plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    // Entry kedaluwarsa dibuang saat diakses; saat penuh buang yang paling lama tidak dipakai
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static final class Entry {
+        final CommandIntent intent;
+        final long expiresAt;
+
+        Entry(CommandIntent intent, long expiresAt) {
+            this.intent = intent;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hragent.llm;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// IntentExamples: Contoh few-shot (perintah user -> JSON intent) yang dipakai bersama oleh
+// prompt ekstraksi LLMService dan sebagai data latih IntentClassifier. Tanggal relatif di
+// contoh ditulis sebagai {NEXT_FRIDAY} dan diisi saat prompt dibuat.
+
+public final class IntentExamples {
+
+    public static final String NEXT_FRIDAY = "{NEXT_FRIDAY}";
+
+    public static final List<Example> ALL = Collections.unmodifiableList(Arrays.asList(
+        new Example("1. LEAVE MANAGEMENT", "tolong apply cuti tahunan buat budi dari tgl 3 oktober sampai 5 oktober",
+                "apply_leave", "{\"intent\":\"apply_leave\",\"employee_name\":\"Budi Santoso\",\"leave_type\":\"Tahunan\",\"start_date\":\"2025-10-03\",\"end_date\":\"2025-10-05\"}"),
+        new Example("1. LEAVE MANAGEMENT", "cek status cuti dengan ID LR001",
+                "cek_status_cuti", "{\"intent\":\"cek_status_cuti\",\"leave_id\":\"LEAVE-001\"}"),
+        new Example("1. LEAVE MANAGEMENT", "list semua cuti yang pending",
+                "list_cuti_pending", "{\"intent\":\"list_cuti_pending\"}"),
+        new Example("1. LEAVE MANAGEMENT", "approve cuti LR001",
+                "approve_reject_cuti", "{\"intent\":\"approve_reject_cuti\",\"leave_id\":\"LEAVE-001\",\"status\":\"Disetujui\"}"),
+        new Example("1. LEAVE MANAGEMENT", "batalkan cuti LR002",
+                "batalkan_cuti", "{\"intent\":\"batalkan_cuti\",\"leave_id\":\"LEAVE-002\"}"),
+        new Example("1. LEAVE MANAGEMENT", "riwayat cuti budi",
+                "history_cuti", "{\"intent\":\"history_cuti\",\"employee_name\":\"Budi Santoso\"}"),
+        new Example("1. LEAVE MANAGEMENT", "reject cuti LR003",
+                "approve_reject_cuti", "{\"intent\":\"approve_reject_cuti\",\"leave_id\":\"LR003\",\"status\":\"Ditolak\"}"),
+        new Example("1. LEAVE MANAGEMENT", "batalkan cuti LR006",
+                "batalkan_cuti", "{\"intent\":\"batalkan_cuti\",\"leave_id\":\"LR006\"}"),
+
+        new Example("2. EMPLOYEE MANAGEMENT", "list karyawan di departemen engineering",
+                "list_karyawan_departemen", "{\"intent\":\"list_karyawan_departemen\",\"department\":\"Engineering\"}"),
+        new Example("2. EMPLOYEE MANAGEMENT", "siapa saja yang jabatannya software engineer",
+                "list_karyawan_jabatan", "{\"intent\":\"list_karyawan_jabatan\",\"position\":\"Software Engineer\"}"),
+        new Example("2. EMPLOYEE MANAGEMENT", "list karyawan yang statusnya aktif",
+                "list_karyawan_status", "{\"intent\":\"list_karyawan_status\",\"status\":\"Aktif\"}"),
+        new Example("2. EMPLOYEE MANAGEMENT", "pindahkan budi ke departemen sales jadi sales manager",
+                "update_data_karyawan", "{\"intent\":\"update_data_karyawan\",\"employee_name\":\"Budi Santoso\",\"department\":\"Sales\",\"position\":\"Sales Manager\"}"),
+        new Example("2. EMPLOYEE MANAGEMENT", "tambah karyawan baru nama john doe email john@example.com jabatan developer departemen engineering",
+                "tambah_karyawan", "{\"intent\":\"tambah_karyawan\",\"employee_name\":\"John Doe\",\"category\":\"john@example.com\",\"position\":\"Developer\",\"department\":\"Engineering\"}"),
+
+        new Example("3. PERFORMANCE REVIEW", "jadwalkan review performa utk rina dgn bu santi jumat depan",
+                "schedule_review", "{\"intent\":\"schedule_review\",\"employee_name\":\"Rina Wijaya\",\"reviewer_name\":\"Santi Putri\",\"start_date\":\"" + NEXT_FRIDAY + "\"}"),
+        new Example("3. PERFORMANCE REVIEW", "list review yang terjadwal",
+                "list_review_terjadwal", "{\"intent\":\"list_review_terjadwal\"}"),
+        new Example("3. PERFORMANCE REVIEW", "update skor review REV-001 jadi 85",
+                "update_skor_review", "{\"intent\":\"update_skor_review\",\"review_id\":\"REV-001\",\"score\":85}"),
+        new Example("3. PERFORMANCE REVIEW", "batalkan review REV-002",
+                "batalkan_review", "{\"intent\":\"batalkan_review\",\"review_id\":\"REV-002\"}"),
+        new Example("3. PERFORMANCE REVIEW", "submit hasil review REV-001 dengan skor 90",
+                "submit_hasil_review", "{\"intent\":\"submit_hasil_review\",\"review_id\":\"REV-001\",\"score\":90}"),
+        new Example("3. PERFORMANCE REVIEW", "riwayat review rina",
+                "history_review", "{\"intent\":\"history_review\",\"employee_name\":\"Rina Wijaya\"}"),
+
+        new Example("4. EXPENSE", "klaim reimburse taksi budi 250 ribu",
+                "submit_expense", "{\"intent\":\"submit_expense\",\"employee_name\":\"Budi Santoso\",\"category\":\"Transport\",\"amount\":250000}")
+    ));
+
+    private IntentExamples() {
+    }
+
+    // Blok "User: ... / JSON: ..." per section, dalam format yang dipakai prompt ekstraksi
+    public static String render(List<Example> examples, LocalDate nextFriday) {
+        StringBuilder sb = new StringBuilder();
+        String section = null;
+        for (Example example : examples) {
+            if (!example.getSection().equals(section)) {
+                section = example.getSection();
+                sb.append(section).append(":\n");
+            }
+            sb.append("User: \"").append(example.getText()).append("\"\n")
+              .append("JSON: ").append(example.getJson().replace(NEXT_FRIDAY, nextFriday.toString())).append("\n\n");
+        }
+        return sb.toString();
+    }
+
+    public static final class Example {
+        private final String section;
+        private final String text;
+        private final String intent;
+        private final String json;
+
+        Example(String section, String text, String intent, String json) {
+            this.section = section;
+            this.text = text;
+            this.intent = intent;
+            this.json = json;
+        }
+
+        public String getSection() { return section; }
+        public String getText() { return text; }
+        public String getIntent() { return intent; }
+        public String getJson() { return json; }
+    }
+}
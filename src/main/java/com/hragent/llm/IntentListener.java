@@ -0,0 +1,12 @@
+package com.hragent.llm;
+
+// IntentListener: Dipanggil saat satu field JSON intent selesai diterima dari stream LLM,
+// sebelum jawaban lengkap selesai dibuat. Berjalan di thread yang membaca stream, jadi
+// pekerjaan berat harus dipindah ke thread lain.
+
+@FunctionalInterface
+public interface IntentListener {
+
+    // value = isi string yang sudah di-unescape, teks literal untuk angka/boolean, null untuk null
+    void onField(String name, String value);
+}
@@ -0,0 +1,70 @@
+package com.hragent.llm;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hragent.intent.IntentClassifier;
+
+import java.lang.reflect.Field;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// IntentSchema: JSON schema untuk field "format" Ollama, dibuat dari field @JsonProperty di
+// CommandIntent. Dengan schema ini output model dibatasi grammar sehingga selalu berupa objek
+// JSON datar yang bisa dibaca Jackson. Per PromptFamily hanya field family itu yang
+// diizinkan dan "intent" dibatasi ke enum intent family (+ "unknown"). "unknown" juga ada di
+// GENERAL: tanpa itu decoding terbatas memaksa perintah di luar topik HR menjadi intent nyata.
+
+public final class IntentSchema {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // Nama JSON -> tipe schema, urutan sesuai deklarasi di CommandIntent
+    private static final Map<String, String> TYPES = new LinkedHashMap<>();
+    private static final Map<PromptFamily, ObjectNode> SCHEMAS = new EnumMap<>(PromptFamily.class);
+
+    static {
+        for (Field field : CommandIntent.class.getDeclaredFields()) {
+            JsonProperty property = field.getAnnotation(JsonProperty.class);
+            if (property != null) {
+                TYPES.put(property.value(), typeOf(field.getType()));
+            }
+        }
+        for (PromptFamily family : PromptFamily.values()) {
+            SCHEMAS.put(family, build(family));
+        }
+    }
+
+    private IntentSchema() {
+    }
+
+    // Jangan diubah: instance yang sama dipakai bersama semua request
+    public static ObjectNode forFamily(PromptFamily family) {
+        return SCHEMAS.get(family);
+    }
+
+    private static ObjectNode build(PromptFamily family) {
+        ObjectNode schema = MAPPER.createObjectNode();
+        schema.put("type", "object");
+        ObjectNode properties = schema.putObject("properties");
+        ArrayNode intents = properties.putObject("intent").put("type", "string").putArray("enum");
+        family.getIntents().forEach(intents::add);
+        intents.add(IntentClassifier.UNKNOWN);
+        TYPES.forEach((name, type) -> {
+            if (family.getFields().contains(name)) {
+                properties.putObject(name).put("type", type);
+            }
+        });
+        schema.putArray("required").add("intent");
+        schema.put("additionalProperties", false);
+        return schema;
+    }
+
+    private static String typeOf(Class<?> type) {
+        if (type == Integer.class || type == int.class || type == Long.class || type == long.class) return "integer";
+        if (type == Double.class || type == double.class || type == Float.class || type == float.class) return "number";
+        if (type == Boolean.class || type == boolean.class) return "boolean";
+        return "string";
+    }
+}
@@ -1,39 +1,123 @@
 package com.hragent.llm;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import dev.langchain4j.model.ollama.OllamaChatModel;
+import com.hragent.intent.IntentClassifier;
+import com.hragent.intent.RuleBasedIntentParser;
+import com.hragent.server.RequestTimings;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
 import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 //LLMService: Menggunakan Ollama untuk ekstraksi structured output
 
 public class LLMService implements Closeable {
 
-    private final OllamaChatModel model;
+    private static final int CACHE_MAX_ENTRIES = Integer.getInteger("hragent.llm.cache.size", 1000);
+    private static final Duration CACHE_TTL = Duration.ofMinutes(Long.getLong("hragent.llm.cache.ttlMinutes", 60));
+    // Label LLM dicatat di sini (default mati) untuk diperiksa manusia. File ini tidak dibaca
+    // IntentClassifier; baris yang sudah dicek dipindah ke -Dhragent.intent.trainingLog.
+    private static final String LLM_LABEL_LOG = System.getProperty("hragent.intent.llmLabelLog");
+    // false = selalu prompt lengkap (GENERAL), mis. untuk server dengan satu slot KV cache
+    private static final boolean PROMPT_FAMILIES =
+            Boolean.parseBoolean(System.getProperty("hragent.llm.promptFamilies", "true"));
+    // Batas token output ekstraksi (JSON intent terpanjang di contoh sekitar 50 token). Tanpa stop
+    // sequence: nilai string (nama, kategori) boleh memuat "}", dan schema sudah menutup objeknya.
+    private static final int NUM_PREDICT = Integer.getInteger("hragent.llm.numPredict", 128);
+
+    private final ChatLanguageModel model;
     private final ObjectMapper objectMapper;
+    private final IntentCache cache;
+    private final RuleBasedIntentParser ruleParser;
+    private final IntentClassifier classifier;
+    private final AtomicLong classifierAnswers = new AtomicLong();
+    private final PromptStats promptStats = new PromptStats();
+    private final BatchDispatcher batcher;
 
     public LLMService() {
-        this.model = OllamaChatModel.builder()
-                .baseUrl("http://localhost:11434")
-                .modelName("qwen2.5:3b")
-                .temperature(0.1)
-                .timeout(Duration.ofSeconds(60))
-                .build();
+        this(new OllamaChatClient("http://localhost:11434", "qwen2.5:3b", 0.1, Duration.ofSeconds(60)));
+    }
+
+    // Model bisa diganti, mis. stub deterministik untuk benchmark tanpa Ollama
+    public LLMService(ChatLanguageModel model) {
+        this(model, BatchDispatcher.fromSystemProperties());
+    }
 
+    // batcher null = setiap panggilan langsung dikirim ke model
+    public LLMService(ChatLanguageModel model, BatchDispatcher batcher) {
+        this.model = model;
+        this.batcher = batcher;
         this.objectMapper = new ObjectMapper();
+        this.cache = new IntentCache(CACHE_MAX_ENTRIES, CACHE_TTL);
+        this.ruleParser = new RuleBasedIntentParser();
+        this.classifier = IntentClassifier.loadDefault();
     }
 
     public CommandIntent extractIntent(String userCommand) {
-        try {
-            String prompt = buildExtractionPrompt(userCommand);
-            String response = model.generate(prompt);
+        return extractIntent(userCommand, null, RequestTimings.NONE);
+    }
+
+    public CommandIntent extractIntent(String userCommand, IntentListener listener) {
+        return extractIntent(userCommand, listener, RequestTimings.NONE);
+    }
+
+    // listener (boleh null) menerima field intent satu per satu selama jawaban LLM masih di-stream,
+    // supaya pemanggil bisa mulai kerja yang hanya butuh intent/nama (prefetch karyawan) lebih awal.
+    // Field "intent" selalu datang pertama; jawaban yang intent-nya unknown (dibuang lalu diulang
+    // dengan GENERAL) tidak diteruskan sama sekali. Jalur rules, cache dan classifier tidak
+    // memanggil listener: hasilnya langsung tersedia.
+    public CommandIntent extractIntent(String userCommand, IntentListener listener, RequestTimings timings) {
+        // Fast path: perintah dengan format baku tidak perlu ke LLM
+        long ruleStart = System.nanoTime();
+        RuleBasedIntentParser.Match match = ruleParser.parse(userCommand);
+        timings.record("rules", System.nanoTime() - ruleStart);
+        if (match != null && match.isConfident()) {
+            return match.getIntent();
+        }
+
+        CommandIntent cached = cache.get(userCommand);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Classifier yakin dengan intent baca dan slot ID/angka bisa diambil rule -> tanpa LLM
+        long classifyStart = System.nanoTime();
+        IntentClassifier.Prediction prediction = classifier.predict(userCommand);
+        CommandIntent classified = prediction.isConfident(IntentClassifier.MIN_CONFIDENCE)
+                ? ruleParser.extractSlots(userCommand, prediction.getIntent())
+                : null;
+        timings.record("classifier", System.nanoTime() - classifyStart);
+        if (classified != null) {
+            classifierAnswers.incrementAndGet();
+            return classified;
+        }
 
-            String jsonStr = extractJsonFromResponse(response);
-            //System.out.println("LLM Response: " + jsonStr);
+        try {
+            // Prompt pendek khusus family; jika family salah tebak, ulangi dengan prompt lengkap
+            PromptFamily family = PROMPT_FAMILIES ? PromptFamily.route(userCommand, prediction) : PromptFamily.GENERAL;
+            CommandIntent intent = generateIntent(userCommand, family, listener, timings);
+            if (family != PromptFamily.GENERAL && isUnknown(intent)) {
+                promptStats.recordFallback(family);
+                intent = generateIntent(userCommand, PromptFamily.GENERAL, listener, timings);
+            }
 
-            CommandIntent intent = objectMapper.readValue(jsonStr, CommandIntent.class);
             normalizeDates(intent);
+            if (!isUnknown(intent)) {
+                cache.put(userCommand, intent);
+                if (LLM_LABEL_LOG != null) {
+                    IntentClassifier.appendTrainingLog(Path.of(LLM_LABEL_LOG), intent.getIntent(), userCommand);
+                }
+            }
             return intent;
         } catch (Exception e) {
             System.err.println("Error extracting intent: " + e.getMessage());
@@ -42,121 +126,89 @@ public class LLMService implements Closeable {
         }
     }
 
-    private String buildExtractionPrompt(String userCommand) {
+    public IntentCache getCache() {
+        return cache;
+    }
+
+    public RuleBasedIntentParser getRuleParser() {
+        return ruleParser;
+    }
+
+    public IntentClassifier getClassifier() {
+        return classifier;
+    }
+
+    // Jumlah perintah yang dijawab classifier + slot rule tanpa memanggil LLM
+    public long getClassifierAnswers() {
+        return classifierAnswers.get();
+    }
+
+    public PromptStats getPromptStats() {
+        return promptStats;
+    }
+
+    public BatchDispatcher getBatcher() {
+        return batcher;
+    }
+
+    // Prefix system statis per family + suffix user kecil, supaya KV cache prefix dipakai ulang di Ollama
+    private CommandIntent generateIntent(String userCommand, PromptFamily family, IntentListener listener,
+                                         RequestTimings timings) throws IOException {
         LocalDate today = LocalDate.now();
-    
-        return String.format(
-                "Kamu adalah asisten HR yang mengekstrak informasi terstruktur dari perintah bahasa Indonesia.\n\n" +
-                        "HARI INI: %s\n\n" +
-                        "PERINTAH USER: \"%s\"\n\n" +
-                        "TUGAS: Ekstrak informasi ke format JSON ini:\n" +
-                        "{\n" +
-                        "  \"intent\": \"apply_leave | schedule_review | check_status | approve_reject_cuti | batalkan_cuti | " +
-                        "cek_status_cuti | list_cuti_pending | riwayat_cuti | history_cuti | submit_expense | lookup_colleague | " +
-                        "list_karyawan_departemen | list_karyawan_jabatan | list_karyawan_status | update_data_karyawan | " +
-                        "tambah_karyawan | cek_status_cuti | list_cuti_pending | approve_reject_cuti | batalkan_cuti | " +
-                        "update_sisa_cuti | history_cuti | list_review_terjadwal | update_skor_review | batalkan_review | " +
-                        "submit_hasil_review | history_review\",\n" +
-                        "  \"employee_name\": \"nama karyawan\",\n" +
-                        "  \"leave_type\": \"Tahunan | Sakit | Cuti Melahirkan\",\n" +
-                        "  \"start_date\": \"YYYY-MM-DD\",\n" +
-                        "  \"end_date\": \"YYYY-MM-DD\",\n" +
-                        "  \"reviewer_name\": \"nama reviewer (optional)\",\n" +
-                        "  \"category\": \"kategori expense (optional)\",\n" +
-                        "  \"amount\": jumlah_nominal (optional),\n" +
-                        "  \"department\": \"nama departemen (optional)\",\n" +
-                        "  \"position\": \"jabatan (optional)\",\n" +
-                        "  \"status\": \"status karyawan (optional)\",\n" +
-                        "  \"leave_id\": \"ID cuti (optional)\",\n" +
-                        "  \"review_id\": \"ID review (optional)\",\n" +
-                        "  \"score\": \"skor performa (optional)\",\n" +
-                        "  \"new_balance\": \"sisa cuti baru (optional)\"\n" +
-                        "}\n\n" +
-                        "PANDUAN:\n" +
-                        "- \"besok\" = %s\n" +
-                        "- \"lusa\" = %s\n" +
-                        "- \"Senin depan\", \"Jumat depan\" = tanggal hari tersebut minggu depan\n" +
-                        "- \"tahunan\" = Tahunan, \"sakit\" = Sakit\n" +
-                        "- Jika start_date tidak disebutkan eksplisit, gunakan context \"besok\", \"lusa\", dll\n" +
-                        "- Jika hanya 1 tanggal disebutkan, end_date = start_date\n\n" +
-                        "PANDUAN INTENT:\n" +
-                        "- 'approve cuti [ID]' atau 'setujui cuti [ID]' = approve_reject_cuti dengan status=Disetujui\n" +
-                        "- 'reject cuti [ID]' atau 'tolak cuti [ID]' = approve_reject_cuti dengan status=Ditolak\n" +
-                        "- 'batalkan cuti [ID]' atau 'cancel cuti [ID]' = batalkan_cuti\n" +
-                        "- 'cek status cuti [ID]' = cek_status_cuti (QUERY only)\n" +
-                        "- 'riwayat cuti [nama]' = riwayat_cuti atau history_cuti\n" +
-
-                        "CONTOH INTENT:\n\n" +
-                        
-                        "1. LEAVE MANAGEMENT:\n" +
-                        "User: \"tolong apply cuti tahunan buat budi dari tgl 3 oktober sampai 5 oktober\"\n" +
-                        "JSON: {\"intent\":\"apply_leave\",\"employee_name\":\"Budi Santoso\",\"leave_type\":\"Tahunan\",\"start_date\":\"2025-10-03\",\"end_date\":\"2025-10-05\"}\n\n" +
-                        
-                        "User: \"cek status cuti dengan ID LR001\"\n" +
-                        "JSON: {\"intent\":\"cek_status_cuti\",\"leave_id\":\"LEAVE-001\"}\n\n" +
-                        
-                        "User: \"list semua cuti yang pending\"\n" +
-                        "JSON: {\"intent\":\"list_cuti_pending\"}\n\n" +
-                        
-                        "User: \"approve cuti LR001\"\n" +
-                        "JSON: {\"intent\":\"approve_reject_cuti\",\"leave_id\":\"LEAVE-001\",\"status\":\"Disetujui\"}\n\n" +
-                        
-                        "User: \"batalkan cuti LR002\"\n" +
-                        "JSON: {\"intent\":\"batalkan_cuti\",\"leave_id\":\"LEAVE-002\"}\n\n" +
-                        
-                        "User: \"riwayat cuti budi\"\n" +
-                        "JSON: {\"intent\":\"history_cuti\",\"employee_name\":\"Budi Santoso\"}\n\n" +
-
-                        "User: \"reject cuti LR003\"\n" +
-                        "JSON: {\"intent\":\"approve_reject_cuti\",\"leave_id\":\"LR003\",\"status\":\"Ditolak\"}\n\n" +
-
-                        "User: \"batalkan cuti LR006\"\n" +
-                        "JSON: {\"intent\":\"batalkan_cuti\",\"leave_id\":\"LR006\"}\n\n" +
-                        
-                        "2. EMPLOYEE MANAGEMENT:\n" +
-                        "User: \"list karyawan di departemen engineering\"\n" +
-                        "JSON: {\"intent\":\"list_karyawan_departemen\",\"department\":\"Engineering\"}\n\n" +
-                        
-                        "User: \"siapa saja yang jabatannya software engineer\"\n" +
-                        "JSON: {\"intent\":\"list_karyawan_jabatan\",\"position\":\"Software Engineer\"}\n\n" +
-                        
-                        "User: \"list karyawan yang statusnya aktif\"\n" +
-                        "JSON: {\"intent\":\"list_karyawan_status\",\"status\":\"Aktif\"}\n\n" +
-                        
-                        "User: \"pindahkan budi ke departemen sales jadi sales manager\"\n" +
-                        "JSON: {\"intent\":\"update_data_karyawan\",\"employee_name\":\"Budi Santoso\",\"department\":\"Sales\",\"position\":\"Sales Manager\"}\n\n" +
-                        
-                        "User: \"tambah karyawan baru nama john doe email john@example.com jabatan developer departemen engineering\"\n" +
-                        "JSON: {\"intent\":\"tambah_karyawan\",\"employee_name\":\"John Doe\",\"category\":\"john@example.com\",\"position\":\"Developer\",\"department\":\"Engineering\"}\n\n" +
-                        
-                        "3. PERFORMANCE REVIEW:\n" +
-                        "User: \"jadwalkan review performa utk rina dgn bu santi jumat depan\"\n" +
-                        "JSON: {\"intent\":\"schedule_review\",\"employee_name\":\"Rina Wijaya\",\"reviewer_name\":\"Santi Putri\",\"start_date\":\"%s\"}\n\n" +
-                        
-                        "User: \"list review yang terjadwal\"\n" +
-                        "JSON: {\"intent\":\"list_review_terjadwal\"}\n\n" +
-                        
-                        "User: \"update skor review REV-001 jadi 85\"\n" +
-                        "JSON: {\"intent\":\"update_skor_review\",\"review_id\":\"REV-001\",\"score\":85}\n\n" +
-                        
-                        "User: \"batalkan review REV-002\"\n" +
-                        "JSON: {\"intent\":\"batalkan_review\",\"review_id\":\"REV-002\"}\n\n" +
-                        
-                        "User: \"submit hasil review REV-001 dengan skor 90\"\n" +
-                        "JSON: {\"intent\":\"submit_hasil_review\",\"review_id\":\"REV-001\",\"score\":90}\n\n" +
-                        
-                        "User: \"riwayat review rina\"\n" +
-                        "JSON: {\"intent\":\"history_review\",\"employee_name\":\"Rina Wijaya\"}\n\n" +
-                        
-                        "RESPONS: Berikan HANYA JSON, tanpa penjelasan atau teks lain.",
-                today,
-                userCommand,
-                today.plusDays(1),
-                today.plusDays(2),
-                getNextFriday(today)
-        );
-    }
-    
+        String system = ExtractionPrompt.system(family, today);
+        String user = ExtractionPrompt.user(userCommand, today);
+        List<ChatMessage> messages = List.of(SystemMessage.from(system), UserMessage.from(user));
+        if (batcher != null) {
+            long queued = System.nanoTime();
+            batcher.acquire();
+            timings.record("llm_queue", System.nanoTime() - queued);
+        }
+        long start = System.nanoTime();
+        Response<AiMessage> response;
+        try {
+            response = generate(messages, family, listener, timings, start);
+        } finally {
+            if (batcher != null) batcher.release();
+        }
+        long elapsed = System.nanoTime() - start;
+        cache.recordLoad(elapsed);
+        timings.record("llm", elapsed);
+        promptStats.record(family, system.length() + user.length(), response.tokenUsage(), elapsed);
+
+        String jsonStr = extractJsonFromResponse(response.content().text());
+        //System.out.println("LLM Response: " + jsonStr);
+        return objectMapper.readValue(jsonStr, CommandIntent.class);
+    }
+
+    // Ollama: output dibatasi JSON schema dari CommandIntent; model lain (stub) tanpa batasan.
+    // Dengan listener, token di-parse bertahap dan field dilaporkan begitu lengkap. Token pertama
+    // dicatat sebagai "llm_ttft", field intent sebagai "llm_intent" (relatif terhadap start).
+    private Response<AiMessage> generate(List<ChatMessage> messages, PromptFamily family, IntentListener listener,
+                                         RequestTimings timings, long start) {
+        if (!(model instanceof OllamaChatClient)) {
+            return model.generate(messages);
+        }
+        AcceptedFields accepted = listener == null ? null : new AcceptedFields(listener);
+        IncrementalJsonParser parser = accepted == null ? null : new IncrementalJsonParser((name, value) -> {
+            if ("intent".equals(name)) timings.record("llm_intent", System.nanoTime() - start);
+            accepted.onField(name, value);
+        });
+        boolean[] first = { true };
+        Response<AiMessage> response = ((OllamaChatClient) model).generateStreaming(messages,
+                IntentSchema.forFamily(family), NUM_PREDICT, List.of(), token -> {
+                    if (first[0]) {
+                        timings.record("llm_ttft", System.nanoTime() - start);
+                        first[0] = false;
+                    }
+                    if (parser != null) parser.feed(token);
+                });
+        if (parser != null) parser.finish();
+        return response;
+    }
+
+    private static boolean isUnknown(CommandIntent intent) {
+        return intent.getIntent() == null || IntentClassifier.UNKNOWN.equals(intent.getIntent());
+    }
 
     private String extractJsonFromResponse(String response) {
         int start = response.indexOf("{");
@@ -164,6 +216,7 @@ public class LLMService implements Closeable {
         if (start >= 0 && end > start) {
             return response.substring(start, end + 1);
         }
+        // Jawaban terpotong (num_predict habis) dibiarkan gagal di-parse, tidak ditambal
         return response.trim();
     }
 
@@ -180,17 +233,6 @@ public class LLMService implements Closeable {
         }
     }
 
-    private LocalDate getNextFriday(LocalDate from) {
-        LocalDate next = from;
-        while (next.getDayOfWeek().getValue() != 5) {
-            next = next.plusDays(1);
-        }
-        if (next.equals(from)) {
-            next = next.plusDays(7);
-        }
-        return next;
-    }
-
     @Override
     public void close() {
         shutdown();
@@ -199,6 +241,13 @@ public class LLMService implements Closeable {
     public void shutdown() {
         try {
             System.out.println("🧹 Shutting down LLMService...");
+            System.out.println("   " + ruleParser);
+            System.out.println("   " + classifier + ", answeredWithoutLLM=" + getClassifierAnswers());
+            System.out.println("   " + cache);
+            System.out.println("   " + promptStats);
+            if (batcher != null) {
+                System.out.println("   " + batcher);
+            }
             if (model instanceof AutoCloseable) {
                 ((AutoCloseable) model).close();
             }
@@ -208,4 +257,32 @@ public class LLMService implements Closeable {
             e.printStackTrace();
         }
     }
+
+    // Listener baru per jawaban LLM: field ditahan sampai intent jawaban itu diketahui, lalu
+    // diteruskan (intent lebih dulu) jika bukan unknown, atau dibuang jika unknown
+    private static final class AcceptedFields implements IntentListener {
+        private final IntentListener target;
+        private final List<String[]> held = new ArrayList<>();
+        private Boolean accepted;
+
+        AcceptedFields(IntentListener target) {
+            this.target = target;
+        }
+
+        @Override
+        public void onField(String name, String value) {
+            if ("intent".equals(name)) {
+                accepted = value != null && !IntentClassifier.UNKNOWN.equals(value);
+                if (accepted) {
+                    target.onField(name, value);
+                    for (String[] field : held) target.onField(field[0], field[1]);
+                }
+                held.clear();
+            } else if (accepted == null) {
+                held.add(new String[] { name, value });
+            } else if (accepted) {
+                target.onField(name, value);
+            }
+        }
+    }
 }
@@ -0,0 +1,166 @@
+package com.hragent.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+// OllamaChatClient: Klien /api/chat Ollama yang mengirim pesan system dan user terpisah,
+// dengan keep_alive agar model tetap ter-load di antara request (OllamaChatModel dari
+// langchain4j 0.35 belum bisa mengirim keep_alive). Respons dibaca secara streaming
+// (NDJSON) dan setiap potongan diteruskan ke onToken begitu tiba.
+// Per request bisa diberi "format" (JSON schema), batas token output dan stop sequence.
+
+public class OllamaChatClient implements ChatLanguageModel {
+
+    // Format Ollama: durasi ("30m", "1h") atau angka detik; -1 = tidak pernah di-unload
+    public static final String DEFAULT_KEEP_ALIVE = System.getProperty("hragent.llm.keepAlive", "30m");
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI chatUri;
+    private final String modelName;
+    private final double temperature;
+    private final Duration timeout;
+    private final String keepAlive;
+
+    public OllamaChatClient(String baseUrl, String modelName, double temperature, Duration timeout) {
+        this(baseUrl, modelName, temperature, timeout, DEFAULT_KEEP_ALIVE);
+    }
+
+    public OllamaChatClient(String baseUrl, String modelName, double temperature, Duration timeout, String keepAlive) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.chatUri = URI.create(baseUrl.replaceAll("/+$", "") + "/api/chat");
+        this.modelName = modelName;
+        this.temperature = temperature;
+        this.timeout = timeout;
+        this.keepAlive = keepAlive;
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        return generateStreaming(messages, null);
+    }
+
+    // format = JSON schema output (boleh null), numPredict <= 0 = tanpa batas. Ollama membuang
+    // stop sequence dari teks, jadi pemanggil yang menambahkannya kembali jika perlu.
+    public Response<AiMessage> generate(List<ChatMessage> messages, JsonNode format, int numPredict, List<String> stop) {
+        return generateStreaming(messages, format, numPredict, stop, null);
+    }
+
+    // onToken (boleh null) dipanggil untuk setiap potongan teks begitu diterima
+    public Response<AiMessage> generateStreaming(List<ChatMessage> messages, Consumer<String> onToken) {
+        return generateStreaming(messages, null, 0, List.of(), onToken);
+    }
+
+    public Response<AiMessage> generateStreaming(List<ChatMessage> messages, JsonNode format, int numPredict,
+                                                 List<String> stop, Consumer<String> onToken) {
+        HttpRequest request = HttpRequest.newBuilder(chatUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody(messages, format, numPredict, stop)))
+                .build();
+
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Ollama HTTP " + response.statusCode() + ": " + readAll(reader));
+                }
+                StringBuilder text = new StringBuilder();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
+                    JsonNode chunk = objectMapper.readTree(line);
+                    if (chunk.hasNonNull("error")) {
+                        throw new IllegalStateException("Ollama: " + chunk.get("error").asText());
+                    }
+                    JsonNode contentNode = chunk.path("message").path("content");
+                    String content = contentNode.isTextual() ? contentNode.textValue() : "";
+                    if (!content.isEmpty()) {
+                        text.append(content);
+                        if (onToken != null) onToken.accept(content);
+                    }
+                    if (chunk.path("done").asBoolean(false)) {
+                        TokenUsage usage = new TokenUsage(chunk.path("prompt_eval_count").asInt(0),
+                                chunk.path("eval_count").asInt(0));
+                        return Response.from(AiMessage.from(text.toString()), usage);
+                    }
+                }
+                throw new IllegalStateException("Ollama: stream berakhir tanpa done=true");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal memanggil Ollama di " + chatUri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dibatalkan saat menunggu Ollama", e);
+        }
+    }
+
+    String requestBody(List<ChatMessage> messages, JsonNode format, int numPredict, List<String> stop) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", modelName);
+        ArrayNode array = body.putArray("messages");
+        for (ChatMessage message : messages) {
+            ObjectNode node = array.addObject();
+            if (message instanceof SystemMessage) {
+                node.put("role", "system").put("content", ((SystemMessage) message).text());
+            } else if (message instanceof UserMessage) {
+                node.put("role", "user").put("content", ((UserMessage) message).singleText());
+            } else if (message instanceof AiMessage) {
+                node.put("role", "assistant").put("content", ((AiMessage) message).text());
+            } else {
+                throw new IllegalArgumentException("Pesan tidak didukung: " + message.type());
+            }
+        }
+        body.put("stream", true);
+        if (keepAlive.matches("-?\\d+")) {
+            body.put("keep_alive", Long.parseLong(keepAlive));
+        } else {
+            body.put("keep_alive", keepAlive);
+        }
+        if (format != null) {
+            body.set("format", format);
+        }
+        ObjectNode options = body.putObject("options").put("temperature", temperature);
+        if (numPredict > 0) {
+            options.put("num_predict", numPredict);
+        }
+        if (!stop.isEmpty()) {
+            stop.forEach(options.putArray("stop")::add);
+        }
+        return body.toString();
+    }
+
+    private static String readAll(BufferedReader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) sb.append(line);
+        return sb.toString();
+    }
+}
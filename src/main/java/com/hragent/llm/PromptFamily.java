@@ -0,0 +1,125 @@
+package com.hragent.llm;
+
+import com.hragent.intent.IntentClassifier;
+import com.hragent.intent.KeywordMatcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// PromptFamily: Kelompok intent (cuti, karyawan, review, expense) yang masing-masing punya
+// prompt ekstraksi sendiri: hanya intent, field CommandIntent, panduan dan contoh yang relevan.
+// route() memilih family sebelum memanggil LLM, dari keyword topik lalu prediksi IntentClassifier;
+// jika ragu dipakai GENERAL (prompt lengkap).
+
+public enum PromptFamily {
+
+    LEAVE("cuti",
+            new String[] { "apply_leave", "check_status", "cek_status_cuti", "list_cuti_pending", "approve_reject_cuti",
+                    "batalkan_cuti", "history_cuti", "update_sisa_cuti" },
+            new String[] { "employee_name", "leave_type", "start_date", "end_date", "status", "leave_id", "new_balance" },
+            "1. LEAVE MANAGEMENT", true),
+    EMPLOYEE("data karyawan",
+            new String[] { "list_karyawan_departemen", "list_karyawan_jabatan", "list_karyawan_status",
+                    "update_data_karyawan", "update_status_karyawan", "tambah_karyawan", "lookup_colleague" },
+            new String[] { "employee_name", "category", "department", "position", "status" },
+            "2. EMPLOYEE MANAGEMENT", false),
+    REVIEW("review performa",
+            new String[] { "schedule_review", "list_review_terjadwal", "update_skor_review", "batalkan_review",
+                    "submit_hasil_review", "history_review" },
+            new String[] { "employee_name", "reviewer_name", "start_date", "review_id", "score" },
+            "3. PERFORMANCE REVIEW", true),
+    EXPENSE("expense / reimburse",
+            new String[] { "submit_expense" },
+            new String[] { "employee_name", "category", "amount" },
+            "4. EXPENSE", false),
+    GENERAL(null, null, null, null, true);
+
+    // Prediksi classifier di bawah ini tidak dipakai untuk memilih family
+    static final double MIN_CONFIDENCE = 0.6;
+
+    private static final KeywordMatcher TOPICS = new KeywordMatcher(
+            "cuti", "izin", "leave", "libur",
+            "karyawan", "pegawai", "departemen", "divisi", "jabatan", "posisi", "pindahkan", "mutasi",
+            "review", "performa", "penilaian", "skor", "reviewer",
+            "expense", "reimburse", "reimbursement", "klaim", "biaya", "pengeluaran", "kuitansi", "struk");
+    private static final long LEAVE_MASK = TOPICS.maskOf("cuti", "izin", "leave", "libur");
+    private static final long EMPLOYEE_MASK = TOPICS.maskOf("karyawan", "pegawai", "departemen", "divisi",
+            "jabatan", "posisi", "pindahkan", "mutasi");
+    private static final long REVIEW_MASK = TOPICS.maskOf("review", "performa", "penilaian", "skor", "reviewer");
+    private static final long EXPENSE_MASK = TOPICS.maskOf("expense", "reimburse", "reimbursement", "klaim",
+            "biaya", "pengeluaran", "kuitansi", "struk");
+
+    private final String topic;
+    private final List<String> intents;
+    private final List<String> fields;
+    private final String exampleSection;
+    private final boolean usesDates;
+
+    PromptFamily(String topic, String[] intents, String[] fields, String exampleSection, boolean usesDates) {
+        this.topic = topic;
+        this.intents = intents == null ? null : Collections.unmodifiableList(Arrays.asList(intents));
+        this.fields = fields == null ? null : Collections.unmodifiableList(Arrays.asList(fields));
+        this.exampleSection = exampleSection;
+        this.usesDates = usesDates;
+    }
+
+    // Topik untuk kalimat pembuka prompt; null untuk GENERAL
+    public String getTopic() {
+        return topic;
+    }
+
+    // GENERAL = gabungan semua family
+    public List<String> getIntents() {
+        return intents != null ? intents : union(true);
+    }
+
+    // Field CommandIntent (nama JSON) selain "intent"
+    public List<String> getFields() {
+        return fields != null ? fields : union(false);
+    }
+
+    public boolean includesExample(IntentExamples.Example example) {
+        return exampleSection == null || exampleSection.equals(example.getSection());
+    }
+
+    public boolean usesDates() {
+        return usesDates;
+    }
+
+    // Family pemilik intent, atau GENERAL jika intent tidak dikenal
+    public static PromptFamily forIntent(String intent) {
+        for (PromptFamily family : values()) {
+            if (family != GENERAL && family.intents.contains(intent)) return family;
+        }
+        return GENERAL;
+    }
+
+    // Keyword topik menang jika hanya menunjuk satu family (keyword karyawan dianggap umum
+    // dan kalah dari cuti/review/expense). Selain itu prediksi classifier (boleh null).
+    public static PromptFamily route(String command, IntentClassifier.Prediction prediction) {
+        long hits = TOPICS.matchMask(command);
+        PromptFamily byKeyword = null;
+        int specific = 0;
+        if ((hits & LEAVE_MASK) != 0) { byKeyword = LEAVE; specific++; }
+        if ((hits & REVIEW_MASK) != 0) { byKeyword = REVIEW; specific++; }
+        if ((hits & EXPENSE_MASK) != 0) { byKeyword = EXPENSE; specific++; }
+        if (specific == 0 && (hits & EMPLOYEE_MASK) != 0) byKeyword = EMPLOYEE;
+        if (specific <= 1 && byKeyword != null) return byKeyword;
+
+        if (prediction != null && prediction.isConfident(MIN_CONFIDENCE)) {
+            return forIntent(prediction.getIntent());
+        }
+        return GENERAL;
+    }
+
+    private static List<String> union(boolean intents) {
+        Set<String> all = new LinkedHashSet<>();
+        for (PromptFamily family : values()) {
+            if (family != GENERAL) all.addAll(intents ? family.intents : family.fields);
+        }
+        return List.copyOf(all);
+    }
+}
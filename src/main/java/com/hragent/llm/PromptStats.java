@@ -0,0 +1,92 @@
+package com.hragent.llm;
+
+import dev.langchain4j.model.output.TokenUsage;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// PromptStats: Statistik panggilan LLM per PromptFamily: ukuran prompt (karakter), token input
+// yang dievaluasi dan token output menurut server (tanpa prefix yang diambil dari KV cache),
+// latensi, dan berapa kali family salah tebak sehingga diulang dengan prompt GENERAL.
+
+public class PromptStats {
+
+    private final Map<PromptFamily, Counters> counters = new EnumMap<>(PromptFamily.class);
+
+    public PromptStats() {
+        for (PromptFamily family : PromptFamily.values()) {
+            counters.put(family, new Counters());
+        }
+    }
+
+    // usage boleh null (model stub tidak melaporkan token)
+    public void record(PromptFamily family, int promptChars, TokenUsage usage, long nanos) {
+        Counters c = counters.get(family);
+        c.calls.incrementAndGet();
+        c.promptChars.addAndGet(promptChars);
+        c.nanos.addAndGet(nanos);
+        if (usage != null) {
+            if (usage.inputTokenCount() != null) c.inputTokens.addAndGet(usage.inputTokenCount());
+            if (usage.outputTokenCount() != null) c.outputTokens.addAndGet(usage.outputTokenCount());
+        }
+    }
+
+    public void recordFallback(PromptFamily family) {
+        counters.get(family).fallbacks.incrementAndGet();
+    }
+
+    public long getCalls(PromptFamily family) {
+        return counters.get(family).calls.get();
+    }
+
+    public long getFallbacks(PromptFamily family) {
+        return counters.get(family).fallbacks.get();
+    }
+
+    public double getAveragePromptChars(PromptFamily family) {
+        return counters.get(family).average(counters.get(family).promptChars);
+    }
+
+    public double getAverageInputTokens(PromptFamily family) {
+        return counters.get(family).average(counters.get(family).inputTokens);
+    }
+
+    public double getAverageOutputTokens(PromptFamily family) {
+        return counters.get(family).average(counters.get(family).outputTokens);
+    }
+
+    public double getAverageMillis(PromptFamily family) {
+        return counters.get(family).average(counters.get(family).nanos) / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PromptStats[");
+        for (PromptFamily family : PromptFamily.values()) {
+            if (getCalls(family) == 0) continue;
+            if (sb.length() > "PromptStats[".length()) sb.append("; ");
+            sb.append(String.format(Locale.ROOT,
+                    "%s: calls=%d, promptChars=%.0f, inputTokens=%.0f, outputTokens=%.0f, avgMs=%.1f, fallbacks=%d",
+                    family.name().toLowerCase(Locale.ROOT), getCalls(family), getAveragePromptChars(family),
+                    getAverageInputTokens(family), getAverageOutputTokens(family), getAverageMillis(family),
+                    getFallbacks(family)));
+        }
+        return sb.append(']').toString();
+    }
+
+    private static final class Counters {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong promptChars = new AtomicLong();
+        private final AtomicLong inputTokens = new AtomicLong();
+        private final AtomicLong outputTokens = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+        private final AtomicLong fallbacks = new AtomicLong();
+
+        private double average(AtomicLong total) {
+            long n = calls.get();
+            return n == 0 ? 0 : (double) total.get() / n;
+        }
+    }
+}
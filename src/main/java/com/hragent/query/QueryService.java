@@ -1,6 +1,6 @@
 package com.hragent.query;
 
-import com.hragent.data.SQLiteDataStore;
+import com.hragent.data.HrRepository;
 import com.hragent.domain.Employee;
 import com.hragent.domain.LeaveBalance;
 import com.hragent.domain.LeaveRequest;
@@ -12,12 +12,16 @@ import java.util.List;
 
 public class QueryService {
 
-    private final SQLiteDataStore store;
+    private final HrRepository store;
 
-    public QueryService(SQLiteDataStore store) {
+    public QueryService(HrRepository store) {
         this.store = store;
     }
 
+    public HrRepository getRepository() {
+        return store;
+    }
+
     public String answer(String question) {
         String q = question.toLowerCase().trim();
     
@@ -300,25 +304,8 @@ public class QueryService {
     }
 
 
-        private String extractName(String question) {
-            try {
-                List<Employee> employees = store.getAllEmployees();
-                String qLower = question.toLowerCase().replaceAll("[^a-z ]", " ");
-            for (Employee emp : employees) {
-                String namaFull = emp.getNama().toLowerCase();
-                String[] namaTokens = namaFull.split(" ");
-                for (String token : namaTokens) {
-                    if (token.length() >= 3 && qLower.contains(token)) {
-                        return emp.getNama();
-                    }
-                }
-
-                if (qLower.contains(namaFull)) return emp.getNama();
-            }
-            return null;
-        } catch (Exception e) {
-            return null;
-        }
+    public String extractName(String question) {
+        return store.resolveEmployeeName(question);
     }
 
     
@@ -0,0 +1,138 @@
+package com.hragent.server;
+
+import com.hragent.action.ActionService;
+import com.hragent.action.EmployeePrefetcher;
+import com.hragent.intent.IntentDetector;
+import com.hragent.intent.IntentType;
+import com.hragent.intent.KeywordMatcher;
+import com.hragent.llm.CommandIntent;
+import com.hragent.llm.LLMService;
+import com.hragent.query.QueryService;
+
+// AgentRouter: Alur IntentDetector -> QueryService / ActionService yang dipakai bersama
+// oleh REPL (MainApp) dan HTTP server. Semua service di bawahnya stateless sehingga satu
+// router aman dipakai banyak request sekaligus. Durasi tiap fase dicatat ke RequestTimings.
+
+public class AgentRouter {
+
+    // Keyword untuk jalur cepat tanpa LLM, dicek dalam satu scan
+    private static final KeywordMatcher FAST_ROUTE = new KeywordMatcher("siapa", "manajer", "manager", "sisa", "cuti");
+    private static final long SIAPA = FAST_ROUTE.maskOf("siapa");
+    private static final long MANAJER = FAST_ROUTE.maskOf("manajer", "manager");
+    private static final long SISA = FAST_ROUTE.maskOf("sisa");
+    private static final long CUTI = FAST_ROUTE.maskOf("cuti");
+
+    private final IntentDetector intentDetector;
+    private final QueryService queryService;
+    private final ActionService actionService;
+    private final LLMService llmService;
+
+    public AgentRouter(IntentDetector intentDetector, QueryService queryService,
+                       ActionService actionService, LLMService llmService) {
+        this.intentDetector = intentDetector;
+        this.queryService = queryService;
+        this.actionService = actionService;
+        this.llmService = llmService;
+    }
+
+    public IntentType detect(String input) {
+        return detect(input, RequestTimings.NONE);
+    }
+
+    public IntentType detect(String input, RequestTimings timings) {
+        long start = System.nanoTime();
+        try {
+            return intentDetector.detect(input);
+        } finally {
+            timings.record("detect", System.nanoTime() - start);
+        }
+    }
+
+    public String handle(String input) {
+        return handle(input, detect(input));
+    }
+
+    public String handle(String input, IntentType intent) {
+        return handle(input, intent, RequestTimings.NONE);
+    }
+
+    public String handle(String input, IntentType intent, RequestTimings timings) {
+        switch (intent) {
+            case QUESTION:
+                return answerQuestion(input, timings);
+            case COMMAND:
+                long start = System.nanoTime();
+                try {
+                    return actionService.execute(input, timings);
+                } finally {
+                    timings.record("action", System.nanoTime() - start);
+                }
+            default:
+                return "Maaf, saya tidak yakin maksud Anda. Ketik 'help' untuk melihat contoh pertanyaan dan perintah.";
+        }
+    }
+
+    private String answerQuestion(String input, RequestTimings timings) {
+        long hits = FAST_ROUTE.matchMask(input);
+
+        // Priority 1: Try keyword-based routing first for common queries
+        if ((hits & SIAPA) != 0 && (hits & MANAJER) != 0) {
+            // Direct route to keyword matching (bypass LLM)
+            return answer(input, timings);
+        }
+        if ((hits & SISA) != 0 && (hits & CUTI) != 0) {
+            // Direct route for leave balance
+            return answer(input, timings);
+        }
+
+        // Priority 2: For complex queries, try LLM intent extraction
+        try {
+            EmployeePrefetcher prefetcher = EmployeePrefetcher.forRepository(queryService.getRepository(), timings);
+            CommandIntent commandIntent = llmService.extractIntent(input, prefetcher, timings);
+            if (prefetcher != null) prefetcher.await();
+
+            // Debug: Print extracted intent
+            if (commandIntent != null) {
+                System.out.println("[DEBUG] LLM Intent: " + commandIntent.getIntent());
+            }
+
+            if (commandIntent != null && isQueryIntent(commandIntent.getIntent())) {
+                long start = System.nanoTime();
+                try {
+                    return queryService.answerByIntent(commandIntent.getIntent(), commandIntent);
+                } finally {
+                    timings.record("query", System.nanoTime() - start);
+                }
+            }
+            return answer(input, timings);
+        } catch (Exception e) {
+            return answer(input, timings);
+        }
+    }
+
+    private String answer(String input, RequestTimings timings) {
+        long start = System.nanoTime();
+        try {
+            return queryService.answer(input);
+        } finally {
+            timings.record("query", System.nanoTime() - start);
+        }
+    }
+
+    static boolean isQueryIntent(String intentName) {
+        return intentName != null && (
+            intentName.equals("list_karyawan_departemen") ||
+            intentName.equals("list_karyawan_jabatan") ||
+            intentName.equals("list_karyawan_status") ||
+            intentName.equals("cek_status_cuti") ||
+            intentName.equals("list_cuti_pending") ||
+            intentName.equals("history_cuti") ||
+            intentName.equals("riwayat_cuti") ||
+            intentName.equals("list_review_terjadwal") ||
+            intentName.equals("history_review") ||
+            intentName.equals("query_employee_info") ||    
+            intentName.equals("lookup_employee") ||        
+            intentName.equals("employee_info")          
+        );
+    }
+}
@@ -0,0 +1,184 @@
+package com.hragent.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hragent.intent.IntentType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// AgentServer: Front end HTTP/JSON untuk AgentRouter supaya banyak user bisa memakai
+// satu instance sekaligus.
+//   POST /api/chat    {"message": "...", "sessionId": "..."}  -> jawaban agent + timing
+//   GET  /api/health  -> status server dan statistik request
+// Setiap request jalan di virtual thread (Java 21+) sehingga request yang menunggu Ollama
+// tidak memakan platform thread; di JVM yang lebih lama jatuh ke cached thread pool.
+// Rincian latency per fase dikirim di header Server-Timing dan field "timings".
+
+public class AgentServer {
+
+    private static final String SESSION_HEADER = "X-Session-Id";
+
+    private final AgentRouter router;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public AgentServer(AgentRouter router, int port) throws IOException {
+        this.router = router;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newCachedThreadPool();
+
+        server.setExecutor(executor);
+        server.createContext("/api/chat", this::handleChat);
+        server.createContext("/api/health", this::handleHealth);
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("🌐 HTTP server listening on port " + getPort() +
+                (virtualThreads ? " (virtual threads)" : " (platform thread pool)"));
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("   " + this);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public long getRequests() { return requests.get(); }
+    public long getErrors() { return errors.get(); }
+
+    @Override
+    public String toString() {
+        return String.format("AgentServer[port=%d, virtualThreads=%s, requests=%d, errors=%d]",
+                getPort(), virtualThreads, getRequests(), getErrors());
+    }
+
+    private void handleChat(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Gunakan POST.");
+                return;
+            }
+
+            Map<?, ?> body;
+            try {
+                body = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            } catch (IOException e) {
+                sendError(exchange, 400, "Body harus berupa JSON.");
+                return;
+            }
+            Object message = body.get("message");
+            if (!(message instanceof String) || ((String) message).isBlank()) {
+                sendError(exchange, 400, "Field 'message' wajib diisi.");
+                return;
+            }
+
+            String sessionId = sessionId(exchange, body);
+            requests.incrementAndGet();
+
+            String input = ((String) message).trim();
+            RequestTimings timings = RequestTimings.start();
+            IntentType intent;
+            String response;
+            try {
+                intent = router.detect(input, timings);
+                response = router.handle(input, intent, timings);
+            } catch (RuntimeException e) {
+                errors.incrementAndGet();
+                sendError(exchange, 500, "Error: " + e.getMessage());
+                return;
+            }
+            timings.finish();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("sessionId", sessionId);
+            result.put("type", intent.name());
+            result.put("response", response);
+            result.put("timings", timings.toMillis());
+
+            exchange.getResponseHeaders().set("Server-Timing", timings.toServerTiming());
+            exchange.getResponseHeaders().set(SESSION_HEADER, sessionId);
+            sendJson(exchange, 200, result);
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("status", "ok");
+            result.put("virtualThreads", virtualThreads);
+            result.put("requests", getRequests());
+            result.put("errors", getErrors());
+            sendJson(exchange, 200, result);
+        }
+    }
+
+    // Session id dari header atau body; jika tidak ada dibuatkan baru. Hanya dikembalikan ke
+    // client untuk korelasi, server tidak menyimpan state per sesi
+    private static String sessionId(HttpExchange exchange, Map<?, ?> body) {
+        String header = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+        if (header != null && !header.isBlank()) return header.trim();
+        Object fromBody = body.get("sessionId");
+        if (fromBody instanceof String && !((String) fromBody).isBlank()) return ((String) fromBody).trim();
+        return UUID.randomUUID().toString();
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("error", message);
+        sendJson(exchange, status, result);
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() lewat reflection, karena project ini
+    // masih dikompilasi untuk Java 17; null jika JVM belum mendukung virtual thread
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hragent.server;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// RequestTimings: Catatan durasi per fase (detect, llm, query, action, ...) untuk satu
+// request. Objeknya diteruskan eksplisit ke service di bawahnya, sehingga fase yang dicatat
+// dari thread lain (prefetch karyawan, listener streaming) tetap masuk ke request yang benar.
+// Di luar request (mis. REPL, test) dipakai NONE yang tidak mencatat apa-apa.
+
+public final class RequestTimings {
+
+    public static final RequestTimings NONE = new RequestTimings(false);
+
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private volatile long totalNanos = -1;
+
+    private RequestTimings(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static RequestTimings start() {
+        return new RequestTimings(true);
+    }
+
+    // Fase yang sama dicatat lebih dari sekali akan dijumlahkan; aman dipanggil dari thread mana saja
+    public void record(String phase, long nanos) {
+        if (!enabled) return;
+        synchronized (phases) {
+            phases.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    public RequestTimings finish() {
+        if (enabled && totalNanos < 0) {
+            totalNanos = System.nanoTime() - startNanos;
+        }
+        return this;
+    }
+
+    public long getTotalNanos() {
+        long total = totalNanos;
+        return total >= 0 ? total : System.nanoTime() - startNanos;
+    }
+
+    // Durasi per fase dalam milidetik, ditambah "total"
+    public Map<String, Double> toMillis() {
+        Map<String, Double> out = new LinkedHashMap<>();
+        synchronized (phases) {
+            phases.forEach((phase, nanos) -> out.put(phase, nanos / 1_000_000.0));
+        }
+        out.put("total", getTotalNanos() / 1_000_000.0);
+        return out;
+    }
+
+    // Format header Server-Timing, mis. "detect;dur=0.052, llm;dur=812.4, total;dur=815.0"
+    public String toServerTiming() {
+        StringBuilder sb = new StringBuilder();
+        toMillis().forEach((phase, millis) -> {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(phase).append(";dur=").append(String.format(Locale.ROOT, "%.3f", millis));
+        });
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTimings[" + toServerTiming() + "]";
+    }
+}
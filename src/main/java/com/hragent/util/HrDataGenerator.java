@@ -0,0 +1,297 @@
+package com.hragent.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Random;
+
+// HrDataGenerator: Membuat dataset HR sintetis (employees, leave_balances, leave_requests,
+// performance_reviews) dengan format yang sama seperti CSV di src/main/resources.
+// - Struktur organisasi berupa pohon manajer: Direktur Utama -> kepala departemen -> manajer -> staff
+// - Nama mengikuti distribusi nama Indonesia (berbobot, sebagian hanya satu kata)
+// - Baris ditulis langsung ke file; yang disimpan di heap hanya array int/byte per karyawan,
+//   sehingga jutaan leave request tidak butuh jutaan objek
+// Usage: HrDataGenerator <outDir> [employees] [leaveRequests] [reviews] [seed]
+
+public class HrDataGenerator {
+
+    private static final String[] DEPARTMENTS = {
+        "Teknologi", "Produk", "Pemasaran", "Penjualan", "Sumber Daya Manusia", "Keuangan", "Operasional"
+    };
+    private static final String[] HEAD_TITLES = {
+        "Head of Engineering", "Head of Product", "Head of Marketing", "Head of Sales",
+        "HR Director", "Finance Director", "Head of Operations"
+    };
+    private static final String[] MANAGER_TITLES = {
+        "Engineering Manager", "Product Manager", "Marketing Manager", "Sales Manager",
+        "HR Manager", "Finance Manager", "Operations Manager"
+    };
+    private static final String[][] STAFF_TITLES = {
+        { "Software Engineer", "Senior Software Engineer", "QA Engineer", "Data Scientist", "DevOps Engineer" },
+        { "Product Owner", "UI/UX Designer", "Business Analyst" },
+        { "Marketing Specialist", "Content Writer", "Digital Marketing Analyst" },
+        { "Sales Executive", "Account Manager", "Sales Representative" },
+        { "HR Generalist", "Recruiter", "Payroll Specialist" },
+        { "Akuntan", "Finance Analyst", "Tax Specialist" },
+        { "Staff Operasional", "Admin", "Procurement Officer" }
+    };
+
+    // Nama depan dan bobot kemunculannya (nama yang umum muncul lebih sering)
+    private static final String[] FIRST_NAMES = {
+        "Muhammad", "Siti", "Nur", "Budi", "Dewi", "Agus", "Sri", "Putri", "Rizky", "Andi",
+        "Rina", "Santi", "Dian", "Eko", "Ahmad", "Fitri", "Wahyu", "Indah", "Dedi", "Ayu",
+        "Yusuf", "Rahmat", "Lestari", "Bayu", "Citra", "Hendra", "Fajar", "Kartika", "Leo", "Doni",
+        "Gilang", "Nabila", "Arif", "Ratna", "Joko", "Mega", "Teguh", "Wulan", "Irfan", "Zulkarnain"
+    };
+    private static final int[] FIRST_NAME_WEIGHTS = {
+        40, 35, 25, 20, 20, 18, 18, 15, 15, 14,
+        12, 12, 12, 11, 11, 10, 10, 10, 9, 9,
+        8, 8, 7, 7, 7, 6, 6, 6, 5, 5,
+        5, 5, 5, 4, 4, 4, 3, 3, 3, 2
+    };
+    private static final String[] LAST_NAMES = {
+        "Santoso", "Wijaya", "Saputra", "Hidayat", "Pratama", "Lestari", "Kusuma", "Nugroho", "Setiawan", "Putri",
+        "Gunawan", "Firmansyah", "Siregar", "Nasution", "Harahap", "Simanjuntak", "Wibowo", "Hakim", "Rahman", "Susanto",
+        "Halim", "Utami", "Purnomo", "Sitompul", "Tanjung", "Ramadhan", "Maulana", "Permana", "Suryadi", "Hutapea"
+    };
+    private static final int[] LAST_NAME_WEIGHTS = {
+        30, 25, 22, 20, 20, 15, 14, 14, 13, 12,
+        10, 10, 9, 9, 8, 7, 7, 7, 7, 6,
+        5, 5, 5, 4, 4, 4, 3, 3, 3, 2
+    };
+    // Persentase karyawan dengan nama satu kata (mis. "Sukarno")
+    private static final int SINGLE_NAME_PERCENT = 8;
+
+    private static final int MIN_REPORTS = 4;
+    private static final int MAX_REPORTS = 10;
+    private static final LocalDate COMPANY_FOUNDED = LocalDate.of(2012, 1, 1);
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 1);
+
+    private final Random random;
+    private final int[] firstNameCdf = cdf(FIRST_NAME_WEIGHTS);
+    private final int[] lastNameCdf = cdf(LAST_NAME_WEIGHTS);
+
+    // Per karyawan (index = id - 1): manajer, departemen, jumlah bawahan
+    private int[] managers;
+    private byte[] departments;
+    private int[] reports;
+
+    public HrDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: HrDataGenerator <outDir> [employees] [leaveRequests] [reviews] [seed]");
+            return;
+        }
+        Path outDir = Paths.get(args[0]);
+        int employees = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        long leaveRequests = args.length > 2 ? Long.parseLong(args[2]) : employees * 2L;
+        long reviews = args.length > 3 ? Long.parseLong(args[3]) : employees;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+
+        System.out.println("=== Generating HR dataset ===");
+        System.out.println("Output: " + outDir + ", employees=" + employees +
+                ", leaveRequests=" + leaveRequests + ", reviews=" + reviews + ", seed=" + seed + "\n");
+        try {
+            new HrDataGenerator(seed).generate(outDir, employees, leaveRequests, reviews);
+        } catch (Exception e) {
+            System.err.println("Error generating dataset: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public void generate(Path outDir, int employees, long leaveRequests, long reviews) throws IOException {
+        if (employees < 1) throw new IllegalArgumentException("employees harus >= 1");
+        Files.createDirectories(outDir);
+        buildOrganization(employees);
+
+        timed("employees.csv", employees, () -> writeEmployees(outDir.resolve("employees.csv")));
+        timed("leave_balances.csv", employees, () -> writeLeaveBalances(outDir.resolve("leave_balances.csv")));
+        timed("leave_requests.csv", leaveRequests, () -> writeLeaveRequests(outDir.resolve("leave_requests.csv"), leaveRequests));
+        timed("performance_reviews.csv", reviews, () -> writeReviews(outDir.resolve("performance_reviews.csv"), reviews));
+    }
+
+    // Pohon BFS: karyawan baru menjadi bawahan manajer "aktif" sampai kuota bawahannya
+    // (acak MIN_REPORTS..MAX_REPORTS) penuh, lalu pindah ke karyawan berikutnya.
+    // Anak langsung Direktur Utama adalah kepala departemen; departemen diwariskan ke bawah.
+    private void buildOrganization(int employees) {
+        managers = new int[employees];
+        departments = new byte[employees];
+        reports = new int[employees];
+
+        int current = 0;
+        int quota = DEPARTMENTS.length;
+        for (int i = 1; i < employees; i++) {
+            if (reports[current] == quota) {
+                current++;
+                quota = MIN_REPORTS + random.nextInt(MAX_REPORTS - MIN_REPORTS + 1);
+            }
+            managers[i] = current + 1;
+            reports[current]++;
+            departments[i] = current == 0 ? (byte) (i - 1) : departments[current];
+        }
+    }
+
+    private void writeEmployees(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("id,nama,email,jabatan,departemen,id_manajer,tanggal_bergabung,status_karyawan\n");
+            StringBuilder row = new StringBuilder(128);
+            for (int i = 0; i < managers.length; i++) {
+                int id = i + 1;
+                String first = pick(FIRST_NAMES, firstNameCdf);
+                String last = random.nextInt(100) < SINGLE_NAME_PERCENT ? null : pick(LAST_NAMES, lastNameCdf);
+
+                row.setLength(0);
+                row.append(id).append(',')
+                   .append(first);
+                if (last != null) row.append(' ').append(last);
+                row.append(',').append(first.toLowerCase());
+                if (last != null) row.append('.').append(Character.toLowerCase(last.charAt(0)));
+                row.append(id).append("@examplecorp.com,")
+                   .append(jabatan(i)).append(',')
+                   .append(i == 0 ? "Manajemen" : DEPARTMENTS[departments[i]]).append(',');
+                if (i > 0) row.append(managers[i]);
+                row.append(',').append(joinDate(i)).append(',')
+                   .append(i == 0 ? "Aktif" : status()).append('\n');
+                out.append(row);
+            }
+        }
+    }
+
+    private void writeLeaveBalances(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("id_karyawan,tipe_cuti,sisa_hari\n");
+            for (int id = 1; id <= managers.length; id++) {
+                out.write(id + ",Tahunan," + random.nextInt(13) + "\n");
+                out.write(id + ",Sakit," + random.nextInt(13) + "\n");
+                if (random.nextInt(100) < 3) {
+                    out.write(id + ",Cuti Melahirkan," + 90 + "\n");
+                }
+            }
+        }
+    }
+
+    private void writeLeaveRequests(Path file, long count) throws IOException {
+        int width = Math.max(3, Long.toString(count).length());
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("id_request,id_karyawan,tipe_cuti,tanggal_mulai,tanggal_selesai,status_request\n");
+            StringBuilder row = new StringBuilder(96);
+            for (long n = 1; n <= count; n++) {
+                int roll = random.nextInt(100);
+                String type = roll < 75 ? "Tahunan" : roll < 98 ? "Sakit" : "Cuti Melahirkan";
+                int days = type.equals("Cuti Melahirkan") ? 89 : type.equals("Sakit") ? random.nextInt(3) : random.nextInt(5);
+                LocalDate start = TODAY.minusDays(random.nextInt(730));
+                String status = leaveStatus(start);
+
+                row.setLength(0);
+                row.append("LR");
+                pad(row, n, width);
+                row.append(',').append(1 + random.nextInt(managers.length))
+                   .append(',').append(type)
+                   .append(',').append(start)
+                   .append(',').append(start.plusDays(days))
+                   .append(',').append(status).append('\n');
+                out.append(row);
+            }
+        }
+    }
+
+    // Review dilakukan oleh manajer langsung; setengah tahun terakhir sebagian masih terjadwal
+    private void writeReviews(Path file, long count) throws IOException {
+        int width = Math.max(2, Long.toString(count).length());
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("id_review,id_karyawan,id_reviewer,tanggal_review,skor_performa,status_review\n");
+            StringBuilder row = new StringBuilder(64);
+            for (long n = 1; n <= count; n++) {
+                int i = managers.length == 1 ? 0 : 1 + random.nextInt(managers.length - 1);
+                int reviewer = i == 0 ? 1 : managers[i];
+                LocalDate date = TODAY.minusDays(365).plusDays(random.nextInt(545));
+                boolean done = date.isBefore(TODAY);
+
+                row.setLength(0);
+                row.append("PR");
+                pad(row, n, width);
+                row.append(',').append(i + 1)
+                   .append(',').append(reviewer)
+                   .append(',').append(date)
+                   .append(',').append(done ? 1 + random.nextInt(5) : 0)
+                   .append(',').append(done ? "Selesai" : "Terjadwal").append('\n');
+                out.append(row);
+            }
+        }
+    }
+
+    private String jabatan(int i) {
+        if (i == 0) return "Direktur Utama";
+        int dept = departments[i];
+        if (managers[i] == 1) return HEAD_TITLES[dept];
+        if (reports[i] > 0) return MANAGER_TITLES[dept];
+        String[] titles = STAFF_TITLES[dept];
+        return titles[random.nextInt(titles.length)];
+    }
+
+    // Atasan bergabung lebih dulu dari rata-rata: id kecil = lebih senior
+    private LocalDate joinDate(int i) {
+        long span = TODAY.toEpochDay() - COMPANY_FOUNDED.toEpochDay();
+        double seniority = (double) i / managers.length;
+        long offset = (long) (span * (0.2 * seniority + 0.8 * random.nextDouble() * Math.max(seniority, 0.1)));
+        return COMPANY_FOUNDED.plusDays(Math.min(offset, span));
+    }
+
+    private String status() {
+        int roll = random.nextInt(100);
+        if (roll < 85) return "Aktif";
+        if (roll < 95) return "Kontrak";
+        if (roll < 98) return "Probation";
+        return "Cuti Panjang";
+    }
+
+    private String leaveStatus(LocalDate start) {
+        int roll = random.nextInt(100);
+        if (start.isAfter(TODAY.minusDays(30)) && roll < 40) return "Menunggu Persetujuan";
+        if (roll < 80) return "Disetujui";
+        if (roll < 92) return "Ditolak";
+        return "Dibatalkan";
+    }
+
+    private String pick(String[] values, int[] cdf) {
+        int roll = random.nextInt(cdf[cdf.length - 1]);
+        for (int i = 0; i < cdf.length; i++) {
+            if (roll < cdf[i]) return values[i];
+        }
+        return values[values.length - 1];
+    }
+
+    private static int[] cdf(int[] weights) {
+        int[] out = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            out[i] = total;
+        }
+        return out;
+    }
+
+    private static void pad(StringBuilder sb, long n, int width) {
+        String digits = Long.toString(n);
+        for (int i = digits.length(); i < width; i++) sb.append('0');
+        sb.append(digits);
+    }
+
+    private interface Step {
+        void run() throws IOException;
+    }
+
+    private static void timed(String file, long rows, Step step) throws IOException {
+        long start = System.nanoTime();
+        step.run();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("✅ %-24s %,12d rows in %6.2fs (%,.0f rows/s)%n",
+                file, rows, seconds, rows / Math.max(seconds, 1e-9));
+    }
+}
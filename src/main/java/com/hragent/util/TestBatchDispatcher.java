@@ -0,0 +1,105 @@
+package com.hragent.util;
+
+import com.hragent.llm.BatchDispatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Uji BatchDispatcher: batas panggilan yang berjalan bersamaan dan pengelompokan dalam jendela waktu
+public class TestBatchDispatcher {
+
+    // Ditambah juga dari thread pekerja di runConcurrently
+    private static final AtomicInteger failures = new AtomicInteger();
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== TestBatchDispatcher ===");
+
+        // 12 panggilan, maksimal 4 berjalan bersamaan
+        BatchDispatcher limited = new BatchDispatcher(Duration.ZERO, 4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        runConcurrently(12, () -> {
+            limited.acquire();
+            try {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+            } finally {
+                limited.release();
+            }
+        });
+        check("maksimal 4 berjalan bersamaan (puncak " + peak.get() + ")", peak.get() <= 4 && peak.get() > 1);
+
+        // Jendela 200ms: 3 panggilan yang datang berselang 20ms dilepas dalam satu batch
+        BatchDispatcher windowed = new BatchDispatcher(Duration.ofMillis(200), 8);
+        long start = System.nanoTime();
+        List<Long> admittedAt = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Thread t = new Thread(() -> {
+                windowed.acquire();
+                synchronized (admittedAt) {
+                    admittedAt.add(System.nanoTime() - start);
+                }
+                windowed.release();
+            });
+            t.start();
+            threads.add(t);
+            Thread.sleep(20);
+        }
+        for (Thread t : threads) t.join();
+        long first = admittedAt.stream().min(Long::compare).orElse(0L);
+        long last = admittedAt.stream().max(Long::compare).orElse(0L);
+        check("satu batch setelah jendela habis", windowed.getBatches() == 1
+                && windowed.getAverageBatchSize() == 3.0 && first >= 150_000_000L && last - first < 50_000_000L);
+
+        // Batch langsung dilepas jika slot kosong sudah terisi penuh, tanpa menunggu jendela
+        BatchDispatcher full = new BatchDispatcher(Duration.ofSeconds(10), 2);
+        long fullStart = System.nanoTime();
+        runConcurrently(2, () -> {
+            full.acquire();
+            full.release();
+        });
+        check("batch penuh tidak menunggu jendela", System.nanoTime() - fullStart < 5_000_000_000L
+                && full.getBatches() == 1);
+
+        System.out.println("\n--- SUMMARY ---");
+        if (failures.get() > 0) {
+            System.out.println("❌ " + failures.get() + " failures");
+            System.exit(1);
+        }
+        System.out.println("✅ All checks passed");
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private static void runConcurrently(int n, Task task) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    ready.await();
+                    task.run();
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    e.printStackTrace();
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+        ready.countDown();
+        for (Thread t : threads) t.join();
+    }
+
+    private static void check(String label, boolean ok) {
+        if (!ok) failures.incrementAndGet();
+        System.out.println((ok ? "✅ " : "❌ ") + label);
+    }
+}
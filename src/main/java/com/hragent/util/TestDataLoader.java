@@ -23,7 +23,7 @@ public class TestDataLoader {
         
         // Test 3: Cari leave balance
         if (budi != null) {
-            LeaveBalance lb = store.getLeaveBalance(budi.getId(), "Tahunan");
+            LeaveBalance lb = store.findLeaveBalance(budi.getId(), "Tahunan");
             System.out.println("3. Sisa cuti tahunan Budi: " + (lb != null ? lb.getSisaHari() + " hari" : "Tidak ada"));
         }
         
@@ -0,0 +1,90 @@
+package com.hragent.util;
+
+import com.hragent.data.CsvLoader;
+import com.hragent.data.DataStore;
+import com.hragent.domain.Employee;
+import com.hragent.domain.LeaveBalance;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Mengukur heap yang dipakai DataStore (in-memory) setelah load CSV, dinormalisasi per 1 juta karyawan.
+// Dataset besar bisa dibuat dengan HrDataGenerator. Jalankan dengan -Xmx yang cukup, mis. -Xmx3g.
+// Usage: TestDataStoreFootprint [dataDir]
+public class TestDataStoreFootprint {
+    public static void main(String[] args) {
+        Path dataDir = args.length > 0 ? Paths.get(args[0]) : null;
+        System.out.println("=== Testing DataStore Footprint ===");
+        System.out.println("Data dir: " + (dataDir != null ? dataDir : "classpath") + "\n");
+
+        long before = usedHeapAfterGc();
+        long start = System.currentTimeMillis();
+        DataStore store = CsvLoader.loadAllData(dataDir);
+        long loadMs = System.currentTimeMillis() - start;
+        long after = usedHeapAfterGc();
+
+        int employees = store.getTotalEmployees();
+        long bytes = after - before;
+        System.out.println("\n--- FOOTPRINT ---");
+        System.out.printf("Load time            : %,d ms%n", loadMs);
+        System.out.printf("Employees            : %,d%n", employees);
+        System.out.printf("Heap used by store   : %,.1f MB%n", bytes / 1048576.0);
+        if (employees > 0) {
+            System.out.printf("Bytes per employee   : %,.0f%n", (double) bytes / employees);
+            System.out.printf("Heap per 1M employees: %,.1f MB%n", bytes * (1_000_000.0 / employees) / 1048576.0);
+        }
+
+        // Sanity check agar store tidak di-collect sebelum pengukuran dan lookup tetap benar:
+        // karyawan pertama di CSV harus kembali dengan field yang sama (id tidak selalu mulai dari 1)
+        String[] row = firstEmployeeRow(dataDir);
+        Employee first = store.getEmployeeById(Integer.parseInt(row[0]));
+        LeaveBalance lb = first != null ? store.findLeaveBalance(first.getId(), "Tahunan") : null;
+        System.out.println("\nEmployee #" + row[0] + ": " + first);
+        System.out.println("Balance   : " + lb);
+        boolean ok = first != null
+                && row[1].equals(first.getNama())
+                && row[2].equals(first.getEmail())
+                && row[3].equals(first.getJabatan())
+                && row[4].equals(first.getDepartemen())
+                && row[7].equals(first.getStatusKaryawan());
+        if (!ok) {
+            System.out.println("❌ Employee #" + row[0] + " tidak sama dengan baris CSV: " + String.join(",", row));
+            System.exit(1);
+        }
+        System.out.println("✅ Employee #" + row[0] + " round-trip sesuai CSV");
+    }
+
+    // Baris data pertama employees.csv (setelah header), dari dataDir atau classpath
+    private static String[] firstEmployeeRow(Path dataDir) {
+        try (CSVReader reader = dataDir != null
+                ? new CSVReader(Files.newBufferedReader(dataDir.resolve("employees.csv")))
+                : new CSVReader(new InputStreamReader(
+                        TestDataStoreFootprint.class.getResourceAsStream("/employees.csv"), StandardCharsets.UTF_8))) {
+            reader.readNext();
+            return reader.readNext();
+        } catch (IOException | CsvValidationException e) {
+            throw new RuntimeException("Gagal membaca employees.csv: " + e.getMessage(), e);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,68 @@
+package com.hragent.util;
+
+import com.hragent.data.DateParser;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Membandingkan DateParser dengan DateTimeFormatter "[yyyy-MM-dd][M/d/yyyy][d/M/yyyy]"
+// untuk semua kombinasi tahun/bulan/hari (termasuk yang invalid) di ketiga layout
+public class TestDateParser {
+    public static void main(String[] args) {
+        System.out.println("=== Testing DateParser vs DATE_FORMATTER ===\n");
+
+        List<String> inputs = new ArrayList<>();
+        String[] years = { "0000", "0001", "1999", "2000", "2024", "2025", "2100", "999", "20251" };
+        for (String y : years) {
+            for (int m = 0; m <= 13; m++) {
+                for (int d = 0; d <= 32; d++) {
+                    inputs.add(y + "-" + pad(m) + "-" + pad(d));
+                    inputs.add(m + "/" + d + "/" + y);
+                    inputs.add(pad(m) + "/" + pad(d) + "/" + y);
+                    inputs.add(d + "/" + m + "/" + y);
+                }
+            }
+        }
+        String[] odd = { "", "2025-8-18", "2025/08/18", "18-08-2025", "008/18/2025", "8/018/2025",
+                " 2025-08-18", "2025-08-18 ", "8//2025", "/8/2025", "8/18/", "2025-08-1a", "a/1/2025",
+                "12/31/2025", "1/1/2025", "+2025-01-01" };
+        for (String s : odd) inputs.add(s);
+
+        int mismatches = 0;
+        for (String input : inputs) {
+            String expected = run(() -> LocalDate.parse(input, DateParser.FORMATTER).toString());
+            String parsed = run(() -> DateParser.parse(input).toString());
+            String normalized = run(() -> DateParser.normalize(input));
+            if (!expected.equals(parsed) || !expected.equals(normalized)) {
+                mismatches++;
+                if (mismatches <= 20) {
+                    System.out.println("❌ '" + input + "': formatter=" + expected +
+                            ", parse=" + parsed + ", normalize=" + normalized);
+                }
+            }
+        }
+
+        System.out.println("Checked " + inputs.size() + " inputs, mismatches: " + mismatches);
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+        System.out.println("\n✅ DateParser matches DATE_FORMATTER");
+    }
+
+    private interface Call {
+        String get();
+    }
+
+    private static String run(Call call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return "ERROR";
+        }
+    }
+
+    private static String pad(int n) {
+        return n < 10 ? "0" + n : String.valueOf(n);
+    }
+}
@@ -0,0 +1,232 @@
+package com.hragent.util;
+
+import com.hragent.action.ActionService;
+import com.hragent.action.MockHRFunctions;
+import com.hragent.data.CachingRepository;
+import com.hragent.data.HrRepository;
+import com.hragent.data.SQLiteDataStore;
+import com.hragent.data.StorageMode;
+import com.hragent.data.WriteThroughRepository;
+import com.hragent.domain.Employee;
+import com.hragent.domain.LeaveBalance;
+import com.hragent.domain.LeaveRequest;
+import com.hragent.domain.PerformanceReview;
+import com.hragent.llm.LLMService;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.Response;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Menjalankan skenario baca/tulis yang sama pada ketiga StorageMode dan membandingkan
+// hasilnya dengan SQLite tanpa cache (referensi). Mode hybrid memakai file SQLite sementara lalu dibuka
+// ulang untuk memastikan perubahan tersimpan di SQLite dan dimuat kembali ke memori.
+// Terakhir: ActionService hanya mencari setiap nama dari intent sekali (tanpa lookup ulang nama lengkap).
+// Usage: TestHrRepository [dataDir]
+public class TestHrRepository {
+    public static void main(String[] args) {
+        String dataDir = args.length > 0 ? args[0] : "src/main/resources";
+        System.out.println("=== Testing HrRepository (sqlite vs memory vs hybrid) ===\n");
+
+        Path dbFile = null;
+        try {
+            dbFile = Files.createTempFile("hragent-repo-test-", ".db");
+            Files.delete(dbFile);
+
+            List<String> reference = run(bootstrap(dataDir));
+            CachingRepository cached = new CachingRepository(bootstrap(dataDir), 8);
+            List<String> sqlite = run(cached);
+            List<String> memory = run(StorageMode.MEMORY.open(null, dataDir));
+            List<String> hybrid = run(StorageMode.HYBRID.open(dbFile.toString(), dataDir));
+
+            // Buka ulang: data berasal dari file SQLite, bukan dari CSV
+            List<String> reopened;
+            try (HrRepository repo = StorageMode.HYBRID.open(dbFile.toString(), dataDir)) {
+                reopened = readAll(repo);
+            }
+            List<String> expectedAfterWrites = reference.subList(reference.size() - reopened.size(), reference.size());
+
+            int failures = 0;
+            failures += compare("sqlite (cached)", reference, sqlite);
+            System.out.println("   " + cached.getCache());
+            failures += compare("memory", reference, memory);
+            failures += compare("hybrid", reference, hybrid);
+            failures += compare("hybrid (reopened)", expectedAfterWrites, reopened);
+            failures += checkInvalidDate(dbFile, dataDir);
+            failures += checkActionLookups(dataDir);
+
+            System.out.println("\n--- SUMMARY ---");
+            System.out.println("Checks per mode: " + reference.size());
+            System.out.println(failures == 0 ? "✅ All storage modes agree" : "❌ " + failures + " mismatches");
+        } catch (Exception e) {
+            System.err.println("Error during test setup or execution: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            if (dbFile != null) {
+                for (String suffix : new String[] { "", "-wal", "-shm" }) {
+                    try {
+                        Files.deleteIfExists(Path.of(dbFile + suffix));
+                    } catch (Exception ignored) {
+                    }
+                }
+            }
+        }
+    }
+
+    private static SQLiteDataStore bootstrap(String dataDir) throws Exception {
+        SQLiteDataStore store = new SQLiteDataStore(null);
+        store.bootstrapFromCsv(dataDir);
+        return store;
+    }
+
+    // Skenario: baca, tulis, lalu baca semuanya lagi. Hasil dicatat sebagai teks.
+    private static List<String> run(HrRepository repo) throws Exception {
+        List<String> out = new ArrayList<>();
+        try (repo) {
+            out.addAll(readAll(repo));
+
+            Employee budi = repo.getEmployeeByName("Budi Santoso");
+            Employee rina = repo.getEmployeeByName("rina");
+            out.add("budi=" + describe(budi) + " rina=" + describe(rina));
+            out.add("resolve=" + repo.resolveEmployeeName("siapa manajer budi?"));
+
+            out.add("apply1=" + repo.applyLeave("T-1", budi.getId(), "Tahunan", 2, "2025-11-03", "2025-11-04", "Menunggu Persetujuan"));
+            out.add("apply2=" + repo.applyLeave("T-2", budi.getId(), "Tahunan", 999, "2025-11-10", "2025-11-20", "Disetujui"));
+            out.add("pending=" + requests(repo.getCutiPending()));
+            repo.approveRejectCuti("T-1", "Disetujui");
+            repo.insertLeaveRequest("T-3", rina.getId(), "Sakit", "2025-12-01", "2025-12-01", "Menunggu Persetujuan");
+            repo.batalkanCuti("T-3");
+            out.add("status=" + repo.getLatestLeaveRequestStatus("T-1") + "/" + repo.getLatestLeaveRequestStatus("T-3")
+                    + "/" + repo.getLatestLeaveRequestStatus("T-404"));
+
+            repo.tambahKaryawan(9001, "Zahra Test", "zahra@test.com", "QA Engineer", "Teknologi", budi.getId(), "2025-10-01", "Aktif");
+            repo.updateDataKaryawan(rina.getId(), "Produk", "Product Owner");
+            repo.updateStatusKaryawan(budi.getId(), "Kontrak");
+            repo.updateSisaCuti(rina.getId(), "Sakit", 7);
+            repo.updateLeaveBalance(budi.getId(), "Sakit", 4);
+            repo.resetCutiTahunan(12);
+            out.add("zahra=" + describe(repo.getEmployeeByName("Zahra Test")) + " resolve=" + repo.resolveEmployeeName("cuti zahra"));
+
+            repo.insertPerformanceReview("R-1", rina.getId(), budi.getId(), "2025-12-15", 0, "Terjadwal");
+            repo.insertPerformanceReview("R-2", rina.getId(), budi.getId(), "2025-12-20", 0, "Terjadwal");
+            repo.updateSkorReview("R-1", 4);
+            repo.batalkanReview("R-2");
+            repo.submitHasilReview("R-404", 5, "Selesai");
+
+            out.addAll(readAll(repo));
+        }
+        return out;
+    }
+
+    // Tanggal yang ditolak DataStore tidak boleh sempat masuk ke SQLite (kedua store harus tetap sama)
+    private static int checkInvalidDate(Path dbFile, String dataDir) throws Exception {
+        try (WriteThroughRepository repo = (WriteThroughRepository) StorageMode.HYBRID.open(dbFile.toString(), dataDir)) {
+            int id = repo.getAllEmployees().get(0).getId();
+            boolean rejected = false;
+            try {
+                repo.insertLeaveRequest("T-BAD", id, "Sakit", "2025-13-45", "2025-13-45", "Menunggu Persetujuan");
+            } catch (SQLException e) {
+                rejected = true;
+            }
+            boolean ok = rejected && !requests(repo.getDurable().getHistoryCuti(id)).contains("T-BAD")
+                    && !requests(repo.getMemory().getHistoryCuti(id)).contains("T-BAD");
+            System.out.println((ok ? "✅ " : "❌ ") + "hybrid: tanggal tidak valid ditolak sebelum SQLite");
+            return ok ? 0 : 1;
+        }
+    }
+
+    // schedule_review untuk "rina" dengan reviewer "santi": tepat dua lookup nama ke SQLite
+    private static int checkActionLookups(String dataDir) throws Exception {
+        CachingRepository repo = new CachingRepository(bootstrap(dataDir), 8);
+        LLMService llm = new LLMService(messages -> Response.from(AiMessage.from(
+                "{\"intent\": \"schedule_review\", \"employee_name\": \"rina\", \"reviewer_name\": \"santi\", "
+                        + "\"start_date\": \"2025-12-05\"}")));
+        try (repo) {
+            String result = new ActionService(llm, new MockHRFunctions(), repo)
+                    .execute("jadwalkan review performa utk rina dgn bu santi jumat depan");
+            boolean ok = result.contains("Jadwal review tercatat") && repo.getCache().getNameMisses() == 2;
+            System.out.println((ok ? "✅ " : "❌ ") + "ActionService: 2 nama, " + repo.getCache().getNameMisses()
+                    + " lookup nama ke SQLite");
+            return ok ? 0 : 1;
+        } finally {
+            llm.shutdown();
+        }
+    }
+
+    private static List<String> readAll(HrRepository repo) throws Exception {
+        List<String> out = new ArrayList<>();
+        for (Employee emp : repo.getAllEmployees()) {
+            int id = emp.getId();
+            out.add(id + " emp=" + describe(repo.getEmployeeById(id))
+                    + " mgr=" + describe(repo.getManagerOf(emp))
+                    + " tahunan=" + repo.getLeaveBalance(id, "Tahunan")
+                    + " sakit=" + repo.getLeaveBalance(id, "Sakit")
+                    + " latest=" + repo.getLatestLeaveRequestStatus(id)
+                    + " cuti=" + requests(repo.getHistoryCuti(id))
+                    + " review=" + reviews(repo.getHistoryReview(id)));
+        }
+        out.add("byDept=" + names(repo.getKaryawanByDepartemen("teknologi")));
+        out.add("byJabatan=" + names(repo.getKaryawanByJabatan("Product Owner")));
+        out.add("byStatus=" + names(repo.getKaryawanByStatus("Aktif")));
+        out.add("pending=" + requests(repo.getCutiPending()));
+        out.add("terjadwal=" + reviews(repo.getReviewTerjadwal()));
+        StringBuilder balances = new StringBuilder();
+        for (LeaveBalance lb : repo.getAllLeaveBalances()) {
+            balances.append(lb.getIdKaryawan()).append(':').append(lb.getTipeCuti()).append('=').append(lb.getSisaHari()).append(' ');
+        }
+        out.add("balances=" + balances);
+        return out;
+    }
+
+    private static int compare(String mode, List<String> expected, List<String> actual) {
+        int mismatches = 0;
+        int n = Math.max(expected.size(), actual.size());
+        for (int i = 0; i < n; i++) {
+            String e = i < expected.size() ? expected.get(i) : "<missing>";
+            String a = i < actual.size() ? actual.get(i) : "<missing>";
+            if (!e.equals(a)) {
+                mismatches++;
+                if (mismatches <= 5) {
+                    System.out.println("❌ [" + mode + "] line " + i + "\n   expected: " + e + "\n   actual  : " + a);
+                }
+            }
+        }
+        System.out.println((mismatches == 0 ? "✅ " : "❌ ") + mode + ": " + mismatches + " mismatches");
+        return mismatches;
+    }
+
+    private static String describe(Employee e) {
+        if (e == null) return "null";
+        return e.getId() + "|" + e.getNama() + "|" + e.getEmail() + "|" + e.getJabatan() + "|" + e.getDepartemen()
+                + "|" + e.getIdManajer() + "|" + e.getTanggalBergabung() + "|" + e.getStatusKaryawan();
+    }
+
+    private static String names(List<Employee> list) {
+        StringBuilder sb = new StringBuilder();
+        for (Employee e : list) sb.append(e.getId()).append(',');
+        return sb.toString();
+    }
+
+    private static String requests(List<LeaveRequest> list) {
+        StringBuilder sb = new StringBuilder();
+        for (LeaveRequest r : list) {
+            sb.append(r.getIdRequest()).append('/').append(r.getIdKaryawan()).append('/').append(r.getTipeCuti())
+              .append('/').append(r.getTanggalMulai()).append('/').append(r.getTanggalSelesai())
+              .append('/').append(r.getStatusRequest()).append(';');
+        }
+        return sb.toString();
+    }
+
+    private static String reviews(List<PerformanceReview> list) {
+        StringBuilder sb = new StringBuilder();
+        for (PerformanceReview r : list) {
+            sb.append(r.getIdReview()).append('/').append(r.getIdKaryawan()).append('/').append(r.getIdReviewer())
+              .append('/').append(r.getTanggalReview()).append('/').append(r.getSkorPerforma())
+              .append('/').append(r.getStatusReview()).append(';');
+        }
+        return sb.toString();
+    }
+}
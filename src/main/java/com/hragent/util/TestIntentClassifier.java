@@ -0,0 +1,118 @@
+package com.hragent.util;
+
+import com.hragent.intent.IntentClassifier;
+import com.hragent.llm.CommandIntent;
+import com.hragent.llm.LLMService;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// IntentClassifier: akurasi leave-one-out pada data latih bawaan (few-shot + intent_training.tsv),
+// coverage/presisi per ambang confidence, waktu latih/prediksi, dan perintah yang lolos dari
+// rule penuh tetapi dijawab classifier + slot rule tanpa LLM (model stub menghitung panggilan).
+// Intent yang mengubah data (termasuk perintah yang dinegasikan) harus selalu lewat LLM.
+public class TestIntentClassifier {
+    public static void main(String[] args) {
+        System.out.println("=== Testing IntentClassifier ===\n");
+
+        List<String[]> samples = IntentClassifier.defaultSamples();
+
+        long start = System.nanoTime();
+        IntentClassifier full = IntentClassifier.train(samples);
+        System.out.printf("Training: %d samples, %s, %.1fms%n", samples.size(), full,
+                (System.nanoTime() - start) / 1e6);
+
+        // Leave-one-out: latih tanpa sampel i, prediksi sampel i
+        double[] thresholds = { 0.0, 0.5, 0.7, 0.8, IntentClassifier.MIN_CONFIDENCE, 0.95 };
+        int[] covered = new int[thresholds.length];
+        int[] correct = new int[thresholds.length];
+        int shown = 0;
+        for (int i = 0; i < samples.size(); i++) {
+            List<String[]> rest = new ArrayList<>(samples);
+            String[] held = rest.remove(i);
+            IntentClassifier.Prediction p = IntentClassifier.train(rest).predict(held[1]);
+            boolean ok = p.getIntent().equals(held[0]);
+            for (int t = 0; t < thresholds.length; t++) {
+                if (p.getConfidence() >= thresholds[t]) {
+                    covered[t]++;
+                    if (ok) correct[t]++;
+                }
+            }
+            if (!ok && p.getConfidence() >= IntentClassifier.MIN_CONFIDENCE && shown++ < 10) {
+                System.out.println("❌ '" + held[1] + "': expected " + held[0] + ", got " + p);
+            }
+        }
+        System.out.println("\nLeave-one-out (threshold: coverage, precision)");
+        for (int t = 0; t < thresholds.length; t++) {
+            System.out.printf("  >= %.2f: %5.1f%% covered, %5.1f%% correct%n", thresholds[t],
+                    100.0 * covered[t] / samples.size(), covered[t] == 0 ? 0 : 100.0 * correct[t] / covered[t]);
+        }
+
+        String[] probes = {
+            "tolong dong approve cuti LR031 ya",
+            "batalin review REV-044 dong",
+            "jadwal review yang udah terjadwal apa aja",
+            "selamat siang",
+        };
+        System.out.println();
+        for (String probe : probes) {
+            System.out.println("  '" + probe + "' -> " + full.predict(probe) + " / " + full.predict(probe).getType());
+        }
+
+        int rounds = 100_000;
+        start = System.nanoTime();
+        start = System.nanoTime();
+        IntentClassifier.train(samples);
+        System.out.printf("%nTraining (warm JIT): %.1fms%n", (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        double sink = 0;
+        for (int i = 0; i < rounds; i++) sink += full.predict(samples.get(i % samples.size())[1]).getConfidence();
+        System.out.printf("Predict: %.1fus/input (%d inputs, checksum %.0f)%n",
+                (System.nanoTime() - start) / 1e3 / rounds, rounds, sink);
+
+        // Variasi perintah yang tidak match penuh dengan regex RuleBasedIntentParser
+        String[][] commands = {
+            { "tolong dong approve cuti LR031 ya", null, null },
+            { "jangan approve cuti LR001, tolak saja", null, null },
+            { "tolong jangan batalkan cuti LR002 ya", null, null },
+            { "batalin review REV-044 dong", null, null },
+            { "tolong cek dulu status cuti LR012 ya", "cek_status_cuti", "LR012" },
+            { "ada cuti yang masih pending ga ya", "list_cuti_pending", null },
+            { "tolong apply cuti tahunan buat budi besok", null, null },
+            { "selamat siang", null, null },
+        };
+        AtomicInteger llmCalls = new AtomicInteger();
+        LLMService service = new LLMService(messages -> {
+            llmCalls.incrementAndGet();
+            return Response.from(AiMessage.from("{\"intent\":\"llm\"}"));
+        });
+        // Jatuh ke LLM selalu boleh; yang dihitung salah adalah jawaban tanpa LLM yang keliru
+        int wrong = 0;
+        int answered = 0;
+        System.out.println();
+        for (String[] c : commands) {
+            int before = llmCalls.get();
+            CommandIntent intent = service.extractIntent(c[0]);
+            boolean viaLlm = llmCalls.get() > before;
+            String slot = intent.getLeaveId() != null ? intent.getLeaveId() : intent.getReviewId();
+            boolean ok = viaLlm || (c[1] != null && c[1].equals(intent.getIntent()) && (c[2] == null || c[2].equals(slot)));
+            if (!ok) wrong++;
+            if (!viaLlm) answered++;
+            System.out.println((ok ? "✅ " : "❌ ") + "'" + c[0] + "' -> " + (viaLlm ? "LLM" : intent.getIntent() + " " + slot));
+        }
+        System.out.println("Answered without LLM: " + answered + "/" + commands.length + ", wrong: " + wrong);
+        service.shutdown();
+
+        double precision = covered[4] == 0 ? 1 : (double) correct[4] / covered[4];
+        System.out.println("\n--- SUMMARY ---");
+        if (precision < 0.95 || wrong > 0) {
+            System.out.println("❌ Precision at MIN_CONFIDENCE below 95% or " + wrong + " wrong routes");
+            System.exit(1);
+        }
+        System.out.println("✅ Leave-one-out precision at MIN_CONFIDENCE: " + String.format("%.1f%%", precision * 100));
+    }
+}
@@ -0,0 +1,92 @@
+package com.hragent.util;
+
+import com.hragent.intent.IntentDetector;
+import com.hragent.intent.KeywordMatcher;
+
+import java.util.List;
+import java.util.Random;
+
+// KeywordMatcher: batas kata (apa vs apakah/siapa, akhiran -nya/-kan), posisi hasil, dan
+// perbandingan dengan pencarian naif (indexOf + cek batas kata) pada input acak.
+// Ditutup dengan contoh klasifikasi IntentDetector.
+public class TestKeywordMatcher {
+
+    private static int failures;
+
+    public static void main(String[] args) {
+        System.out.println("=== Testing KeywordMatcher & IntentDetector ===\n");
+
+        KeywordMatcher matcher = new KeywordMatcher("apa", "siapa", "status", "cek status", "buat", "set", "mana");
+        check("apakah budi cuti", "", matcher.findAll("apakah budi cuti").toString(), "[]");
+        check("siapa manajer", "", matcher.findAll("siapa manajer").toString(), "[siapa@0]");
+        check("Apa STATUSNYA", "", matcher.findAll("Apa STATUSNYA").toString(), "[apa@0, status@4]");
+        check("cek status", "", matcher.findAll("tolong cek status cuti").toString(), "[cek status@7, status@11]");
+        check("buatkan", "", matcher.findAll("buatkan jadwal, setuju?").toString(), "[buat@0]");
+        check("mana vs manajer", "", matcher.findAll("manajer di mana").toString(), "[mana@11]");
+
+        // Dibandingkan dengan pencarian naif pada teks acak dari potongan keyword
+        String[] pieces = { "apa", "siapa", "kah", "status", "nya", "cek", " ", " ", "?", "buat", "kan", "set",
+                "mana", "jer", "A", "x", "-" };
+        Random random = new Random(19);
+        int mismatches = 0;
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder text = new StringBuilder();
+            int parts = 1 + random.nextInt(8);
+            for (int p = 0; p < parts; p++) text.append(pieces[random.nextInt(pieces.length)]);
+            long expected = naiveMask(matcher, text.toString());
+            long actual = matcher.matchMask(text);
+            if (expected != actual && ++mismatches <= 5) {
+                System.out.println("❌ '" + text + "': naive=" + Long.toBinaryString(expected)
+                        + " matcher=" + Long.toBinaryString(actual));
+            }
+        }
+        failures += mismatches;
+        System.out.println((mismatches == 0 ? "✅" : "❌") + " 20000 random inputs vs naive, mismatches: " + mismatches);
+
+        IntentDetector detector = new IntentDetector();
+        String[][] cases = {
+            { "siapa manajer budi?", "QUESTION" },
+            { "sisa cuti rina berapa", "QUESTION" },
+            { "jabatan dewi apa", "QUESTION" },
+            { "tolong apply cuti tahunan buat budi dari tgl 3 okt sampai 5 okt", "COMMAND" },
+            { "jadwalkan review performa utk rina dgn bu santi jumat depan", "COMMAND" },
+            { "Cek status cuti terakhir dewi", "COMMAND" },
+            { "buatkan jadwal review untuk budi", "COMMAND" },
+            { "apakah budi sudah masuk", "UNKNOWN" },
+            { "halo selamat pagi", "UNKNOWN" },
+        };
+        for (String[] c : cases) {
+            check("detect", c[0], detector.detect(c[0]).name(), c[1]);
+        }
+
+        System.out.println("\n--- SUMMARY ---");
+        if (failures > 0) {
+            System.out.println("❌ " + failures + " failures");
+            System.exit(1);
+        }
+        System.out.println("✅ All checks passed");
+    }
+
+    private static void check(String label, String input, String actual, String expected) {
+        boolean ok = expected.equals(actual);
+        if (!ok) failures++;
+        System.out.println((ok ? "✅ " : "❌ ") + label + (input.isEmpty() ? "" : " '" + input + "'")
+                + ": " + actual + (ok ? "" : " (expected " + expected + ")"));
+    }
+
+    private static long naiveMask(KeywordMatcher matcher, String text) {
+        String lower = text.toLowerCase();
+        long mask = 0;
+        for (int k = 0; k < matcher.size(); k++) {
+            String keyword = matcher.keyword(k);
+            for (int i = lower.indexOf(keyword); i >= 0; i = lower.indexOf(keyword, i + 1)) {
+                int end = i + keyword.length();
+                boolean startOk = i == 0 || !Character.isLetterOrDigit(lower.charAt(i - 1));
+                String rest = lower.substring(end).split("[^\\p{L}\\p{N}]", 2)[0];
+                boolean endOk = rest.isEmpty() || List.of("nya", "kan").contains(rest);
+                if (startOk && endOk) mask |= 1L << k;
+            }
+        }
+        return mask;
+    }
+}
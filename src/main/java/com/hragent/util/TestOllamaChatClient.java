@@ -0,0 +1,265 @@
+package com.hragent.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hragent.action.ActionService;
+import com.hragent.action.MockHRFunctions;
+import com.hragent.data.CachingRepository;
+import com.hragent.data.SQLiteDataStore;
+import com.hragent.intent.IntentClassifier;
+import com.hragent.llm.CommandIntent;
+import com.hragent.llm.ExtractionPrompt;
+import com.hragent.llm.IncrementalJsonParser;
+import com.hragent.llm.IntentSchema;
+import com.hragent.llm.LLMService;
+import com.hragent.llm.OllamaChatClient;
+import com.hragent.llm.PromptFamily;
+import com.hragent.server.RequestTimings;
+import com.sun.net.httpserver.HttpServer;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.output.Response;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// OllamaChatClient + ExtractionPrompt: prefix system identik untuk perintah berbeda, body
+// /api/chat (system lalu user, keep_alive, stream) dan pembacaan NDJSON terhadap server lokal.
+// PromptFamily: pemilihan family, prompt family hanya memuat intent-nya, dan fallback ke GENERAL.
+// IntentSchema: schema "format" dari CommandIntent dan num_predict di request, tanpa stop sequence.
+public class TestOllamaChatClient {
+
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Testing OllamaChatClient & ExtractionPrompt ===\n");
+
+        LocalDate today = LocalDate.of(2025, 10, 6);
+        String prefixA = ExtractionPrompt.system(today);
+        String prefixB = ExtractionPrompt.system(today);
+        check("prefix sama untuk tanggal sama", prefixA.equals(prefixB));
+        check("prefix tanpa tanggal hari ini", !prefixA.contains("HARI INI"));
+        check("contoh jumat depan terisi", prefixA.contains("2025-10-10") && !prefixA.contains("{NEXT_FRIDAY}"));
+        String user = ExtractionPrompt.user("approve cuti LR001", today);
+        check("suffix berisi tanggal + perintah", user.contains("HARI INI: 2025-10-06")
+                && user.contains("\"besok\" = 2025-10-07") && user.endsWith("\"approve cuti LR001\""));
+        System.out.printf("   prefix %d chars, suffix %d chars%n", prefixA.length(), user.length());
+
+        String general = ExtractionPrompt.system(PromptFamily.GENERAL, today);
+        for (PromptFamily family : PromptFamily.values()) {
+            if (family == PromptFamily.GENERAL) continue;
+            String prompt = ExtractionPrompt.system(family, today);
+            boolean onlyOwn = true;
+            for (String intent : PromptFamily.GENERAL.getIntents()) {
+                boolean listed = prompt.contains("\"" + intent + "\"") || prompt.contains(" " + intent + " ")
+                        || prompt.contains("\"" + intent + " ") || prompt.contains(" " + intent + "\"");
+                if (listed && !family.getIntents().contains(intent)) onlyOwn = false;
+            }
+            check(family + " prompt " + prompt.length() + " < " + general.length() + " chars, hanya intent sendiri",
+                    prompt.length() < general.length() && onlyOwn);
+        }
+
+        IntentClassifier classifier = IntentClassifier.loadDefault();
+        String[][] routes = {
+            { "tolong apply cuti tahunan buat budi besok", "LEAVE" },
+            { "approve LR003", "LEAVE" },
+            { "jadwalkan review performa utk rina dgn bu santi jumat depan", "REVIEW" },
+            { "pindahkan dewi ke departemen sales", "EMPLOYEE" },
+            { "klaim reimburse transport budi 150000", "EXPENSE" },
+            { "review cuti budi", "GENERAL" },
+            { "halo apa kabar", "GENERAL" },
+        };
+        for (String[] route : routes) {
+            PromptFamily family = PromptFamily.route(route[0], classifier.predict(route[0]));
+            check("route '" + route[0] + "' -> " + family, route[1].equals(family.name()));
+        }
+
+        // Family salah tebak -> model menjawab unknown -> diulang dengan prompt GENERAL
+        List<String> systems = new ArrayList<>();
+        LLMService service = new LLMService(messages -> {
+            String system = ((SystemMessage) messages.get(0)).text();
+            systems.add(system);
+            return Response.from(AiMessage.from(system.contains("tentang cuti")
+                    ? "{\"intent\": \"unknown\"}" : "{\"intent\": \"submit_expense\", \"amount\": 50000}"));
+        });
+        CommandIntent intent = service.extractIntent("uang makan budi waktu cuti kemarin 50 ribu");
+        check("fallback ke GENERAL", systems.size() == 2 && intent != null && "submit_expense".equals(intent.getIntent())
+                && service.getPromptStats().getFallbacks(PromptFamily.LEAVE) == 1
+                && service.getPromptStats().getCalls(PromptFamily.GENERAL) == 1);
+        System.out.println("   " + service.getPromptStats());
+
+        // Schema dari @JsonProperty CommandIntent
+        JsonNode generalSchema = IntentSchema.forFamily(PromptFamily.GENERAL);
+        JsonNode leaveSchema = IntentSchema.forFamily(PromptFamily.LEAVE);
+        check("schema GENERAL: 15 field, score integer, amount number", generalSchema.path("properties").size() == 15
+                && "integer".equals(generalSchema.at("/properties/score/type").asText())
+                && "number".equals(generalSchema.at("/properties/amount/type").asText()));
+        boolean allUnknown = true;
+        for (PromptFamily family : PromptFamily.values()) {
+            allUnknown &= IntentSchema.forFamily(family).at("/properties/intent/enum").toString().contains("\"unknown\"");
+        }
+        check("schema semua family (termasuk GENERAL) mengizinkan unknown", allUnknown
+                && general.contains("berikan {\"intent\": \"unknown\"}"));
+        check("schema LEAVE: enum intent cuti + unknown, tanpa review_id",
+                leaveSchema.at("/properties/intent/enum").toString().contains("\"unknown\"")
+                && !leaveSchema.at("/properties/intent/enum").toString().contains("schedule_review")
+                && leaveSchema.at("/properties/review_id").isMissingNode());
+
+        // Parser bertahap: field dilaporkan begitu lengkap, apa pun batas potongan token-nya
+        String json = "{\"intent\": \"apply_leave\", \"employee_name\": \"Budi \\\"B\\\" \\u0053antoso\", \"amount\": 250000, \"status\": null";
+        for (int size : new int[] { 1, 3, 7, json.length() }) {
+            List<String> fields = new ArrayList<>();
+            IncrementalJsonParser parser = new IncrementalJsonParser((name, value) -> fields.add(name + "=" + value));
+            for (int i = 0; i < json.length(); i += size) {
+                parser.feed(json.substring(i, Math.min(json.length(), i + size)));
+            }
+            parser.finish();
+            check("semua field + escape + literal terakhir tanpa } (potongan " + size + ")",
+                    fields.equals(List.of("intent=apply_leave", "employee_name=Budi \"B\" Santoso", "amount=250000", "status=null")));
+        }
+        List<String> early = new ArrayList<>();
+        new IncrementalJsonParser((name, value) -> early.add(name)).feed("{\"intent\": \"apply_leave\", \"employee_na");
+        check("intent dilaporkan sebelum sisa jawaban tiba", early.equals(List.of("intent")));
+        List<String> nested = new ArrayList<>();
+        IncrementalJsonParser nestedParser = new IncrementalJsonParser((name, value) -> nested.add(name));
+        nestedParser.feed("{\"intent\": \"x\", \"extra\": {\"a\": 1}, \"b\": 2}");
+        check("value bersarang menghentikan parser", nested.equals(List.of("intent")) && !nestedParser.isComplete());
+
+        AtomicReference<String> body = new AtomicReference<>();
+        AtomicReference<String[]> reply = new AtomicReference<>(
+                new String[] { "{\\\"intent\\\":", " \\\"list_cuti_pending\\\"}" });
+        // Dipakai jika reply null: jawaban dihitung dari body request
+        AtomicReference<Function<String, String[]>> responder = new AtomicReference<>(TestOllamaChatClient::constrained);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/chat", exchange -> {
+            body.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            String[] pieces = reply.get() != null ? reply.get() : responder.get().apply(body.get());
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (String piece : pieces) {
+                    out.write(("{\"message\":{\"role\":\"assistant\",\"content\":\"" + piece + "\"},\"done\":false}\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+                out.write("{\"message\":{\"role\":\"assistant\",\"content\":\"\"},\"done\":true,\"prompt_eval_count\":31,\"eval_count\":9}\n"
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+        try {
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+            OllamaChatClient client = new OllamaChatClient(baseUrl, "qwen2.5:3b", 0.1, Duration.ofSeconds(5), "30m");
+            List<String> tokens = new ArrayList<>();
+            Response<AiMessage> response = client.generateStreaming(
+                    List.of(SystemMessage.from(prefixA), UserMessage.from(user)), tokens::add);
+
+            JsonNode request = new ObjectMapper().readTree(body.get());
+            check("role system lalu user", "system".equals(request.at("/messages/0/role").asText())
+                    && "user".equals(request.at("/messages/1/role").asText()));
+            check("isi system = prefix", prefixA.equals(request.at("/messages/0/content").asText()));
+            check("keep_alive 30m", "30m".equals(request.path("keep_alive").asText()));
+            check("stream + temperature", request.path("stream").asBoolean()
+                    && request.at("/options/temperature").asDouble() == 0.1);
+            check("teks digabung dari stream", "{\"intent\": \"list_cuti_pending\"}".equals(response.content().text()));
+            check("onToken per potongan", tokens.size() == 2);
+            check("token usage dari chunk terakhir", response.tokenUsage().inputTokenCount() == 31
+                    && response.tokenUsage().outputTokenCount() == 9);
+
+            OllamaChatClient forever = new OllamaChatClient(baseUrl, "qwen2.5:3b", 0.1, Duration.ofSeconds(5), "-1");
+            forever.generate(List.of(UserMessage.from("halo")));
+            check("keep_alive angka dikirim sebagai number",
+                    new ObjectMapper().readTree(body.get()).path("keep_alive").isNumber());
+
+            // Lewat LLMService: format schema + num_predict tanpa stop; "}" di dalam nilai string
+            // tidak boleh memotong jawaban
+            reply.set(new String[] { "{\\\"intent\\\": \\\"apply_leave\\\",", " \\\"employee_name\\\": \\\"Budi Santoso\\\",",
+                    " \\\"leave_type\\\": \\\"Tahunan {cuti}\\\"}" });
+            LLMService ollama = new LLMService(client);
+            List<String> streamed = new ArrayList<>();
+            RequestTimings timings = RequestTimings.start();
+            CommandIntent extracted = ollama.extractIntent("tolong apply cuti tahunan buat budi besok",
+                    (name, value) -> streamed.add(name + "=" + value), timings);
+            JsonNode sent = new ObjectMapper().readTree(body.get());
+            check("request membawa format schema family", sent.at("/format/properties/intent/enum").toString().contains("apply_leave")
+                    && sent.at("/format/properties/review_id").isMissingNode());
+            check("num_predict tanpa stop", sent.at("/options/num_predict").asInt() > 0
+                    && sent.at("/options/stop").isMissingNode());
+            check("} di dalam string tidak memotong jawaban", extracted != null && "apply_leave".equals(extracted.getIntent())
+                    && "Budi Santoso".equals(extracted.getEmployeeName()) && "Tahunan".equals(extracted.getLeaveType()));
+            check("listener menerima field selama streaming",
+                    streamed.equals(List.of("intent=apply_leave", "employee_name=Budi Santoso", "leave_type=Tahunan {cuti}")));
+            check("timing llm, llm_ttft, llm_intent dicatat ke objek request",
+                    timings.toMillis().keySet().containsAll(List.of("llm", "llm_ttft", "llm_intent")));
+
+            // Perintah di luar topik dengan decoding terbatas: server memilih "unknown" jika enum
+            // mengizinkannya, selain itu intent pertama di enum (seperti grammar yang memaksa)
+            reply.set(null);
+            CommandIntent offTopic = ollama.extractIntent("halo apa kabar");
+            check("perintah di luar topik -> unknown, bukan intent yang mengubah data",
+                    offTopic != null && IntentClassifier.UNKNOWN.equals(offTopic.getIntent()));
+
+            // Prompt LEAVE menjawab unknown (dengan nama), lalu diulang dengan GENERAL: listener hanya
+            // menerima field dari jawaban yang dipakai
+            responder.set(requestBody -> !requestBody.contains("\"submit_expense\"")
+                    ? new String[] { quote("{\"intent\": \"unknown\", \"employee_name\": \"rina\"}") }
+                    : new String[] { quote("{\"intent\": \"submit_expense\","), quote(" \"employee_name\": \"budi\", \"amount\": 50000}") });
+            List<String> retried = new ArrayList<>();
+            CommandIntent expense = new LLMService(client).extractIntent("uang makan budi waktu cuti kemarin 50 ribu",
+                    (name, value) -> retried.add(name + "=" + value), RequestTimings.NONE);
+            check("jawaban unknown yang dibuang tidak sampai ke listener", expense != null
+                    && "submit_expense".equals(expense.getIntent())
+                    && retried.equals(List.of("intent=submit_expense", "employee_name=budi", "amount=50000")));
+
+            // ActionService + prefetch: lookup nama di action memakai key yang sama dengan prefetch
+            reply.set(new String[] { quote("{\"intent\": \"apply_leave\", \"employee_name\": \"budi\","),
+                    quote(" \"leave_type\": \"Tahunan\", \"start_date\": \"2025-12-01\", \"end_date\": \"2025-12-01\"}") });
+            SQLiteDataStore store = new SQLiteDataStore();
+            store.bootstrapFromCsv("src/main/resources");
+            try (CachingRepository cached = new CachingRepository(store)) {
+                RequestTimings actionTimings = RequestTimings.start();
+                String result = new ActionService(new LLMService(client), new MockHRFunctions(), cached)
+                        .execute("tolong apply cuti tahunan buat budi 1 desember", actionTimings);
+                check("prefetch nama dipakai action: 1 SELECT nama, sisanya cache (" + cached.getCache() + ")",
+                        result.contains("Sisa cuti") && cached.getCache().getNameMisses() == 1
+                        && cached.getCache().getNameHits() == 1 && actionTimings.toMillis().containsKey("prefetch"));
+            }
+        } finally {
+            server.stop(0);
+        }
+
+        System.out.println("\n--- SUMMARY ---");
+        if (failures > 0) {
+            System.out.println("❌ " + failures + " failures");
+            System.exit(1);
+        }
+        System.out.println("✅ All checks passed");
+    }
+
+    // JSON jawaban -> isi string "content" di baris NDJSON
+    private static String quote(String json) {
+        return json.replace("\"", "\\\"");
+    }
+
+    private static String[] constrained(String requestBody) {
+        try {
+            JsonNode allowed = new ObjectMapper().readTree(requestBody).at("/format/properties/intent/enum");
+            String intent = allowed.toString().contains("\"unknown\"") ? "unknown" : allowed.get(0).asText();
+            return new String[] { "{\\\"intent\\\": \\\"" + intent + "\\\"}" };
+        } catch (Exception e) {
+            return new String[0];
+        }
+    }
+
+    private static void check(String label, boolean ok) {
+        if (!ok) failures++;
+        System.out.println((ok ? "✅ " : "❌ ") + label);
+    }
+}
@@ -0,0 +1,48 @@
+package com.hragent.util;
+
+import com.hragent.data.SQLiteDataStore;
+
+import java.util.List;
+import java.util.Map;
+
+public class TestQueryPlan {
+    public static void main(String[] args) {
+        System.out.println("=== Testing SQLite Query Plans ===\n");
+
+        int failures = 0;
+        try {
+            SQLiteDataStore store = new SQLiteDataStore();
+            store.loadEmployeesFromCsv("src/main/resources/employees.csv");
+            store.loadLeaveBalancesFromCsv("src/main/resources/leave_balances.csv");
+            store.loadLeaveRequestsFromCsv("src/main/resources/leave_requests.csv");
+            store.loadPerformanceReviewsFromCsv("src/main/resources/performance_reviews.csv");
+
+            // Lookup wajib SEARCH lewat index, tanpa SCAN tabel maupun sort tambahan
+            for (Map.Entry<String, String> plan : store.explainIndexedLookups().entrySet()) {
+                String detail = plan.getValue();
+                boolean ok = detail.contains("USING INDEX") && !detail.contains("SCAN")
+                        && !detail.contains("TEMP B-TREE");
+                System.out.println((ok ? "✅ PASS - " : "❌ FAIL - ") + plan.getKey());
+                System.out.println("   " + detail);
+                if (!ok) failures++;
+            }
+
+            // Collation NOCASE: hasil tetap case-insensitive seperti LOWER() sebelumnya
+            List<?> upper = store.getKaryawanByDepartemen("TEKNOLOGI");
+            List<?> lower = store.getKaryawanByDepartemen("teknologi");
+            boolean caseOk = !upper.isEmpty() && upper.size() == lower.size();
+            System.out.println((caseOk ? "✅ PASS - " : "❌ FAIL - ") + "case-insensitive departemen lookup ("
+                    + upper.size() + " karyawan)");
+            if (!caseOk) failures++;
+
+            store.close();
+        } catch (Exception e) {
+            System.err.println("Error during test setup or execution: " + e.getMessage());
+            e.printStackTrace();
+            failures++;
+        }
+
+        System.out.println(failures == 0 ? "\n✅ All query plan tests passed!" : "\n❌ " + failures + " query plan test(s) failed");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+}
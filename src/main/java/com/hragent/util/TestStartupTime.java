@@ -0,0 +1,138 @@
+package com.hragent.util;
+
+import com.hragent.data.SQLiteDataStore;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Mengukur waktu startup: import CSV ke in-memory vs file (cold) vs file yang sudah terisi (warm),
+// lalu memeriksa bahwa file tanpa penanda import selesai diimport ulang dari awal dan bahwa
+// import yang di-rollback tidak meninggalkan nama di index nama
+// Usage: TestStartupTime [dataDir] [dbPath]
+public class TestStartupTime {
+    public static void main(String[] args) {
+        String dataDir = args.length > 0 ? args[0] : "src/main/resources";
+        String dbPath = args.length > 1 ? args[1] : "target/startup-test.db";
+
+        System.out.println("=== Testing Startup Time ===");
+        System.out.println("Data dir: " + dataDir + ", DB file: " + dbPath + "\n");
+
+        try {
+            deleteDatabase(dbPath);
+
+            long inMemory = timeStartup(dataDir, null);
+            long fileCold = timeStartup(dataDir, dbPath);
+            long fileWarm = timeStartup(dataDir, dbPath);
+
+            System.out.println("\n--- SUMMARY ---");
+            System.out.println("In-memory (CSV import) : " + inMemory + "ms");
+            System.out.println("File cold (CSV import) : " + fileCold + "ms");
+            System.out.println("File warm (no import)  : " + fileWarm + "ms");
+
+            boolean reimported = checkInterruptedImport(dataDir, dbPath);
+            boolean indexClean = checkRolledBackNames(dataDir);
+            deleteDatabase(dbPath);
+            if (!reimported || !indexClean) System.exit(1);
+        } catch (Exception e) {
+            System.err.println("Error during test setup or execution: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static long timeStartup(String dataDir, String dbPath) throws Exception {
+        long start = System.currentTimeMillis();
+        SQLiteDataStore store = new SQLiteDataStore(dbPath);
+        if (!store.isPopulated()) {
+            store.bootstrapFromCsv(dataDir);
+        }
+        // Pastikan data & index nama siap dipakai sebelum stopwatch berhenti
+        String name = store.resolveEmployeeName("siapa manajer budi");
+        long elapsed = System.currentTimeMillis() - start;
+        System.out.println("   -> " + elapsed + "ms (resolve 'budi' = " + name + ")");
+        store.close();
+        return elapsed;
+    }
+
+    // Simulasikan crash setelah sebagian commit: data ada, penanda user_version belum ditulis
+    private static boolean checkInterruptedImport(String dataDir, String dbPath) throws Exception {
+        int expected = countEmployees(dbPath);
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+             Statement st = conn.createStatement()) {
+            st.execute("PRAGMA user_version = 0");
+            st.execute("DELETE FROM employees WHERE id % 2 = 0");
+        }
+        SQLiteDataStore store = new SQLiteDataStore(dbPath);
+        boolean detected = !store.isPopulated();
+        store.bootstrapFromCsv(dataDir);
+        boolean complete = store.isPopulated();
+        store.close();
+        int actual = countEmployees(dbPath);
+        boolean ok = detected && complete && actual == expected;
+        System.out.println((ok ? "✅ " : "❌ ") + "Import terputus terdeteksi dan diulang: " + actual + "/" + expected + " employees");
+        return ok;
+    }
+
+    // employees.csv valid tapi file lain berisi baris rusak: seluruh import di-rollback
+    private static boolean checkRolledBackNames(String dataDir) throws Exception {
+        Path broken = Files.createTempDirectory("hragent-broken-csv");
+        try {
+            for (String file : new String[] { "employees.csv", "leave_balances.csv", "leave_requests.csv", "performance_reviews.csv" }) {
+                Files.copy(Paths.get(dataDir, file), broken.resolve(file));
+            }
+            Files.writeString(broken.resolve("performance_reviews.csv"), "\nX,bukan-angka,1,2025-01-01,3,Selesai\n",
+                    java.nio.file.StandardOpenOption.APPEND);
+            Files.writeString(broken.resolve("employees-broken.csv"),
+                    Files.readString(broken.resolve("employees.csv")) + "\nbukan-angka,Rusak,,,,,2025-01-01,Aktif\n");
+
+            SQLiteDataStore bootstrapped = new SQLiteDataStore(null);
+            boolean bootstrapFailed = false;
+            try {
+                bootstrapped.bootstrapFromCsv(broken.toString());
+            } catch (Exception e) {
+                bootstrapFailed = true;
+            }
+            String afterBootstrap = bootstrapped.resolveEmployeeName("siapa manajer budi");
+            bootstrapped.close();
+
+            SQLiteDataStore loaded = new SQLiteDataStore(null);
+            boolean loadFailed = false;
+            try {
+                loaded.loadEmployeesFromCsv(broken.resolve("employees-broken.csv").toString());
+            } catch (Exception e) {
+                loadFailed = true;
+            }
+            String afterLoad = loaded.resolveEmployeeName("siapa manajer budi");
+            loaded.close();
+
+            boolean ok = bootstrapFailed && loadFailed && afterBootstrap == null && afterLoad == null;
+            System.out.println((ok ? "✅ " : "❌ ") + "Import gagal tidak meninggalkan nama di index (bootstrap="
+                    + afterBootstrap + ", load=" + afterLoad + ")");
+            return ok;
+        } finally {
+            try (var files = Files.list(broken)) {
+                for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+            }
+            Files.delete(broken);
+        }
+    }
+
+    private static int countEmployees(String dbPath) throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM employees")) {
+            return rs.getInt(1);
+        }
+    }
+
+    private static void deleteDatabase(String dbPath) throws Exception {
+        for (String suffix : new String[]{"", "-wal", "-shm"}) {
+            Path p = Paths.get(dbPath + suffix);
+            Files.deleteIfExists(p);
+        }
+    }
+}